@@ -0,0 +1,76 @@
+package MindEase.Backend.benchmarks;
+
+import MindEase.Backend.services.GeoGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Radius and nearest-neighbour lookups around Mumbai over users spread across a
+ * region roughly the size of India: the grid against a haversine over every user,
+ * which is what the old native radius query did row by row.
+ * Run with {@code java -jar target/benchmarks.jar GeoGrid}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class GeoGridBenchmark {
+
+    private static final double LATITUDE = 19.07;
+    private static final double LONGITUDE = 72.87;
+    private static final double RADIUS_KM = 10;
+
+    @Param({ "100000", "1000000" })
+    public int users;
+
+    private GeoGrid grid;
+    private double[] latitudes;
+    private double[] longitudes;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        grid = new GeoGrid();
+        latitudes = new double[users];
+        longitudes = new double[users];
+        for (int i = 0; i < users; i++) {
+            latitudes[i] = 8 + random.nextDouble() * 27;
+            longitudes[i] = 68 + random.nextDouble() * 29;
+            grid.put(i, latitudes[i], longitudes[i]);
+        }
+    }
+
+    @Benchmark
+    public List<GeoGrid.Match> gridRadius() {
+        return grid.withinRadius(LATITUDE, LONGITUDE, RADIUS_KM);
+    }
+
+    @Benchmark
+    public List<GeoGrid.Match> gridNearest() {
+        return grid.nearest(LATITUDE, LONGITUDE, 10);
+    }
+
+    @Benchmark
+    public int scanRadius() {
+        int hits = 0;
+        for (int i = 0; i < users; i++) {
+            if (GeoGrid.haversineKm(LATITUDE, LONGITUDE, latitudes[i], longitudes[i]) <= RADIUS_KM) hits++;
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,92 @@
+package MindEase.Backend.benchmarks;
+
+import MindEase.Backend.ratelimit.TokenBucketRateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the CAS-based limiter against a token bucket map behind one lock,
+ * from 16 threads over 1 hot key or 10,000 distinct keys. Buckets are large enough
+ * that every call is allowed, so both sides do the full update on every call.
+ * Run with {@code java -jar target/benchmarks.jar RateLimiter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(16)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final int CAPACITY = Integer.MAX_VALUE;
+    private static final double REFILL_PER_MINUTE = 60_000_000_000d;
+
+    @Param({ "1", "10000" })
+    public int keys;
+
+    private String[] keyNames;
+    private TokenBucketRateLimiter limiter;
+    private LockedLimiter locked;
+
+    @Setup
+    public void setUp() {
+        keyNames = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            keyNames[i] = "/api/users/login|10.0." + (i / 256) + "." + (i % 256);
+        }
+        limiter = new TokenBucketRateLimiter(CAPACITY, REFILL_PER_MINUTE, keys * 2);
+        locked = new LockedLimiter(CAPACITY, REFILL_PER_MINUTE);
+    }
+
+    private String randomKey() {
+        return keyNames[ThreadLocalRandom.current().nextInt(keys)];
+    }
+
+    @Benchmark
+    public long casPerKey() {
+        return limiter.tryAcquire(randomKey());
+    }
+
+    @Benchmark
+    public long singleLock() {
+        return locked.tryAcquire(randomKey());
+    }
+
+    // The textbook version: tokens and last refill per key, all updates under one monitor
+    static final class LockedLimiter {
+        private final double capacity;
+        private final double tokensPerNano;
+        private final Map<String, double[]> buckets = new HashMap<>();
+
+        LockedLimiter(int capacity, double refillPerMinute) {
+            this.capacity = capacity;
+            this.tokensPerNano = refillPerMinute / 60_000_000_000d;
+        }
+
+        synchronized long tryAcquire(String key) {
+            long now = System.nanoTime();
+            double[] bucket = buckets.computeIfAbsent(key, k -> new double[] { capacity, now });
+            bucket[0] = Math.min(capacity, bucket[0] + (now - bucket[1]) * tokensPerNano);
+            bucket[1] = now;
+            if (bucket[0] < 1) return (long) ((1 - bucket[0]) / tokensPerNano);
+            bucket[0]--;
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package MindEase.Backend.benchmarks;
+
+import MindEase.Backend.services.RecommendationMarkdownParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the single-pass recommendation parser against the previous
+ * indexOf/split/regex approach, run once per task category. Note the legacy
+ * path only reads the first occurrence of each heading, so on the repeated
+ * 100kb input it does far less work than the single pass.
+ * Run with {@code java -jar target/benchmarks.jar RecommendationParser -prof gc}
+ * to see allocation rates as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecommendationParserBenchmark {
+
+    // TodoTask.TaskCategory display names; duplicated so the module stays free of JPA
+    private static final String[] SECTIONS = {
+        "Daily Tasks", "Weekly Goals", "Monthly Goals",
+        "Social Connections", "Self-Care Activities", "Professional Support"
+    };
+
+    @Param({ "small", "typical", "100kb" })
+    public String input;
+
+    private String text;
+
+    @Setup
+    public void setUp() {
+        text = switch (input) {
+            case "small" -> """
+                ### **Daily Tasks**
+                - Drink a glass of water
+                - Take a short walk
+                """;
+            case "typical" -> typical();
+            case "100kb" -> {
+                StringBuilder sb = new StringBuilder(110 * 1024);
+                String typical = typical();
+                while (sb.length() < 100 * 1024) sb.append(typical);
+                yield sb.toString();
+            }
+            default -> throw new IllegalArgumentException(input);
+        };
+    }
+
+    @Benchmark
+    public void singlePass(Blackhole bh) {
+        RecommendationMarkdownParser.parse(text, (section, task) -> {
+            bh.consume(section);
+            bh.consume(task);
+        });
+    }
+
+    @Benchmark
+    public void legacyPerSection(Blackhole bh) {
+        for (String section : SECTIONS) {
+            legacyExtract(section, text, bh);
+        }
+    }
+
+    // The old RecommendationParserService.extractTasks, minus the entity building
+    private static void legacyExtract(String sectionTitle, String fullText, Blackhole bh) {
+        int start = fullText.indexOf("### **" + sectionTitle + "**");
+        if (start == -1) return;
+
+        int nextSection = fullText.indexOf("### **", start + 1);
+        String sectionContent = (nextSection != -1)
+                ? fullText.substring(start, nextSection)
+                : fullText.substring(start);
+
+        for (String line : sectionContent.split("\n")) {
+            line = line.trim();
+            if (line.startsWith("- ") || line.matches("^\\d+\\.\\s+.*")) {
+                String cleanTask = line.replaceFirst("^-\\s+", "").replaceFirst("^\\d+\\.\\s+", "").trim();
+                if (!cleanTask.isEmpty()) {
+                    bh.consume(sectionTitle);
+                    bh.consume(cleanTask);
+                }
+            }
+        }
+    }
+
+    private static String typical() {
+        StringBuilder sb = new StringBuilder(4096);
+        sb.append("## Your personalised wellbeing plan\n\n")
+          .append("Based on your answers, here are some suggestions for the coming weeks.\n\n");
+        for (String section : SECTIONS) {
+            sb.append("### **").append(section).append("**\n");
+            for (int i = 1; i <= 6; i++) {
+                if (i % 2 == 0) {
+                    sb.append(i).append(". ");
+                } else {
+                    sb.append("- ");
+                }
+                sb.append("Spend some time on ").append(section.toLowerCase())
+                  .append(" activity number ").append(i).append(" and note how it felt\n");
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,54 @@
+package MindEase.Backend.benchmarks;
+
+import MindEase.Backend.security.AuthenticatedPrincipal;
+import MindEase.Backend.security.TokenService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a bearer token: a repeat token served from
+ * the verified-token LRU against a full HMAC-SHA256 check with the cache disabled.
+ * Run with {@code java -jar target/benchmarks.jar TokenService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret";
+
+    private TokenService cached;
+    private TokenService uncached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cached = new TokenService(SECRET, 60, 10_000);
+        uncached = new TokenService(SECRET, 60, 0);
+        token = cached.issue("USER", 7L, "alice");
+    }
+
+    @Benchmark
+    public Optional<AuthenticatedPrincipal> cachedVerify() {
+        return cached.verify(token);
+    }
+
+    @Benchmark
+    public Optional<AuthenticatedPrincipal> uncachedVerify() {
+        return uncached.verify(token);
+    }
+}
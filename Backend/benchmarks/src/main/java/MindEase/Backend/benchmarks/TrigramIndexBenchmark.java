@@ -0,0 +1,76 @@
+package MindEase.Backend.benchmarks;
+
+import MindEase.Backend.search.TrigramIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead over 100,000 generated usernames: the trigram index against a scan of
+ * every lower-cased name, which is what the LIKE '%q%' query does row by row
+ * (every row has to be checked before the matches can be ordered).
+ * "rare" matches a handful of names, "common" thousands, of which 20 are returned.
+ * Run with {@code java -jar target/benchmarks.jar TrigramIndex}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrigramIndexBenchmark {
+
+    private static final int USERS = 100_000;
+    private static final int LIMIT = 20;
+    private static final String[] SYLLABLES = { "an", "na", "li", "sa", "ra", "jo", "mi", "ke", "ta", "ro", "el", "vi" };
+
+    @Param({ "rare", "common" })
+    public String query;
+
+    private String text;
+    private TrigramIndex index;
+    private String[] lowerCased;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        index = new TrigramIndex();
+        lowerCased = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            StringBuilder name = new StringBuilder();
+            for (int s = 2 + random.nextInt(3); s > 0; s--) name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            name.append(random.nextInt(1000));
+            index.put(i, name.toString());
+            lowerCased[i] = name.toString().toLowerCase(Locale.ROOT);
+        }
+        text = query.equals("rare") ? "jomike4" : "ana";
+    }
+
+    @Benchmark
+    public List<TrigramIndex.Match> index() {
+        return index.search(text, LIMIT);
+    }
+
+    @Benchmark
+    public List<Integer> scan() {
+        List<Integer> matches = new ArrayList<>();
+        for (int i = 0; i < lowerCased.length; i++) {
+            if (lowerCased[i].contains(text)) matches.add(i);
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,70 @@
+package MindEase.Backend.bulkimport;
+
+import MindEase.Backend.dto.ImportReport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Runs one bulk import from the command line and exits, for files too large to upload:
+ * <pre>
+ * java -jar backend.jar --spring.main.web-application-type=none \
+ *     --import-kind=users --import-file=clinic-users.csv [--import-id=clinic-users-1]
+ * </pre>
+ * The report is logged as JSON. The exit code is 0 when every row was imported, 1 when
+ * some rows were rejected and 2 when the import could not run. Rerun with the same
+ * --import-id to resume. Without --import-file the application starts as usual.
+ */
+@Component
+public class BulkImportRunner implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(BulkImportRunner.class);
+
+    private final BulkImportService bulkImportService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationContext context;
+
+    public BulkImportRunner(BulkImportService bulkImportService, ObjectMapper objectMapper, ApplicationContext context) {
+        this.bulkImportService = bulkImportService;
+        this.objectMapper = objectMapper;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String file = option(args, "import-file");
+        if (file == null) return;
+
+        int exitCode;
+        try (Reader in = Files.newBufferedReader(Path.of(file), StandardCharsets.UTF_8)) {
+            String kind = option(args, "import-kind");
+            if (kind == null) throw new IllegalArgumentException("--import-kind is required with --import-file");
+            ImportReport report = bulkImportService.importCsv(
+                BulkImportService.Kind.parse(kind), in, option(args, "import-id"));
+            logger.info("Import report for {}:\n{}", file,
+                objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+            exitCode = report.getFailed() == 0 ? 0 : 1;
+        } catch (IOException | IllegalArgumentException | IllegalStateException e) {
+            logger.error("Import of {} failed: {}", file, e.getMessage());
+            exitCode = 2;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+
+    private static String option(ApplicationArguments args, String name) {
+        List<String> values = args.getOptionValues(name);
+        return values == null || values.isEmpty() ? null : values.get(values.size() - 1);
+    }
+}
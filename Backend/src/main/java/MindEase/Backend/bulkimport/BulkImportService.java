@@ -0,0 +1,765 @@
+package MindEase.Backend.bulkimport;
+
+import MindEase.Backend.dto.ImportReport;
+import MindEase.Backend.dto.ImportRowError;
+import MindEase.Backend.dto.ImportStatus;
+import MindEase.Backend.entity.BaseEntity;
+import MindEase.Backend.entity.ImportCheckpoint;
+import MindEase.Backend.entity.TodoTask;
+import MindEase.Backend.entity.User;
+import MindEase.Backend.entity.Volunteer;
+import MindEase.Backend.exception.ResourceNotFoundException;
+import MindEase.Backend.exception.ServiceBusyException;
+import MindEase.Backend.repositories.ImportCheckpointRepository;
+import MindEase.Backend.repositories.UserRepository;
+import MindEase.Backend.repositories.VolunteerRepository;
+import MindEase.Backend.search.DirectorySearchIndex;
+import MindEase.Backend.services.PasswordHashingService;
+import MindEase.Backend.services.UserGeoIndex;
+import MindEase.Backend.uniqueness.UniquenessFilter;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Imports users, volunteers or tasks from a CSV file with a header row, as an alternative
+ * to one registration call per row. The file is read as a stream and handled import.chunk-size
+ * rows at a time: rows are validated against the entity constraints, checked for taken
+ * usernames and emails with one IN query per column (only for names the UniquenessFilter
+ * cannot rule out), their passwords are hashed in parallel, and the chunk is inserted in
+ * JDBC batches in one transaction.
+ * <p>
+ * A rejected row is reported with its line number and the import goes on. The number of
+ * rows handled is saved with each chunk, so sending the same file again under the same
+ * import id carries on after the last committed chunk.
+ * <p>
+ * Imports started with {@link #start} run on a small pool of import threads, and their
+ * progress and final report are kept for the last MAX_STATUSES of them to be polled.
+ */
+@Service
+public class BulkImportService {
+    private static final Logger logger = LoggerFactory.getLogger(BulkImportService.class);
+
+    private static final Pattern IMPORT_ID = Pattern.compile("[A-Za-z0-9._-]{1,100}");
+    private static final int MAX_STATUSES = 100;
+    // The patterns RecurringTaskMaterializer knows how to repeat
+    private static final List<String> RECURRENCE_PATTERNS = List.of("DAILY", "WEEKLY", "MONTHLY");
+
+    public enum Kind {
+        USERS(List.of("username", "password"), List.of("latitude", "longitude")),
+        VOLUNTEERS(List.of("username", "password", "email", "full_name"),
+            List.of("credentials", "specialization", "experience")),
+        TASKS(List.of("username", "task", "category"), List.of("scheduled_date", "recurring", "recurrence_pattern"));
+
+        private final List<String> required;
+        private final List<String> optional;
+
+        Kind(List<String> required, List<String> optional) {
+            this.required = required;
+            this.optional = optional;
+        }
+
+        public static Kind parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported import kind: " + value);
+            }
+        }
+    }
+
+    // A data row; number counts data rows from 1 and is what the checkpoint records
+    private record Row(long number, long line, List<String> fields) {}
+
+    // A row that passed validation; owner and ownerId are the user an imported task belongs to
+    private record Candidate(Row row, Object entity, String owner, Long ownerId) {}
+
+    private final UserRepository userRepository;
+    private final VolunteerRepository volunteerRepository;
+    private final ImportCheckpointRepository checkpointRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final UniquenessFilter uniquenessFilter;
+    private final DirectorySearchIndex directorySearchIndex;
+    private final UserGeoIndex userGeoIndex;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxErrors;
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ImportStatus> statuses = Collections.synchronizedMap(
+        new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ImportStatus> eldest) {
+                return size() > MAX_STATUSES;
+            }
+        });
+
+    public BulkImportService(
+            UserRepository userRepository,
+            VolunteerRepository volunteerRepository,
+            ImportCheckpointRepository checkpointRepository,
+            PasswordHashingService passwordHashingService,
+            UniquenessFilter uniquenessFilter,
+            DirectorySearchIndex directorySearchIndex,
+            UserGeoIndex userGeoIndex,
+            Validator validator,
+            EntityManager entityManager,
+            TransactionTemplate transactionTemplate,
+            @Value("${import.chunk-size:500}") int chunkSize,
+            @Value("${import.max-errors:1000}") int maxErrors,
+            @Value("${import.threads:1}") int threads,
+            @Value("${import.queue-capacity:4}") int queueCapacity
+    ) {
+        this.userRepository = userRepository;
+        this.volunteerRepository = volunteerRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.uniquenessFilter = uniquenessFilter;
+        this.directorySearchIndex = directorySearchIndex;
+        this.userGeoIndex = userGeoIndex;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxErrors = Math.max(0, maxErrors);
+
+        int poolSize = Math.max(1, threads);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+            runnable -> {
+                Thread thread = new Thread(runnable, "bulk-import-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Imports the CSV read from {@code in}. A blank {@code importId} starts a new import under
+     * a generated id. Throws IllegalArgumentException for a bad id, header or kind mismatch
+     * before any row is written, and IllegalStateException when the id is already running.
+     */
+    public ImportReport importCsv(Kind kind, Reader in, String importId) throws IOException {
+        String id = reserve(importId);
+        try {
+            CsvRecordReader reader = new CsvRecordReader(in);
+            return finish(open(kind, reader, id), reader);
+        } finally {
+            running.remove(id);
+        }
+    }
+
+    /**
+     * Starts importing the CSV in {@code body} on an import thread and returns its RUNNING status.
+     * The body is copied to a temporary file first, as the request ends long before the import.
+     * The id, checkpoint and header are checked before returning and fail as in importCsv;
+     * ServiceBusyException when the import queue is full. Poll {@link #status} for the outcome.
+     */
+    public ImportStatus start(Kind kind, InputStream body, String importId) throws IOException {
+        String id = reserve(importId);
+        Path file = null;
+        Reader in = null;
+        boolean started = false;
+        try {
+            file = Files.createTempFile("import-", ".csv");
+            try (OutputStream out = Files.newOutputStream(file)) {
+                body.transferTo(out);
+            }
+            in = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+            CsvRecordReader reader = new CsvRecordReader(in);
+            Run run = open(kind, reader, id);
+            run.onChunk = () -> statuses.put(id, status(run, ImportStatus.State.RUNNING));
+
+            ImportStatus status = status(run, ImportStatus.State.RUNNING);
+            statuses.put(id, status);
+            Reader source = in;
+            Path spooled = file;
+            try {
+                executor.execute(() -> runInBackground(run, reader, source, spooled));
+            } catch (RejectedExecutionException e) {
+                statuses.remove(id);
+                throw new ServiceBusyException("Too many imports are queued, please try again shortly");
+            }
+            started = true;
+            return status;
+        } finally {
+            if (!started) {
+                closeQuietly(in);
+                deleteQuietly(file);
+                running.remove(id);
+            }
+        }
+    }
+
+    // The last known state of an import: from memory while it runs or once it has finished, else its checkpoint
+    public ImportStatus status(String importId) {
+        ImportStatus status = statuses.get(importId);
+        if (status != null) return status;
+        return checkpointRepository.findById(importId)
+            .map(c -> new ImportStatus(c.getImportId(), c.getKind().toLowerCase(Locale.ROOT),
+                ImportStatus.State.STOPPED, c.getRowsDone(), null, null))
+            .orElseThrow(() -> new ResourceNotFoundException("No import with id " + importId));
+    }
+
+    private String reserve(String importId) {
+        String id = importId == null || importId.isBlank() ? UUID.randomUUID().toString() : importId.strip();
+        if (!IMPORT_ID.matcher(id).matches()) {
+            throw new IllegalArgumentException("Import id must be 1 to 100 letters, digits, dots, dashes or underscores");
+        }
+        // Only guards this instance; run each import id from one place at a time
+        if (!running.add(id)) {
+            throw new IllegalStateException("Import " + id + " is already running");
+        }
+        return id;
+    }
+
+    private void runInBackground(Run run, CsvRecordReader reader, Reader in, Path file) {
+        String id = run.report.getImportId();
+        try {
+            finish(run, reader);
+            statuses.put(id, status(run, ImportStatus.State.DONE));
+        } catch (IOException | RuntimeException e) {
+            logger.error("Import {} failed after {} rows", id, run.checkpoint.getRowsDone(), e);
+            ImportStatus failed = status(run, ImportStatus.State.FAILED);
+            failed.setError(e.getMessage());
+            statuses.put(id, failed);
+        } finally {
+            closeQuietly(in);
+            deleteQuietly(file);
+            running.remove(id);
+        }
+    }
+
+    // A fresh object each time, so a poll never serializes one the import thread is still changing
+    private static ImportStatus status(Run run, ImportStatus.State state) {
+        return new ImportStatus(run.report.getImportId(), run.report.getKind(), state,
+            run.checkpoint.getRowsDone(), state == ImportStatus.State.DONE ? run.report : null, null);
+    }
+
+    private static void closeQuietly(Reader in) {
+        if (in == null) return;
+        try {
+            in.close();
+        } catch (IOException e) {
+            logger.warn("Could not close an import file: {}", e.getMessage());
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) return;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete import file {}: {}", file, e.getMessage());
+        }
+    }
+
+    // Checks the checkpoint and the header, before any row is read
+    private Run open(Kind kind, CsvRecordReader reader, String id) throws IOException {
+        ImportCheckpoint checkpoint = checkpointRepository.findById(id)
+            .orElseGet(() -> new ImportCheckpoint(id, kind.name(), 0, null));
+        if (!checkpoint.getKind().equals(kind.name())) {
+            throw new IllegalArgumentException("Import " + id + " was started as a "
+                + checkpoint.getKind().toLowerCase(Locale.ROOT) + " import");
+        }
+        Map<String, Integer> columns = columns(kind, reader.next());
+
+        Run run = new Run(kind, columns, checkpoint);
+        run.report.setImportId(id);
+        run.report.setKind(kind.name().toLowerCase(Locale.ROOT));
+        run.report.setResumedFrom(checkpoint.getRowsDone());
+        return run;
+    }
+
+    private ImportReport finish(Run run, CsvRecordReader reader) throws IOException {
+        ImportCheckpoint checkpoint = run.checkpoint;
+        long number = 0;
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        ImportRowError unreadable = null;
+        while (true) {
+            List<String> fields;
+            try {
+                fields = reader.next();
+            } catch (IllegalArgumentException e) {
+                // Not checkpointed, so the same import id picks up here once the file is fixed
+                unreadable = new ImportRowError(reader.recordLine(), e.getMessage());
+                break;
+            }
+            if (fields == null) break;
+            if (fields.stream().allMatch(String::isBlank)) continue;
+            if (++number <= checkpoint.getRowsDone()) continue;
+            chunk.add(new Row(number, reader.recordLine(), fields));
+            if (chunk.size() == chunkSize) {
+                importChunk(run, chunk);
+                chunk = new ArrayList<>(chunkSize);
+                run.onChunk.run();
+            }
+        }
+        importChunk(run, chunk);
+        if (unreadable != null) {
+            fail(run, unreadable.getLine(), unreadable.getMessage());
+        }
+        // Within a chunk, rows failing the database checks are reported after those failing validation
+        run.report.getErrors().sort(Comparator.comparingLong(ImportRowError::getLine));
+
+        logger.info("Import {} of {}: {} rows imported, {} failed, resumed after {}", run.report.getImportId(),
+            run.report.getKind(), run.report.getImported(), run.report.getFailed(), run.report.getResumedFrom());
+        return run.report;
+    }
+
+    private static Map<String, Integer> columns(Kind kind, List<String> header) {
+        if (header == null) {
+            throw new IllegalArgumentException("The file is empty, expected a header row");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).strip().toLowerCase(Locale.ROOT);
+            if (!kind.required.contains(name) && !kind.optional.contains(name)) {
+                throw new IllegalArgumentException("Unknown column \"" + header.get(i) + "\", expected "
+                    + String.join(", ", kind.required) + " and optionally " + String.join(", ", kind.optional));
+            }
+            if (columns.put(name, i) != null) {
+                throw new IllegalArgumentException("Column " + name + " appears twice");
+            }
+        }
+        for (String name : kind.required) {
+            if (!columns.containsKey(name)) {
+                throw new IllegalArgumentException("Missing column " + name);
+            }
+        }
+        return columns;
+    }
+
+    private void importChunk(Run run, List<Row> rows) {
+        if (rows.isEmpty()) return;
+        List<Candidate> candidates = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (row.fields().size() != run.columns.size()) {
+                fail(run, row.line(), "Expected " + run.columns.size() + " fields but found " + row.fields().size());
+                continue;
+            }
+            Candidate candidate = switch (run.kind) {
+                case USERS -> user(run, row);
+                case VOLUNTEERS -> volunteer(run, row);
+                case TASKS -> task(run, row);
+            };
+            if (candidate != null) candidates.add(candidate);
+        }
+
+        candidates = switch (run.kind) {
+            case USERS -> hashPasswords(withoutTakenUsernames(run, candidates));
+            case VOLUNTEERS -> hashPasswords(withoutTakenVolunteers(run, candidates));
+            case TASKS -> withKnownOwners(run, candidates);
+        };
+        write(run, candidates, rows.get(rows.size() - 1).number());
+    }
+
+    // Row validation, which needs no queries. Names are claimed within the file only once valid
+
+    private Candidate user(Run run, Row row) {
+        User user = User.builder()
+            .username(run.value(row, "username"))
+            .password(run.raw(row, "password"))
+            .build();
+        try {
+            Double latitude = decimal(run.value(row, "latitude"), "latitude", 90);
+            Double longitude = decimal(run.value(row, "longitude"), "longitude", 180);
+            if ((latitude == null) != (longitude == null)) {
+                throw new IllegalArgumentException("Latitude and longitude must be given together");
+            }
+            user.setLatitude(latitude);
+            user.setLongitude(longitude);
+        } catch (IllegalArgumentException e) {
+            fail(run, row.line(), e.getMessage());
+            return null;
+        }
+        if (!valid(run, row, user) || !claim(run, row, run.usernames, user.getUsername(), "username")) {
+            return null;
+        }
+        return new Candidate(row, user, null, null);
+    }
+
+    private Candidate volunteer(Run run, Row row) {
+        Volunteer volunteer = Volunteer.builder()
+            .username(run.value(row, "username"))
+            .password(run.raw(row, "password"))
+            .email(run.value(row, "email"))
+            .fullName(run.value(row, "full_name"))
+            .credentials(run.value(row, "credentials"))
+            .specialization(run.value(row, "specialization"))
+            // Imported volunteers wait for approval like self-registered ones
+            .approved(false)
+            .active(false)
+            .build();
+        String experience = run.value(row, "experience");
+        if (experience != null) {
+            try {
+                volunteer.setExperience(Integer.parseInt(experience));
+            } catch (NumberFormatException e) {
+                fail(run, row.line(), "Experience must be a whole number of years: " + experience);
+                return null;
+            }
+        }
+        if (!valid(run, row, volunteer)) return null;
+        if (run.emails.containsKey(UniquenessFilter.key(volunteer.getEmail()))) {
+            fail(run, row.line(), "Email also on line " + run.emails.get(UniquenessFilter.key(volunteer.getEmail())));
+            return null;
+        }
+        if (!claim(run, row, run.usernames, volunteer.getUsername(), "username")) return null;
+        run.emails.put(UniquenessFilter.key(volunteer.getEmail()), row.line());
+        return new Candidate(row, volunteer, null, null);
+    }
+
+    private Candidate task(Run run, Row row) {
+        TodoTask task = TodoTask.builder()
+            .task(run.value(row, "task"))
+            .build();
+        String username = run.value(row, "username");
+        String category = run.value(row, "category");
+        String scheduled = run.value(row, "scheduled_date");
+        String recurring = run.value(row, "recurring");
+        String pattern = run.value(row, "recurrence_pattern");
+        try {
+            if (username == null) throw new IllegalArgumentException("Username is required");
+            if (category != null) task.setCategory(category(category));
+            task.setScheduledDate(scheduled == null ? LocalDateTime.now() : dateTime(scheduled));
+            if (recurring != null) task.setRecurring(bool(recurring, "recurring"));
+            if (pattern != null) task.setRecurrencePattern(recurrencePattern(pattern));
+            // RecurringTaskMaterializer skips templates without a pattern, so they would never repeat
+            if (task.isRecurring() && task.getRecurrencePattern() == null) {
+                throw new IllegalArgumentException("Recurring tasks need a recurrence_pattern");
+            }
+        } catch (IllegalArgumentException e) {
+            fail(run, row.line(), e.getMessage());
+            return null;
+        }
+        if (!valid(run, row, task)) return null;
+        return new Candidate(row, task, username, null);
+    }
+
+    private boolean valid(Run run, Row row, Object entity) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(entity);
+        if (violations.isEmpty()) return true;
+        // Sorted, so the same row always gets the same message
+        fail(run, row.line(), violations.stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .collect(Collectors.joining("; ")));
+        return false;
+    }
+
+    private boolean claim(Run run, Row row, Map<String, Long> seen, String value, String column) {
+        Long first = seen.putIfAbsent(UniquenessFilter.key(value), row.line());
+        if (first == null) return true;
+        fail(run, row.line(), Character.toUpperCase(column.charAt(0)) + column.substring(1) + " also on line " + first);
+        return false;
+    }
+
+    // Uniqueness against the database: one IN query per column and chunk, for the names the filter cannot rule out
+
+    private List<Candidate> withoutTakenUsernames(Run run, List<Candidate> candidates) {
+        List<String> unsure = new ArrayList<>();
+        for (Candidate c : candidates) {
+            String username = ((User) c.entity()).getUsername();
+            if (uniquenessFilter.mightHaveUserUsername(username)) unsure.add(username);
+        }
+        Set<String> taken = new HashSet<>();
+        if (!unsure.isEmpty()) {
+            for (Object[] identity : userRepository.findIdentitiesByUsernameIn(unsure)) {
+                taken.add(UniquenessFilter.key((String) identity[1]));
+            }
+        }
+
+        List<Candidate> free = new ArrayList<>(candidates.size());
+        for (Candidate c : candidates) {
+            if (taken.contains(UniquenessFilter.key(((User) c.entity()).getUsername()))) {
+                fail(run, c.row().line(), "Username already exists");
+            } else {
+                free.add(c);
+            }
+        }
+        return free;
+    }
+
+    private List<Candidate> withoutTakenVolunteers(Run run, List<Candidate> candidates) {
+        List<String> unsureUsernames = new ArrayList<>();
+        List<String> unsureEmails = new ArrayList<>();
+        for (Candidate c : candidates) {
+            Volunteer volunteer = (Volunteer) c.entity();
+            if (uniquenessFilter.mightHaveVolunteerUsername(volunteer.getUsername())) {
+                unsureUsernames.add(volunteer.getUsername());
+            }
+            if (uniquenessFilter.mightHaveVolunteerEmail(volunteer.getEmail())) {
+                unsureEmails.add(volunteer.getEmail());
+            }
+        }
+        Set<String> takenUsernames = keys(unsureUsernames.isEmpty()
+            ? List.of() : volunteerRepository.findUsernamesByUsernameIn(unsureUsernames));
+        Set<String> takenEmails = keys(unsureEmails.isEmpty()
+            ? List.of() : volunteerRepository.findEmailsByEmailIn(unsureEmails));
+
+        List<Candidate> free = new ArrayList<>(candidates.size());
+        for (Candidate c : candidates) {
+            Volunteer volunteer = (Volunteer) c.entity();
+            if (takenUsernames.contains(UniquenessFilter.key(volunteer.getUsername()))) {
+                fail(run, c.row().line(), "Username already exists");
+            } else if (takenEmails.contains(UniquenessFilter.key(volunteer.getEmail()))) {
+                fail(run, c.row().line(), "Email already exists");
+            } else {
+                free.add(c);
+            }
+        }
+        return free;
+    }
+
+    private List<Candidate> withKnownOwners(Run run, List<Candidate> candidates) {
+        Set<String> usernames = new LinkedHashSet<>();
+        for (Candidate c : candidates) usernames.add(c.owner());
+        Map<String, Long> idByKey = new HashMap<>();
+        if (!usernames.isEmpty()) {
+            for (Object[] identity : userRepository.findIdentitiesByUsernameIn(usernames)) {
+                idByKey.put(UniquenessFilter.key((String) identity[1]), (Long) identity[0]);
+            }
+        }
+
+        List<Candidate> owned = new ArrayList<>(candidates.size());
+        for (Candidate c : candidates) {
+            Long ownerId = idByKey.get(UniquenessFilter.key(c.owner()));
+            if (ownerId == null) {
+                fail(run, c.row().line(), "Unknown user: " + c.owner());
+            } else {
+                owned.add(new Candidate(c.row(), c.entity(), c.owner(), ownerId));
+            }
+        }
+        return owned;
+    }
+
+    private static Set<String> keys(List<String> values) {
+        Set<String> keys = new HashSet<>();
+        for (String value : values) keys.add(UniquenessFilter.key(value));
+        return keys;
+    }
+
+    // Only rows that will be inserted get hashed, since BCrypt is by far the slowest step
+    private List<Candidate> hashPasswords(List<Candidate> candidates) {
+        List<String> raw = new ArrayList<>(candidates.size());
+        for (Candidate c : candidates) raw.add(password(c.entity()));
+        List<String> hashes = passwordHashingService.encodeAll(raw);
+        for (int i = 0; i < candidates.size(); i++) {
+            Object entity = candidates.get(i).entity();
+            if (entity instanceof User user) user.setPassword(hashes.get(i));
+            if (entity instanceof Volunteer volunteer) volunteer.setPassword(hashes.get(i));
+        }
+        return candidates;
+    }
+
+    private static String password(Object entity) {
+        return entity instanceof User user ? user.getPassword() : ((Volunteer) entity).getPassword();
+    }
+
+    // Writing: one transaction per chunk, holding the rows and the checkpoint
+
+    private void write(Run run, List<Candidate> candidates, long lastRow) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Candidate c : candidates) persist(c);
+                saveCheckpoint(run, lastRow);
+            });
+            candidates.forEach(c -> saved(run, c));
+        } catch (DataIntegrityViolationException e) {
+            // A registration took a name after the IN query; redo the chunk a row at a time to find it
+            for (Candidate c : candidates) {
+                reset(c.entity());
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        persist(c);
+                        saveCheckpoint(run, c.row().number());
+                    });
+                    saved(run, c);
+                } catch (DataIntegrityViolationException rowFailure) {
+                    fail(run, c.row().line(), constraintMessage(c, rowFailure));
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> saveCheckpoint(run, lastRow));
+        }
+    }
+
+    private void persist(Candidate c) {
+        if (c.entity() instanceof TodoTask task) {
+            task.setUser(entityManager.getReference(User.class, c.ownerId()));
+        }
+        entityManager.persist(c.entity());
+    }
+
+    // Flushed through the repository, so a constraint violation surfaces as DataIntegrityViolationException
+    private void saveCheckpoint(Run run, long rowsDone) {
+        run.checkpoint.setRowsDone(rowsDone);
+        checkpointRepository.saveAndFlush(run.checkpoint);
+    }
+
+    // Ids and versions assigned in a rolled-back transaction would make the retry look like an update
+    private static void reset(Object entity) {
+        if (entity instanceof BaseEntity base) {
+            base.setId(null);
+            base.setVersion(null);
+        } else if (entity instanceof TodoTask task) {
+            task.setId(null);
+            task.setVersion(null);
+        }
+    }
+
+    private void saved(Run run, Candidate c) {
+        if (c.entity() instanceof User user) {
+            uniquenessFilter.addUserUsername(user.getUsername());
+            userGeoIndex.update(user);
+            directorySearchIndex.userSaved(user);
+        } else if (c.entity() instanceof Volunteer volunteer) {
+            uniquenessFilter.addVolunteer(volunteer.getUsername(), volunteer.getEmail());
+            directorySearchIndex.volunteerSaved(volunteer);
+        }
+        run.report.setImported(run.report.getImported() + 1);
+    }
+
+    // Tasks have no unique columns, so for them only the owner's foreign key can fail
+    private static String constraintMessage(Candidate c, DataIntegrityViolationException e) {
+        if (c.entity() instanceof TodoTask) return "Unknown user: " + c.owner();
+        String message = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        return message.contains("uk_volunteers_email") ? "Email already exists" : "Username already exists";
+    }
+
+    private void fail(Run run, long line, String message) {
+        ImportReport report = run.report;
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < maxErrors) {
+            report.getErrors().add(new ImportRowError(line, message));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    // Cell parsing
+
+    private static Double decimal(String value, String column, double bound) {
+        if (value == null) return null;
+        double parsed;
+        try {
+            parsed = Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+        if (!(Math.abs(parsed) <= bound)) {
+            throw new IllegalArgumentException(column.substring(0, 1).toUpperCase(Locale.ROOT) + column.substring(1)
+                + " must be between -" + (int) bound + " and " + (int) bound + ": " + value);
+        }
+        return parsed;
+    }
+
+    private static TodoTask.TaskCategory category(String value) {
+        try {
+            return TodoTask.TaskCategory.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown category: " + value);
+        }
+    }
+
+    private static String recurrencePattern(String value) {
+        String pattern = value.toUpperCase(Locale.ROOT);
+        if (!RECURRENCE_PATTERNS.contains(pattern)) {
+            throw new IllegalArgumentException("Unknown recurrence_pattern, expected "
+                + String.join(", ", RECURRENCE_PATTERNS) + ": " + value);
+        }
+        return pattern;
+    }
+
+    private static LocalDateTime dateTime(String value) {
+        try {
+            return value.length() <= 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid scheduled_date, expected 2024-05-01 or 2024-05-01T09:30: " + value);
+        }
+    }
+
+    private static boolean bool(String value, String column) {
+        if (value.equalsIgnoreCase("true")) return true;
+        if (value.equalsIgnoreCase("false")) return false;
+        throw new IllegalArgumentException("Invalid " + column + ", expected true or false: " + value);
+    }
+
+    // State of one import while it runs
+    private static final class Run {
+        final Kind kind;
+        final Map<String, Integer> columns;
+        final ImportCheckpoint checkpoint;
+        final ImportReport report = new ImportReport();
+        // First line of each username and email in the file, by UniquenessFilter key
+        final Map<String, Long> usernames = new HashMap<>();
+        final Map<String, Long> emails = new HashMap<>();
+        // Called on the import thread after each full chunk is written
+        Runnable onChunk = () -> { };
+
+        Run(Kind kind, Map<String, Integer> columns, ImportCheckpoint checkpoint) {
+            this.kind = kind;
+            this.columns = columns;
+            this.checkpoint = checkpoint;
+        }
+
+        // Trimmed cell, null when the column is absent or the cell blank
+        String value(Row row, String column) {
+            String raw = raw(row, column);
+            return raw == null || raw.isBlank() ? null : raw.strip();
+        }
+
+        // Passwords are kept exactly as written
+        String raw(Row row, String column) {
+            Integer index = columns.get(column);
+            return index == null ? null : row.fields().get(index);
+        }
+    }
+}
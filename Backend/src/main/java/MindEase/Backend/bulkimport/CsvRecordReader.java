@@ -0,0 +1,133 @@
+package MindEase.Backend.bulkimport;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV one record at a time, so a file of any length is never held in
+ * memory. Fields may be quoted, with "" for a quote and line breaks allowed inside
+ * quotes; records end at CRLF, LF or CR. A leading byte-order mark and blank lines are
+ * skipped. A quote inside an unquoted field is kept as it is.
+ */
+public class CsvRecordReader {
+
+    // Longest record accepted, so a stray opening quote cannot swallow the rest of a large file
+    static final int MAX_RECORD_CHARS = 64 * 1024;
+
+    private final Reader in;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private int pushedBack = -1;
+    private long line = 1;
+    private long recordLine;
+    private boolean started;
+
+    public CsvRecordReader(Reader in) {
+        this.in = in;
+    }
+
+    /** The next record, or null at the end of the input. */
+    public List<String> next() throws IOException {
+        while (true) {
+            int c = read();
+            if (!started) {
+                started = true;
+                if (c == '\uFEFF') c = read();
+            }
+            if (c == -1) return null;
+            if (c == '\r' || c == '\n') {
+                endOfLine(c);
+                continue;
+            }
+            recordLine = line;
+            return record(c);
+        }
+    }
+
+    /** Line of the file the last record returned by {@link #next()} started on. */
+    public long recordLine() {
+        return recordLine;
+    }
+
+    private List<String> record(int c) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int length = 0;
+        boolean quoted = false;
+        boolean fieldStart = true;
+        while (true) {
+            if (++length > MAX_RECORD_CHARS) {
+                throw new IllegalArgumentException("Row on line " + recordLine + " is longer than "
+                    + MAX_RECORD_CHARS + " characters, check for an unclosed quote");
+            }
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Unclosed quote in the row on line " + recordLine);
+                }
+                if (c == '"') {
+                    int after = read();
+                    if (after == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = after;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n' || (c == '\r' && peek() != '\n')) line++;
+                    field.append((char) c);
+                }
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+                c = read();
+                continue;
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c != -1) endOfLine(c);
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            fieldStart = false;
+            c = read();
+        }
+    }
+
+    private void endOfLine(int c) throws IOException {
+        if (c == '\r' && peek() == '\n') read();
+        line++;
+    }
+
+    private int peek() throws IOException {
+        if (pushedBack == -1) pushedBack = readRaw();
+        return pushedBack;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -1) {
+            int c = pushedBack;
+            pushedBack = -1;
+            return c;
+        }
+        return readRaw();
+    }
+
+    private int readRaw() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+}
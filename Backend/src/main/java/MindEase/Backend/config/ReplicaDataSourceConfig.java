@@ -0,0 +1,104 @@
+package MindEase.Backend.config;
+
+import MindEase.Backend.datasource.ReplicaLagProbe;
+import MindEase.Backend.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Replaces the single auto-configured pool with a primary pool plus one pool per
+ * read replica when datasource.replicas.urls is set. Each pool takes the
+ * spring.datasource.hikari settings.
+ */
+@Configuration
+@ConditionalOnExpression("!'${datasource.replicas.urls:}'.isBlank()")
+public class ReplicaDataSourceConfig {
+
+    private final DataSourceProperties properties;
+    private final Environment environment;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final String replicaUrls;
+    private final String replicaUsername;
+    private final String replicaPassword;
+    private final long maxLagSeconds;
+    private final long stickyWindowMillis;
+
+    public ReplicaDataSourceConfig(
+            DataSourceProperties properties,
+            Environment environment,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${datasource.replicas.urls}") String replicaUrls,
+            @Value("${datasource.replicas.username:${spring.datasource.username:}}") String replicaUsername,
+            @Value("${datasource.replicas.password:${spring.datasource.password:}}") String replicaPassword,
+            @Value("${datasource.replicas.max-lag-seconds:5}") long maxLagSeconds,
+            @Value("${datasource.replicas.sticky-window-ms:5000}") long stickyWindowMillis
+    ) {
+        this.properties = properties;
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.replicaUrls = replicaUrls;
+        this.replicaUsername = replicaUsername;
+        this.replicaPassword = replicaPassword;
+        this.maxLagSeconds = maxLagSeconds;
+        this.stickyWindowMillis = stickyWindowMillis;
+    }
+
+    // Only reachable through the lazy proxy below, so it is never injected directly
+    @Bean(autowireCandidate = false)
+    public ReplicaRoutingDataSource replicaRoutingDataSource() {
+        DataSource primary = pool("primary", properties.determineUrl(),
+            properties.determineUsername(), properties.determinePassword());
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        String[] urls = replicaUrls.split(",");
+        for (int i = 0; i < urls.length; i++) {
+            String name = "replica-" + i;
+            replicas.put(name, pool(name, urls[i].trim(), replicaUsername, replicaPassword));
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, ReplicaLagProbe.MYSQL,
+            maxLagSeconds, stickyWindowMillis, Clock.systemUTC());
+    }
+
+    // Defers picking a pool to the first statement, after the transaction's read-only flag is set
+    @Bean
+    @Primary
+    public DataSource dataSource() {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource());
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        replicaRoutingDataSource().checkReplicas();
+    }
+
+    private HikariDataSource pool(String name, String url, String username, String password) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .url(url)
+            .username(username)
+            .password(password)
+            .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        // The pools are not beans, so the hikaricp metrics are wired up here
+        meterRegistry.ifAvailable(registry -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return pool;
+    }
+}
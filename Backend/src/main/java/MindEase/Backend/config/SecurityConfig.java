@@ -1,24 +1,51 @@
 package MindEase.Backend.config;
 
+import MindEase.Backend.security.TokenAuthenticationFilter;
+import MindEase.Backend.security.TokenService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
+    private static final Logger logger = LoggerFactory.getLogger(SecurityConfig.class);
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, TokenService tokenService) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .cors(cors -> cors.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .addFilterBefore(new TokenAuthenticationFilter(tokenService), UsernamePasswordAuthenticationFilter.class)
+            .exceptionHandling(e -> e.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/api/**").permitAll()
+                .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                .requestMatchers("/error").permitAll()
+                .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/prometheus").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/users/username-available").permitAll()
+                .requestMatchers(HttpMethod.POST,
+                    "/api/users/login", "/api/users/register",
+                    "/api/volunteers/login", "/api/volunteers/register",
+                    "/api/admin/login",
+                    "/api/nearby-hospitals").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/users", "/api/users/page", "/api/users/nearby").hasAnyRole("VOLUNTEER", "ADMIN")
+                .requestMatchers("/api/volunteers/pending", "/api/volunteers/*/approve", "/api/volunteers/*/reject").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.DELETE, "/api/volunteers/*").hasRole("ADMIN")
+                .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                .requestMatchers("/api/**").authenticated()
                 .anyRequest().authenticated()
             );
         
@@ -26,7 +53,29 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.password.target-hash-millis:250}") long targetMillis,
+            @Value("${security.password.min-strength:10}") int minStrength,
+            @Value("${security.password.max-strength:14}") int maxStrength
+    ) {
+        int strength = calibrateStrength(targetMillis, minStrength, maxStrength);
+        logger.info("Using BCrypt strength {} for a {} ms target hash time", strength, targetMillis);
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    // Highest BCrypt cost whose hash time on this host stays within the target
+    public static int calibrateStrength(long targetMillis, int minStrength, int maxStrength) {
+        int strength = minStrength;
+        while (strength < maxStrength) {
+            BCryptPasswordEncoder probe = new BCryptPasswordEncoder(strength);
+            probe.encode("calibration"); // warm up
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            // Each extra cost step doubles the work
+            if (elapsedMillis * 2 > targetMillis) break;
+            strength++;
+        }
+        return strength;
     }
 }
\ No newline at end of file
@@ -1,12 +1,25 @@
 package MindEase.Backend.controllers;
 
+import MindEase.Backend.bulkimport.BulkImportService;
+import MindEase.Backend.dto.ImportStatus;
 import MindEase.Backend.entity.Admin;
 import MindEase.Backend.exception.AuthenticationException;
+import MindEase.Backend.exception.ResourceNotFoundException;
+import MindEase.Backend.metrics.QueryBudget;
+import MindEase.Backend.search.DirectorySearchIndex;
+import MindEase.Backend.security.TokenService;
 import MindEase.Backend.services.AdminService;
+import MindEase.Backend.services.AssessmentRollupRebuilder;
+import MindEase.Backend.services.EntityCacheService;
+import MindEase.Backend.services.RecommendationParserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.Map;
 
 @CrossOrigin(origins = "http://localhost:5173")
@@ -15,14 +28,34 @@ import java.util.Map;
 @RequestMapping("/api/admin")
 public class AdminController {
 
+    private static final int MAX_SEARCH_RESULTS = 100;
+
     private final AdminService adminService;
+    private final TokenService tokenService;
+    private final RecommendationParserService recommendationParserService;
+    private final AssessmentRollupRebuilder assessmentRollupRebuilder;
+    private final EntityCacheService entityCacheService;
+    private final DirectorySearchIndex directorySearchIndex;
+    private final BulkImportService bulkImportService;
 
     @Autowired
-    public AdminController(AdminService adminService) {
+    public AdminController(AdminService adminService, TokenService tokenService,
+            RecommendationParserService recommendationParserService,
+            AssessmentRollupRebuilder assessmentRollupRebuilder,
+            EntityCacheService entityCacheService,
+            DirectorySearchIndex directorySearchIndex,
+            BulkImportService bulkImportService) {
         this.adminService = adminService;
+        this.tokenService = tokenService;
+        this.recommendationParserService = recommendationParserService;
+        this.assessmentRollupRebuilder = assessmentRollupRebuilder;
+        this.entityCacheService = entityCacheService;
+        this.directorySearchIndex = directorySearchIndex;
+        this.bulkImportService = bulkImportService;
     }
 
     @PostMapping("/login")
+    @QueryBudget(1)
     public ResponseEntity<?> loginAdmin(@RequestBody Map<String, String> loginRequest) {
         String username = loginRequest.get("username");
         String password = loginRequest.get("password");
@@ -37,6 +70,7 @@ public class AdminController {
 
             return ResponseEntity.ok(Map.of(
                     "message", "Login successful",
+                    "token", tokenService.issue("ADMIN", admin.getId(), admin.getUsername()),
                     "admin", Map.of(
                             "id", admin.getId(),
                             "username", admin.getUsername(),
@@ -45,27 +79,103 @@ public class AdminController {
         } catch (AuthenticationException e) {
             return ResponseEntity.badRequest()
                     .body(Map.of("error", e.getMessage()));
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError()
-                    .body(Map.of("error", "An unexpected error occurred"));
         }
     }
 
-    // For development/initialization purposes only
+    // Admins add further admins, the first one is created from security.admin.bootstrap-*
     @PostMapping("/create")
+    @QueryBudget(3)
     public ResponseEntity<?> createAdmin(@RequestBody Admin admin) {
         try {
-            System.out.println("Admin Payload: " + admin); // debug log
             Admin createdAdmin = adminService.createAdmin(admin);
             return ResponseEntity.ok(Map.of(
                     "message", "Admin created successfully",
                     "admin", Map.of(
                             "id", createdAdmin.getId(),
                             "username", createdAdmin.getUsername())));
-        } catch (RuntimeException e) {
+        } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                     .body(Map.of("error", e.getMessage()));
         }
     }
 
-}
\ No newline at end of file
+    @GetMapping("/recommendation-cache-stats")
+    @QueryBudget(0)
+    public ResponseEntity<Map<String, Object>> getRecommendationCacheStats() {
+        return ResponseEntity.ok(recommendationParserService.getCacheStats());
+    }
+
+    @GetMapping("/entity-cache-stats")
+    @QueryBudget(0)
+    public ResponseEntity<Map<String, Object>> getEntityCacheStats() {
+        return ResponseEntity.ok(entityCacheService.stats());
+    }
+
+    // Typeahead: /api/admin/search/users?q=ali&limit=20, best matches first.
+    // Served from memory; one LIKE query only while the index is still warming
+    @GetMapping("/search/users")
+    @QueryBudget(1)
+    public ResponseEntity<?> searchUsers(@RequestParam String q, @RequestParam(defaultValue = "20") int limit) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Search text is required"));
+        }
+        return ResponseEntity.ok(directorySearchIndex.searchUsers(q, clampSearchLimit(limit)));
+    }
+
+    // Matches volunteer usernames, full names and emails
+    @GetMapping("/search/volunteers")
+    @QueryBudget(1)
+    public ResponseEntity<?> searchVolunteers(@RequestParam String q, @RequestParam(defaultValue = "20") int limit) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Search text is required"));
+        }
+        return ResponseEntity.ok(directorySearchIndex.searchVolunteers(q, clampSearchLimit(limit)));
+    }
+
+    private static int clampSearchLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+    }
+
+    // Bulk import: POST a UTF-8 CSV with a header row to /api/admin/import/users, /volunteers or /tasks.
+    // The header is checked right away and the rows are imported in the background: the answer is 202
+    // with the import id, and GET /api/admin/import/{importId} reports progress and, once done, the
+    // rejected rows. POST the same file with ?importId= to resume after an interruption. The budget
+    // covers the background run of a one-chunk file: the checkpoint lookup, then the IN query, a
+    // sequence fetch, the batched insert and the checkpoint read and write
+    @PostMapping("/import/{kind}")
+    @QueryBudget(6)
+    public ResponseEntity<?> importCsv(@PathVariable String kind, @RequestParam(required = false) String importId,
+            InputStream body) {
+        try {
+            BulkImportService.Kind importKind = BulkImportService.Kind.parse(kind);
+            ImportStatus status = bulkImportService.start(importKind, body, importId);
+            return ResponseEntity.accepted()
+                .location(URI.create("/api/admin/import/" + status.getImportId()))
+                .body(status);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Could not read the uploaded file"));
+        }
+    }
+
+    // Answered from memory while the import runs on this instance, otherwise from its checkpoint
+    @GetMapping("/import/{importId}")
+    @QueryBudget(1)
+    public ResponseEntity<?> getImportStatus(@PathVariable String importId) {
+        try {
+            return ResponseEntity.ok(bulkImportService.status(importId));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // One chunk of users; each further assessments.rollup.rebuild-chunk-size users adds four
+    @PostMapping("/assessment-rollups/rebuild")
+    @QueryBudget(4)
+    public ResponseEntity<?> rebuildAssessmentRollups() {
+        return ResponseEntity.ok(Map.of("rollups", assessmentRollupRebuilder.rebuildAll()));
+    }
+}
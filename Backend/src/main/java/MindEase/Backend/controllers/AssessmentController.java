@@ -1,11 +1,19 @@
 // controllers/AssessmentController.java
 package MindEase.Backend.controllers;
 
+import MindEase.Backend.dto.AssessmentListItem;
+import MindEase.Backend.dto.AssessmentPage;
 import MindEase.Backend.dto.AssessmentRequest;
 import MindEase.Backend.entity.Assessment;
+import MindEase.Backend.entity.AssessmentRollup;
+import MindEase.Backend.exception.ResourceNotFoundException;
+import MindEase.Backend.metrics.QueryBudget;
+import MindEase.Backend.security.AuthenticatedPrincipal;
 import MindEase.Backend.services.AssessmentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,7 +30,16 @@ public class AssessmentController {
     private AssessmentService assessmentService;
 
     @PostMapping
-    public ResponseEntity<?> saveAssessment(@RequestBody AssessmentRequest dto) {
+    @QueryBudget(5)
+    public ResponseEntity<?> saveAssessment(
+        @RequestBody AssessmentRequest dto,
+        @AuthenticationPrincipal AuthenticatedPrincipal principal
+    ) {
+        Long ownerId = AuthenticatedPrincipal.ownerScope(principal);
+        if (ownerId != null && !ownerId.equals(dto.getUserId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(Map.of("message", "Assessments can only be saved for yourself"));
+        }
         try {
             Assessment savedAssessment = assessmentService.saveAssessment(dto);
             return ResponseEntity.ok(savedAssessment);
@@ -34,9 +51,10 @@ public class AssessmentController {
     }
 
     @GetMapping("/user/{userId}")
+    @QueryBudget(1)
     public ResponseEntity<?> getAssessmentsByUserId(@PathVariable Long userId) {
         try {
-            List<Assessment> assessments = assessmentService.getAssessmentsByUserId(userId);
+            List<AssessmentListItem> assessments = assessmentService.getAssessmentsByUserId(userId);
             return ResponseEntity.ok(assessments);
         } catch (Exception e) {
             logger.error("Error fetching assessments for user " + userId, e);
@@ -45,11 +63,50 @@ public class AssessmentController {
         }
     }
 
+    // Newest first: /api/assessments/user/{userId}/page?before=<id>&size=20
+    @GetMapping("/user/{userId}/page")
+    @QueryBudget(1)
+    public ResponseEntity<?> getAssessmentPage(
+        @PathVariable Long userId,
+        @RequestParam(required = false) Long before,
+        @RequestParam(required = false) Integer size
+    ) {
+        try {
+            AssessmentPage page = assessmentService.getAssessmentPage(userId, before, size);
+            return ResponseEntity.ok(page);
+        } catch (Exception e) {
+            logger.error("Error fetching assessment page for user " + userId, e);
+            return ResponseEntity.internalServerError()
+                .body(Map.of("message", "Failed to fetch assessments"));
+        }
+    }
+
+    // Served from the rollup table, never reads the assessments themselves
+    @GetMapping("/user/{userId}/summary")
+    @QueryBudget(1)
+    public ResponseEntity<?> getAssessmentSummary(@PathVariable Long userId) {
+        try {
+            List<AssessmentRollup> summary = assessmentService.getAssessmentSummary(userId);
+            return ResponseEntity.ok(summary);
+        } catch (Exception e) {
+            logger.error("Error fetching assessment summary for user " + userId, e);
+            return ResponseEntity.internalServerError()
+                .body(Map.of("message", "Failed to fetch assessment summary"));
+        }
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<?> getAssessment(@PathVariable Long id) {
+    @QueryBudget(2)
+    public ResponseEntity<?> getAssessment(
+        @PathVariable Long id,
+        @AuthenticationPrincipal AuthenticatedPrincipal principal
+    ) {
         try {
-            Assessment assessment = assessmentService.getAssessmentById(id);
+            Assessment assessment = assessmentService.getAssessmentById(id, AuthenticatedPrincipal.ownerScope(principal));
             return ResponseEntity.ok(assessment);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("message", e.getMessage()));
         } catch (Exception e) {
             logger.error("Error fetching assessment with id: " + id, e);
             return ResponseEntity.internalServerError()
@@ -1,11 +1,20 @@
 // controllers/TodoController.java
 package MindEase.Backend.controllers;
 
+import MindEase.Backend.dto.TaskCompletionUpdate;
 import MindEase.Backend.entity.TodoTask;
+import MindEase.Backend.exception.ResourceNotFoundException;
+import MindEase.Backend.metrics.QueryBudget;
+import MindEase.Backend.security.AuthenticatedPrincipal;
 import MindEase.Backend.services.TodoTaskService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 import java.util.Map;
 
@@ -17,16 +26,24 @@ public class TodoController {
     private TodoTaskService todoTaskService;
 
     @GetMapping("/user/{userId}/daily")
-    public ResponseEntity<List<TodoTask>> getDailyTasks(@PathVariable Long userId) {
+    @QueryBudget(2)
+    public ResponseEntity<List<TodoTask>> getDailyTasks(@PathVariable Long userId, WebRequest request) {
         try {
+            // Polled constantly; a version probe answers 304 without loading or serializing the tasks
+            String etag = todoTaskService.getDailyTasksETag(userId);
+            CacheControl revalidate = CacheControl.noCache().cachePrivate();
+            if (request.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(revalidate).build();
+            }
             List<TodoTask> tasks = todoTaskService.getDailyTasks(userId);
-            return ResponseEntity.ok(tasks);
+            return ResponseEntity.ok().eTag(etag).cacheControl(revalidate).body(tasks);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
     @GetMapping("/user/{userId}/category/{category}")
+    @QueryBudget(1)
     public ResponseEntity<List<TodoTask>> getTasksByCategory(
         @PathVariable Long userId,
         @PathVariable TodoTask.TaskCategory category
@@ -40,6 +57,7 @@ public class TodoController {
     }
 
     @PostMapping("/user/{userId}/assessment/{assessmentId}")
+    @QueryBudget(3)
     public ResponseEntity<?> createFromAssessment(
         @PathVariable Long userId,
         @PathVariable Long assessmentId,
@@ -56,9 +74,14 @@ public class TodoController {
     }
 
     @PostMapping
-    public ResponseEntity<TodoTask> createTask(@RequestBody TodoTask task) {
+    @QueryBudget(3)
+    public ResponseEntity<TodoTask> createTask(
+        @RequestBody TodoTask task,
+        @AuthenticationPrincipal AuthenticatedPrincipal principal
+    ) {
         try {
-            TodoTask savedTask = todoTaskService.createTask(task);
+            // Plain users always create tasks for themselves
+            TodoTask savedTask = todoTaskService.createTask(task, AuthenticatedPrincipal.ownerScope(principal));
             return ResponseEntity.ok(savedTask);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
@@ -66,23 +89,53 @@ public class TodoController {
     }
 
     @PutMapping("/{taskId}")
+    @QueryBudget(5)
     public ResponseEntity<TodoTask> updateTask(
         @PathVariable Long taskId,
-        @RequestBody Map<String, Boolean> update
+        @RequestBody Map<String, Boolean> update,
+        @AuthenticationPrincipal AuthenticatedPrincipal principal
     ) {
         try {
-            TodoTask task = todoTaskService.updateTask(taskId, update.get("completed"));
+            TodoTask task = todoTaskService.updateTask(taskId, update.get("completed"),
+                AuthenticatedPrincipal.ownerScope(principal));
             return ResponseEntity.ok(task);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    // Ticks off many tasks in one request; plain users can only change their own tasks
+    @PatchMapping("/batch")
+    @QueryBudget(6)
+    public ResponseEntity<?> updateTasks(
+        @RequestBody List<TaskCompletionUpdate> updates,
+        @AuthenticationPrincipal AuthenticatedPrincipal principal
+    ) {
+        try {
+            return ResponseEntity.ok(todoTaskService.updateTasks(updates, AuthenticatedPrincipal.ownerScope(principal)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", e.getMessage()));
+        } catch (DataIntegrityViolationException e) {
+            // The nightly materializer created a next instance at the same moment; nothing was changed
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", "Tasks were updated concurrently, please try again"));
+        }
+    }
+
     @DeleteMapping("/{taskId}")
-    public ResponseEntity<?> deleteTask(@PathVariable Long taskId) {
+    @QueryBudget(2)
+    public ResponseEntity<?> deleteTask(
+        @PathVariable Long taskId,
+        @AuthenticationPrincipal AuthenticatedPrincipal principal
+    ) {
         try {
-            todoTaskService.deleteTask(taskId);
+            todoTaskService.deleteTask(taskId, AuthenticatedPrincipal.ownerScope(principal));
             return ResponseEntity.ok().build();
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -1,19 +1,28 @@
 package MindEase.Backend.controllers;
 
 import MindEase.Backend.dto.LoginRequest;
+import MindEase.Backend.dto.UserPage;
 import MindEase.Backend.dto.UserResponse;
+import MindEase.Backend.dto.UserSummary;
 import MindEase.Backend.entity.User;
 import MindEase.Backend.exception.AuthenticationException;
+import MindEase.Backend.metrics.QueryBudget;
+import MindEase.Backend.security.AuthenticatedPrincipal;
+import MindEase.Backend.security.TokenService;
+import MindEase.Backend.services.UserDataExportService;
 import MindEase.Backend.services.UserService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
-import java.util.HashMap;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @CrossOrigin(origins = "http://localhost:5173")
 @RestController
@@ -21,13 +30,19 @@ import java.util.stream.Collectors;
 public class UserController {
 
     private final UserService userService;
+    private final TokenService tokenService;
+    private final UserDataExportService userDataExportService;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, TokenService tokenService,
+                          UserDataExportService userDataExportService) {
         this.userService = userService;
+        this.tokenService = tokenService;
+        this.userDataExportService = userDataExportService;
     }
 
     @PostMapping("/login")
+    @QueryBudget(1)
     public ResponseEntity<?> loginUser(@RequestBody Map<String, String> loginRequest) {
         String username = loginRequest.get("username");
         String password = loginRequest.get("password");
@@ -42,6 +57,7 @@ public class UserController {
 
             return ResponseEntity.ok(Map.of(
                 "message", "Login successful",
+                "token", tokenService.issue("USER", user.getId(), user.getUsername()),
                 "user", Map.of(
                     "id", user.getId(),
                     "username", user.getUsername()
@@ -50,13 +66,11 @@ public class UserController {
         } catch (AuthenticationException e) {
             return ResponseEntity.badRequest()
                 .body(Map.of("error", e.getMessage()));
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError()
-                .body(Map.of("error", "An unexpected error occurred"));
         }
     }
 
     @PostMapping("/register")
+    @QueryBudget(2)
     public ResponseEntity<?> registerUser(@Valid @RequestBody User user) {
         try {
             if (user == null) {
@@ -73,43 +87,35 @@ public class UserController {
                     "username", registeredUser.getUsername()
                 )
             ));
-        } catch (RuntimeException e) {
+        } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                 .body(Map.of("error", e.getMessage()));
         }
     }
     
+    // Live check for the registration form: /api/users/username-available?username=alice.
+    // Advisory only, registration still rejects a name taken in the meantime
+    @GetMapping("/username-available")
+    @QueryBudget(1)
+    public ResponseEntity<?> isUsernameAvailable(@RequestParam String username) {
+        if (username.trim().isEmpty()) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Username is required"));
+        }
+        return ResponseEntity.ok(Map.of(
+            "username", username,
+            "available", userService.isUsernameAvailable(username)
+        ));
+    }
+
     // Add this new method to get all users
     @GetMapping
+    @QueryBudget(1)
     public ResponseEntity<?> getAllUsers() {
         try {
-            List<User> users = userService.getAllUsers();
-            
-            // Convert to a simplified response format to avoid circular references
-            List<Map<String, Object>> userResponses = users.stream()
-                .map(user -> {
-                    Map<String, Object> userMap = new HashMap<>();
-                    userMap.put("id", user.getId());
-                    userMap.put("username", user.getUsername());
-                    userMap.put("createdAt", user.getCreatedAt() != null ? user.getCreatedAt().toString() : "");
-                    
-                    // Add location data if available
-                    if (user.getLatitude() != null && user.getLongitude() != null) {
-                        userMap.put("latitude", user.getLatitude());
-                        userMap.put("longitude", user.getLongitude());
-                    }
-                    
-                    // Add assessment count
-                    userMap.put("assessmentCount", user.getAssessments() != null ? user.getAssessments().size() : 0);
-                    
-                    // Add todo task count
-                    userMap.put("todoTaskCount", user.getTodoTasks() != null ? user.getTodoTasks().size() : 0);
-                    
-                    return userMap;
-                })
-                .collect(Collectors.toList());
-            
-            return ResponseEntity.ok(userResponses);
+            // Counts come from the projection query, so no per-user collection loads
+            List<UserSummary> users = userService.getAllUserSummaries();
+            return ResponseEntity.ok(users);
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.internalServerError()
@@ -117,30 +123,51 @@ public class UserController {
         }
     }
 
+    // Cursor-paginated listing for the admin page: /api/users/page?after=<id>&size=50&sort=id
+    @GetMapping("/page")
+    @QueryBudget(1)
+    public ResponseEntity<?> getUserPage(
+        @RequestParam(required = false) Long after,
+        @RequestParam(required = false) Integer size,
+        @RequestParam(defaultValue = "id") String sort
+    ) {
+        try {
+            UserPage page = userService.getUserPage(after, size, sort);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Users near a point, closest first: /api/users/nearby?latitude=12.97&longitude=77.59&radiusKm=5,
+    // or the count nearest when no radius is given
+    @GetMapping("/nearby")
+    @QueryBudget(1)
+    public ResponseEntity<?> getNearbyUsers(
+        @RequestParam double latitude,
+        @RequestParam double longitude,
+        @RequestParam(required = false) Double radiusKm,
+        @RequestParam(required = false) Integer count
+    ) {
+        try {
+            List<UserSummary> users = radiusKm != null
+                ? userService.findUsersWithinRadius(latitude, longitude, radiusKm)
+                : userService.findNearestUsers(latitude, longitude, count);
+            return ResponseEntity.ok(users);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", e.getMessage()));
+        }
+    }
+
     // Add this method to get a specific user by ID
     @GetMapping("/{id}")
+    @QueryBudget(1)
     public ResponseEntity<?> getUserById(@PathVariable Long id) {
         try {
-            User user = userService.getUserById(id);
-            
-            Map<String, Object> userResponse = new HashMap<>();
-            userResponse.put("id", user.getId());
-            userResponse.put("username", user.getUsername());
-            userResponse.put("createdAt", user.getCreatedAt() != null ? user.getCreatedAt().toString() : "");
-            
-            // Add location data if available
-            if (user.getLatitude() != null && user.getLongitude() != null) {
-                userResponse.put("latitude", user.getLatitude());
-                userResponse.put("longitude", user.getLongitude());
-            }
-            
-            // Add assessment count
-            userResponse.put("assessmentCount", user.getAssessments() != null ? user.getAssessments().size() : 0);
-            
-            // Add todo task count
-            userResponse.put("todoTaskCount", user.getTodoTasks() != null ? user.getTodoTasks().size() : 0);
-            
-            return ResponseEntity.ok(userResponse);
+            UserSummary user = userService.getUserSummaryById(id);
+            return ResponseEntity.ok(user);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -149,4 +176,53 @@ public class UserController {
                 .body(Map.of("error", "Failed to fetch user: " + e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    @GetMapping("/{id}/recommendations")
+    @QueryBudget(1)
+    public ResponseEntity<?> getRecommendations(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(userService.getRecommendationSections(id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Full history as a download: /api/users/{id}/export?format=ndjson or csv. Rows go out as they
+    // are read from the database, so large histories are never held in memory
+    @GetMapping("/{id}/export")
+    @QueryBudget(3)
+    public void exportUserData(
+        @PathVariable Long id,
+        @RequestParam(defaultValue = "ndjson") String format,
+        @AuthenticationPrincipal AuthenticatedPrincipal principal,
+        HttpServletResponse response
+    ) throws IOException {
+        // Admins can export anyone; users only themselves
+        boolean allowed = principal != null
+            && ("ADMIN".equals(principal.role()) || ("USER".equals(principal.role()) && id.equals(principal.id())));
+        if (!allowed) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        UserDataExportService.Format exportFormat;
+        try {
+            exportFormat = UserDataExportService.Format.parse(format);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+
+        response.setContentType(exportFormat.contentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"user-" + id + "-export." + exportFormat.extension() + "\"");
+        try {
+            userDataExportService.export(id, exportFormat, response.getOutputStream());
+        } catch (IllegalArgumentException e) {
+            // Thrown before the first byte, so the headers can still be replaced
+            response.reset();
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+        }
+    }
+}
@@ -3,12 +3,24 @@ package MindEase.Backend.controllers;
 
 import MindEase.Backend.entity.Volunteer;
 import MindEase.Backend.exception.AuthenticationException;
+import MindEase.Backend.metrics.QueryBudget;
+import MindEase.Backend.security.AuthenticatedPrincipal;
+import MindEase.Backend.security.TokenService;
 import MindEase.Backend.services.VolunteerService;
+import MindEase.Backend.storage.BlobResponseWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -18,13 +30,18 @@ import java.util.Map;
 public class VolunteerController {
 
     private final VolunteerService volunteerService;
+    private final TokenService tokenService;
+    private final BlobResponseWriter blobResponseWriter;
 
     @Autowired
-    public VolunteerController(VolunteerService volunteerService) {
+    public VolunteerController(VolunteerService volunteerService, BlobResponseWriter blobResponseWriter, TokenService tokenService) {
         this.volunteerService = volunteerService;
+        this.tokenService = tokenService;
+        this.blobResponseWriter = blobResponseWriter;
     }
 
     @PostMapping("/register")
+    @QueryBudget(2)
     public ResponseEntity<?> registerVolunteer(@Valid @RequestBody Volunteer volunteer) {
         try {
             Volunteer registeredVolunteer = volunteerService.registerVolunteer(volunteer);
@@ -38,13 +55,14 @@ public class VolunteerController {
                     "approved", registeredVolunteer.getApproved()
                 )
             ));
-        } catch (RuntimeException e) {
+        } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                 .body(Map.of("error", e.getMessage()));
         }
     }
 
     @PostMapping("/login")
+    @QueryBudget(1)
     public ResponseEntity<?> loginVolunteer(@RequestBody Map<String, String> loginRequest) {
         String username = loginRequest.get("username");
         String password = loginRequest.get("password");
@@ -59,6 +77,7 @@ public class VolunteerController {
 
             return ResponseEntity.ok(Map.of(
                 "message", "Login successful",
+                "token", tokenService.issue("VOLUNTEER", volunteer.getId(), volunteer.getUsername()),
                 "volunteer", Map.of(
                     "id", volunteer.getId(),
                     "username", volunteer.getUsername(),
@@ -70,23 +89,29 @@ public class VolunteerController {
         } catch (AuthenticationException e) {
             return ResponseEntity.badRequest()
                 .body(Map.of("error", e.getMessage()));
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError()
-                .body(Map.of("error", "An unexpected error occurred"));
         }
     }
 
     @GetMapping("/pending")
+    @QueryBudget(1)
     public ResponseEntity<List<Volunteer>> getPendingVolunteers() {
         return ResponseEntity.ok(volunteerService.getPendingVolunteers());
     }
 
     @GetMapping("/approved")
-    public ResponseEntity<List<Volunteer>> getApprovedVolunteers() {
-        return ResponseEntity.ok(volunteerService.getApprovedVolunteers());
+    @QueryBudget(2)
+    public ResponseEntity<List<Volunteer>> getApprovedVolunteers(WebRequest request) {
+        // Polled constantly; a version probe answers 304 without loading or serializing the rows
+        String etag = volunteerService.getApprovedVolunteersETag();
+        CacheControl revalidate = CacheControl.noCache().cachePrivate();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(revalidate).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(revalidate).body(volunteerService.getApprovedVolunteers());
     }
 
     @PostMapping("/{id}/approve")
+    @QueryBudget(2)
     public ResponseEntity<?> approveVolunteer(@PathVariable Long id) {
         try {
             Volunteer volunteer = volunteerService.approveVolunteer(id);
@@ -101,6 +126,7 @@ public class VolunteerController {
     }
 
     @PostMapping("/{id}/reject")
+    @QueryBudget(2)
     public ResponseEntity<?> rejectVolunteer(
         @PathVariable Long id,
         @RequestBody Map<String, String> request
@@ -119,6 +145,7 @@ public class VolunteerController {
     }
 
     @DeleteMapping("/{id}")
+    @QueryBudget(2)
     public ResponseEntity<?> deleteVolunteer(@PathVariable Long id) {
         try {
             volunteerService.deleteVolunteer(id);
@@ -132,6 +159,7 @@ public class VolunteerController {
     }
     
     @GetMapping("/{id}")
+    @QueryBudget(1)
     public ResponseEntity<?> getVolunteerById(@PathVariable Long id) {
         try {
             Volunteer volunteer = volunteerService.getVolunteerById(id);
@@ -141,4 +169,53 @@ public class VolunteerController {
                 .body(Map.of("error", e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    // Streams a document from the blob store, kind is "certificate" or "id-proof".
+    // Identity documents are for admins reviewing applications and for the volunteer who uploaded them.
+    @GetMapping("/{id}/images/{kind}")
+    @QueryBudget(1)
+    public void getVolunteerImage(
+        @PathVariable Long id,
+        @PathVariable String kind,
+        @AuthenticationPrincipal AuthenticatedPrincipal principal,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        boolean allowed = principal != null && ("ADMIN".equals(principal.role())
+            || ("VOLUNTEER".equals(principal.role()) && id.equals(principal.id())));
+        if (!allowed) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        Volunteer volunteer;
+        try {
+            volunteer = volunteerService.getVolunteerById(id);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String ref;
+        String contentType;
+        switch (kind) {
+            case "certificate":
+                ref = volunteer.getCertificateImageRef();
+                contentType = volunteer.getCertificateImageType();
+                break;
+            case "id-proof":
+                ref = volunteer.getIdProofImageRef();
+                contentType = volunteer.getIdProofImageType();
+                break;
+            default:
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+                return;
+        }
+
+        if (ref == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        blobResponseWriter.write(ref, contentType, request, response);
+    }
+}
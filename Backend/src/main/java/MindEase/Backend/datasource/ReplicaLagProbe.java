@@ -0,0 +1,27 @@
+package MindEase.Backend.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.OptionalLong;
+
+// How far a replica is behind the primary, asked over one of the replica's own connections
+@FunctionalInterface
+public interface ReplicaLagProbe {
+
+    // Empty when the replica is not replicating at all
+    OptionalLong lagSeconds(Connection connection) throws SQLException;
+
+    // MySQL 8.0.22+, needs REPLICATION CLIENT; Seconds_Behind_Source is NULL while a replication thread is stopped
+    ReplicaLagProbe MYSQL = connection -> {
+        try (Statement statement = connection.createStatement();
+             ResultSet status = statement.executeQuery("SHOW REPLICA STATUS")) {
+            if (!status.next()) {
+                return OptionalLong.empty();
+            }
+            long lag = status.getLong("Seconds_Behind_Source");
+            return status.wasNull() ? OptionalLong.empty() : OptionalLong.of(lag);
+        }
+    };
+}
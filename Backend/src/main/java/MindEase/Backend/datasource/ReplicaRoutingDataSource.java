@@ -0,0 +1,242 @@
+package MindEase.Backend.datasource;
+
+import MindEase.Backend.security.AuthenticatedPrincipal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Sends read-only transactions to a healthy replica that is not too far behind,
+ * and everything else to the primary. A caller who has just committed a write
+ * keeps reading from the primary for a short window, so they see their own change;
+ * a transaction that was not marked read-only but only read does not count as one.
+ * Must sit behind a LazyConnectionDataSourceProxy, so that the connection is only
+ * chosen once the transaction's read-only flag has been set.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    public static final String PRIMARY = "primary";
+
+    // Statements that change data, possibly behind leading comments such as Hibernate's
+    private static final Pattern WRITE = Pattern.compile(
+        "^\\s*(/\\*.*?\\*/\\s*)*(insert|update|delete|merge|replace|create|alter|drop|truncate)\\b",
+        Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    // Replicas start out unhealthy and only receive reads once a check has passed
+    private static final class Replica {
+        final String name;
+        final DataSource dataSource;
+        volatile boolean healthy;
+        volatile long lagSeconds;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final ReplicaLagProbe lagProbe;
+    private final long maxLagSeconds;
+    private final long stickyWindowMillis;
+    private final Clock clock;
+    private final AtomicInteger next = new AtomicInteger();
+    // Callers that wrote recently, with the time until which their reads stay on the primary
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            Map<String, DataSource> replicas,
+            ReplicaLagProbe lagProbe,
+            long maxLagSeconds,
+            long stickyWindowMillis,
+            Clock clock
+    ) {
+        this.primary = primary;
+        this.lagProbe = lagProbe;
+        this.maxLagSeconds = maxLagSeconds;
+        this.stickyWindowMillis = stickyWindowMillis;
+        this.clock = clock;
+
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach((name, dataSource) -> {
+            targets.put(name, dataSource);
+            this.replicas.add(new Replica(name, dataSource));
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        // Not a bean of its own, so the targets are resolved here rather than by the container
+        afterPropertiesSet();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return watchForWrites(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return watchForWrites(super.getConnection(username, password));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        if (isSticky()) {
+            return PRIMARY;
+        }
+        Replica replica = pickReplica();
+        return replica == null ? PRIMARY : replica.name;
+    }
+
+    // Round-robin over the usable replicas; null when none is, so the read falls back to the primary
+    private Replica pickReplica() {
+        int size = replicas.size();
+        if (size == 0) return null;
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy && replica.lagSeconds <= maxLagSeconds) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    // Primary connections of a signed-in caller report their first data-changing statement
+    private Connection watchForWrites(Connection connection) {
+        if (stickyWindowMillis <= 0 || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return connection;
+        }
+        String caller = currentCaller();
+        if (caller == null) return connection;
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+            new Class<?>[] { Connection.class }, new WriteWatcher(connection, caller, new AtomicBoolean()));
+    }
+
+    // The window starts when the write commits; a rolled back write changed nothing worth reading back
+    private void rememberWrite(String caller) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stickyUntil.put(caller, clock.millis() + stickyWindowMillis);
+                }
+            });
+        } else {
+            stickyUntil.put(caller, clock.millis() + stickyWindowMillis);
+        }
+    }
+
+    // Sees the SQL passed to the connection and to the plain statements it creates
+    private final class WriteWatcher implements InvocationHandler {
+        private final Object target;
+        private final String caller;
+        private final AtomicBoolean written;
+
+        WriteWatcher(Object target, String caller, AtomicBoolean written) {
+            this.target = target;
+            this.caller = caller;
+            this.written = written;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (args != null && args.length > 0 && args[0] instanceof String sql
+                    && (name.startsWith("prepare") || name.startsWith("execute") || name.equals("addBatch"))
+                    && WRITE.matcher(sql).find() && written.compareAndSet(false, true)) {
+                rememberWrite(caller);
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (name.equals("createStatement") && result instanceof Statement statement) {
+                return Proxy.newProxyInstance(Statement.class.getClassLoader(),
+                    new Class<?>[] { Statement.class }, new WriteWatcher(statement, caller, written));
+            }
+            return result;
+        }
+    }
+
+    private boolean isSticky() {
+        String caller = currentCaller();
+        if (caller == null) return false;
+        Long until = stickyUntil.get(caller);
+        if (until == null) return false;
+        if (until > clock.millis()) return true;
+        stickyUntil.remove(caller, until);
+        return false;
+    }
+
+    private static String currentCaller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedPrincipal principal) {
+            return principal.role() + ":" + principal.id();
+        }
+        return null;
+    }
+
+    // Run periodically; also drops expired stickiness so the map stays bounded by recent writers
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                OptionalLong lag = lagProbe.lagSeconds(connection);
+                replica.lagSeconds = lag.orElse(Long.MAX_VALUE);
+                replica.healthy = lag.isPresent();
+            } catch (SQLException | RuntimeException e) {
+                replica.healthy = false;
+                if (wasHealthy) {
+                    logger.warn("Replica {} failed its health check, reads go to the primary: {}", replica.name, e.getMessage());
+                }
+                continue;
+            }
+            if (replica.healthy != wasHealthy) {
+                logger.info("Replica {} is now {}", replica.name, replica.healthy ? "healthy" : "not replicating");
+            }
+        }
+        long now = clock.millis();
+        stickyUntil.values().removeIf(until -> until <= now);
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) closeable.close();
+        }
+        if (primary instanceof AutoCloseable closeable) closeable.close();
+    }
+}
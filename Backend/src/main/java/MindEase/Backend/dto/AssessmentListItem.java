@@ -0,0 +1,21 @@
+package MindEase.Backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Assessment row without the suggestions JSON, which is only served by GET /api/assessments/{id}
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssessmentListItem {
+    private Long id;
+    private String assessmentType;
+    private Integer score;
+    private String riskLevel;
+    private LocalDate followUpDate;
+    private LocalDateTime createdAt;
+}
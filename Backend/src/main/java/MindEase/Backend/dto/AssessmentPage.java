@@ -0,0 +1,14 @@
+package MindEase.Backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class AssessmentPage {
+    private List<AssessmentListItem> assessments;
+    // Id of the last (oldest) row in this page, pass it back as "before" to fetch the next page
+    private Long nextCursor;
+}
@@ -0,0 +1,19 @@
+package MindEase.Backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Fingerprint of a set of versioned rows: any insert, delete or update of a member changes it
+@Data
+@AllArgsConstructor
+public class CollectionVersion {
+    private long count;
+    private Long idSum;
+    private Long versionSum;
+
+    // Opaque strong ETag value, scope keeps tags of different collections apart
+    public String toETag(String scope) {
+        return String.format("\"%s-%x-%x-%x\"", scope, count,
+            idSum == null ? 0 : idSum, versionSum == null ? 0 : versionSum);
+    }
+}
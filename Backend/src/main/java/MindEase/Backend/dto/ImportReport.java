@@ -0,0 +1,20 @@
+package MindEase.Backend.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ImportReport {
+    // Pass it back to resume the import after an interruption
+    private String importId;
+    private String kind;
+    // Data rows skipped because an earlier run with the same import id had already handled them
+    private long resumedFrom;
+    private long imported;
+    private long failed;
+    private List<ImportRowError> errors = new ArrayList<>();
+    // True when more rows failed than import.max-errors, and only the first ones are listed
+    private boolean errorsTruncated;
+}
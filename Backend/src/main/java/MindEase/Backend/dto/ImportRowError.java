@@ -0,0 +1,14 @@
+package MindEase.Backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A CSV row the bulk import rejected; line is where the row starts in the file, the header being line 1
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowError {
+    private long line;
+    private String message;
+}
@@ -0,0 +1,30 @@
+package MindEase.Backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Progress of a bulk import started over HTTP, as polled by the client; report is set once it has finished
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportStatus {
+
+    public enum State {
+        RUNNING,
+        DONE,
+        FAILED,
+        // Not running on this instance and its outcome is no longer held; send the file again to resume
+        STOPPED
+    }
+
+    private String importId;
+    private String kind;
+    private State state;
+    // Data rows imported or reported as failed so far, as checkpointed
+    private long rowsDone;
+    private ImportReport report;
+    private String error;
+}
@@ -0,0 +1,15 @@
+package MindEase.Backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TaskBatchResult {
+    // Requested tasks whose completed flag actually changed; unknown, foreign or unchanged ids are left out
+    private List<Long> updated;
+    // Next instances created for recurring tasks that were completed
+    private List<Long> created;
+}
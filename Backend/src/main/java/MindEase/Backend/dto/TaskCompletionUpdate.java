@@ -0,0 +1,14 @@
+package MindEase.Backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One entry of PATCH /api/todos/batch
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskCompletionUpdate {
+    private Long taskId;
+    private Boolean completed;
+}
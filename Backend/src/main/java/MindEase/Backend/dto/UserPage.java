@@ -0,0 +1,14 @@
+package MindEase.Backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class UserPage {
+    private List<UserSummary> users;
+    // Id of the last row in this page, pass it back as "after" to fetch the next page
+    private Long nextCursor;
+}
@@ -0,0 +1,14 @@
+package MindEase.Backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One row of the admin user typeahead
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSearchHit {
+    private Long id;
+    private String username;
+}
@@ -0,0 +1,23 @@
+package MindEase.Backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Read-only projection of a user row with its assessment and task counts computed in SQL
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserSummary {
+    private Long id;
+    private String username;
+    private LocalDateTime createdAt;
+    private Double latitude;
+    private Double longitude;
+    private long assessmentCount;
+    private long todoTaskCount;
+}
@@ -0,0 +1,16 @@
+package MindEase.Backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One row of the admin volunteer typeahead
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VolunteerSearchHit {
+    private Long id;
+    private String username;
+    private String fullName;
+    private String email;
+}
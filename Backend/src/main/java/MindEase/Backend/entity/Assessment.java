@@ -8,11 +8,14 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "assessments")
+@Table(name = "assessments", indexes = {
+    @Index(name = "idx_assessments_user_created", columnList = "user_id, created_at")
+})
 @Data
 public class Assessment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "assessments_seq")
+    @SequenceGenerator(name = "assessments_seq", sequenceName = "assessments_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,106 @@
+package MindEase.Backend.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+// Running score statistics per user and assessment type, maintained as assessments are saved
+@Entity
+@Table(name = "assessment_rollups")
+@IdClass(AssessmentRollup.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class AssessmentRollup implements Persistable<AssessmentRollup.Key> {
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private String assessmentType;
+    }
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "assessment_type")
+    private String assessmentType;
+
+    @Column(name = "assessment_count", nullable = false)
+    private long count;
+
+    @Column(name = "latest_score")
+    private Integer latestScore;
+
+    @Column(name = "min_score")
+    private Integer minScore;
+
+    @Column(name = "max_score")
+    private Integer maxScore;
+
+    @JsonIgnore
+    @Column(name = "score_sum", nullable = false)
+    private long scoreSum;
+
+    // Exponential moving average, so recent assessments weigh more than old ones
+    @Column(name = "moving_average")
+    private Double movingAverage;
+
+    @Column(name = "last_risk_level")
+    private String lastRiskLevel;
+
+    @Column(name = "last_assessed_at")
+    private LocalDateTime lastAssessedAt;
+
+    // The key is assigned, so without this every save of a new rollup is a merge that selects it first
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    public AssessmentRollup(Long userId, String assessmentType) {
+        this.userId = userId;
+        this.assessmentType = assessmentType;
+    }
+
+    @Override
+    @JsonIgnore
+    public Key getId() {
+        return new Key(userId, assessmentType);
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+
+    public Double getAverageScore() {
+        return count == 0 ? null : (double) scoreSum / count;
+    }
+
+    // Assessments must be applied in creation order
+    public void apply(int score, String riskLevel, LocalDateTime assessedAt, double alpha) {
+        movingAverage = count == 0 ? score : alpha * score + (1 - alpha) * movingAverage;
+        count++;
+        scoreSum += score;
+        latestScore = score;
+        minScore = minScore == null ? score : Math.min(minScore, score);
+        maxScore = maxScore == null ? score : Math.max(maxScore, score);
+        lastRiskLevel = riskLevel;
+        lastAssessedAt = assessedAt;
+    }
+}
@@ -0,0 +1,36 @@
+package MindEase.Backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// How far a bulk import has got, keyed by the id the import was started with
+@Entity
+@Table(name = "import_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportCheckpoint {
+
+    @Id
+    @Column(name = "import_id", length = 100)
+    private String importId;
+
+    @Column(name = "kind", nullable = false, length = 32)
+    private String kind;
+
+    // Data rows after the header that were imported or reported as failed
+    @Column(name = "rows_done", nullable = false)
+    private long rowsDone;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,35 @@
+package MindEase.Backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Parsed recommendation tasks keyed by the SHA-256 of the source markdown
+@Entity
+@Table(name = "parsed_recommendations")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParsedRecommendation {
+
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "format_version", nullable = false)
+    private int formatVersion;
+
+    // One "CATEGORY<tab>task" line per task
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -6,10 +6,20 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "todo_tasks")
+@Table(name = "todo_tasks", uniqueConstraints = {
+    // One generated instance per recurring template and day, so materializing is idempotent
+    @UniqueConstraint(name = "uk_todo_tasks_template_occurrence", columnNames = {"template_id", "occurrence_date"})
+}, indexes = {
+    // Created by the V2 migration, declared here so the mapping documents them
+    @Index(name = "idx_todo_tasks_user_scheduled", columnList = "user_id, scheduled_date"),
+    @Index(name = "idx_todo_tasks_user_recurring", columnList = "user_id, recurring"),
+    @Index(name = "idx_todo_tasks_user_category", columnList = "user_id, category"),
+    @Index(name = "idx_todo_tasks_user_assessment", columnList = "user_id, source_assessment_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,7 +27,8 @@ import java.time.LocalDateTime;
 @Builder
 public class TodoTask {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todo_tasks_seq")
+    @SequenceGenerator(name = "todo_tasks_seq", sequenceName = "todo_tasks_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Task description is required")
@@ -50,9 +61,19 @@ public class TodoTask {
     @Column(name = "recurrence_pattern")
     private String recurrencePattern;
 
+    // Set on instances generated from a recurring template, null on the template itself
+    @Column(name = "template_id")
+    private Long templateId;
+
+    @Column(name = "occurrence_date")
+    private LocalDate occurrenceDate;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    @Version
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
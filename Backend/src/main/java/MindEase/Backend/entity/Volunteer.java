@@ -8,9 +8,15 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Table(name = "volunteers")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "volunteers")
+@Table(name = "volunteers", indexes = {
+    @Index(name = "idx_volunteers_approved_active", columnList = "approved, active")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -47,14 +53,31 @@ public class Volunteer extends BaseEntity {
     @Column(name = "experience")
     private Integer experience;
     
-    @Lob
-    @Column(name = "certificate_image", columnDefinition = "LONGTEXT")
+    // Uploaded as base64 on registration and moved into the BlobStore, never persisted in the row
+    @Transient
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String certificateImage;
     
-    @Lob
-    @Column(name = "id_proof_image", columnDefinition = "LONGTEXT")
+    @Transient
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String idProofImage;
     
+    @JsonIgnore
+    @Column(name = "certificate_image_ref", length = 64)
+    private String certificateImageRef;
+    
+    @JsonIgnore
+    @Column(name = "certificate_image_type")
+    private String certificateImageType;
+    
+    @JsonIgnore
+    @Column(name = "id_proof_image_ref", length = 64)
+    private String idProofImageRef;
+    
+    @JsonIgnore
+    @Column(name = "id_proof_image_type")
+    private String idProofImageType;
+    
     @Column(name = "approved")
     private Boolean approved = false;
     
@@ -63,4 +86,14 @@ public class Volunteer extends BaseEntity {
     
     @Column(name = "rejection_reason")
     private String rejectionReason;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public String getCertificateImageUrl() {
+        return certificateImageRef == null ? null : "/api/volunteers/" + getId() + "/images/certificate";
+    }
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public String getIdProofImageUrl() {
+        return idProofImageRef == null ? null : "/api/volunteers/" + getId() + "/images/id-proof";
+    }
 }
\ No newline at end of file
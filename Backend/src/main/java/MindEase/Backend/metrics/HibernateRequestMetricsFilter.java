@@ -0,0 +1,52 @@
+package MindEase.Backend.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many statements, entity loads and lazy collection fetches each request
+ * caused, tagged with the route template rather than the raw URL so ids in paths do not
+ * create new series. Requests that never reach a handler are tagged UNKNOWN.
+ */
+@Component
+public class HibernateRequestMetricsFilter extends OncePerRequestFilter {
+
+    private final RequestQueryCounter counter;
+    private final MeterRegistry registry;
+
+    public HibernateRequestMetricsFilter(RequestQueryCounter counter, MeterRegistry registry) {
+        this.counter = counter;
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestQueryCounter.Counts counts = counter.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            counter.end();
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            Tags tags = Tags.of("method", request.getMethod(), "uri", route != null ? route.toString() : "UNKNOWN");
+            record("hibernate.request.statements", "SQL statements prepared per request", tags, counts.statements());
+            record("hibernate.request.entity.loads", "Entities loaded per request", tags, counts.entityLoads());
+            record("hibernate.request.collection.fetches", "Lazy collections initialized per request", tags,
+                counts.collectionFetches());
+        }
+    }
+
+    private void record(String name, String description, Tags tags, long value) {
+        DistributionSummary.builder(name).description(description).tags(tags).register(registry).record(value);
+    }
+}
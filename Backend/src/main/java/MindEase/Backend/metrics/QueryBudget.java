@@ -0,0 +1,19 @@
+package MindEase.Backend.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Most SQL round trips one call to the annotated endpoint may issue with a cold
+ * second-level cache, counting an id-sequence fetch on inserts. QueryBudgetTest
+ * calls every controller endpoint and fails when one goes over.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+    int value();
+}
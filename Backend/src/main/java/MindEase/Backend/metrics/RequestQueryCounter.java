@@ -0,0 +1,83 @@
+package MindEase.Backend.metrics;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Counts the SQL statements, entity loads and lazy collection fetches Hibernate performs on
+ * the current thread while a request scope is open. HibernateRequestMetricsFilter opens one
+ * per request; work outside a request (schedulers, startup) is not counted.
+ */
+public class RequestQueryCounter
+        implements StatementInspector, PostLoadEventListener, InitializeCollectionEventListener, Integrator {
+
+    public static final class Counts {
+        private long statements;
+        private long entityLoads;
+        private long collectionFetches;
+
+        public long statements() {
+            return statements;
+        }
+
+        public long entityLoads() {
+            return entityLoads;
+        }
+
+        public long collectionFetches() {
+            return collectionFetches;
+        }
+    }
+
+    private final transient ThreadLocal<Counts> current = new ThreadLocal<>();
+
+    public Counts begin() {
+        Counts counts = new Counts();
+        current.set(counts);
+        return counts;
+    }
+
+    public void end() {
+        current.remove();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Counts counts = current.get();
+        if (counts != null) counts.statements++;
+        return sql;
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        Counts counts = current.get();
+        if (counts != null) counts.entityLoads++;
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        Counts counts = current.get();
+        if (counts != null) counts.collectionFetches++;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        EventListenerRegistry listeners = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_LOAD, this);
+        listeners.appendListeners(EventType.INIT_COLLECTION, this);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+}
@@ -0,0 +1,64 @@
+package MindEase.Backend.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of a @Service bean as service.method, tagged with the class
+ * and method name, so the number of series is fixed by the code rather than the traffic.
+ */
+@Aspect
+@Component
+public class ServiceTimingAspect {
+
+    static final String METRIC = "service.method";
+
+    private final MeterRegistry registry;
+    // Successful calls are the hot path, so their timer is looked up once per method
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    public ServiceTimingAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * *(..)) && within(@org.springframework.stereotype.Service *)")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            timer(joinPoint, exception).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(ProceedingJoinPoint joinPoint, String exception) {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        if ("none".equals(exception)) {
+            return timers.computeIfAbsent(signature.getMethod(), method -> build(signature, exception));
+        }
+        return build(signature, exception);
+    }
+
+    private Timer build(MethodSignature signature, String exception) {
+        return Timer.builder(METRIC)
+            .description("Time spent in service methods")
+            .tag("class", signature.getDeclaringType().getSimpleName())
+            .tag("method", signature.getName())
+            .tag("exception", exception)
+            .register(registry);
+    }
+}
@@ -0,0 +1,65 @@
+package MindEase.Backend.nearesthospitals;
+
+import com.google.maps.GeoApiContext;
+import com.google.maps.PendingResult;
+import com.google.maps.PlacesApi;
+import com.google.maps.model.LatLng;
+import com.google.maps.model.PlaceType;
+import com.google.maps.model.PlacesSearchResponse;
+import com.google.maps.model.PlacesSearchResult;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+@Component
+public class GooglePlacesClient implements PlacesClient {
+
+    @Value("${google.maps.api-key:GOOGLE_MAPS_API_KEY}")
+    private String apiKey;
+
+    private GeoApiContext context;
+
+    @PostConstruct
+    public void init() {
+        // Initialize the Google Maps API context
+        context = new GeoApiContext.Builder()
+                .apiKey(apiKey)
+                .build();
+    }
+
+    @Override
+    public CompletableFuture<List<HospitalDTO>> searchHospitals(double latitude, double longitude) {
+        CompletableFuture<List<HospitalDTO>> result = new CompletableFuture<>();
+        PlacesApi.nearbySearchQuery(context, new LatLng(latitude, longitude))
+                .radius(5000) // 5km radius
+                .type(PlaceType.HOSPITAL)
+                .keyword("mental health")
+                .setCallback(new PendingResult.Callback<PlacesSearchResponse>() {
+                    @Override
+                    public void onResult(PlacesSearchResponse response) {
+                        result.complete(Arrays.stream(response.results)
+                                .map(GooglePlacesClient.this::convertToDTO)
+                                .collect(Collectors.toList()));
+                    }
+
+                    @Override
+                    public void onFailure(Throwable e) {
+                        result.completeExceptionally(new RuntimeException("Error finding nearby hospitals", e));
+                    }
+                });
+        return result;
+    }
+
+    private HospitalDTO convertToDTO(PlacesSearchResult result) {
+        return new HospitalDTO(
+                result.name,
+                result.geometry.location.lat,
+                result.geometry.location.lng,
+                result.vicinity);
+    }
+}
@@ -0,0 +1,146 @@
+package MindEase.Backend.nearesthospitals;
+
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded, TTL-expiring cache of hospital results keyed by geohash cell.
+ * Concurrent misses for the same cell share a single in-flight upstream call
+ * instead of each hitting the Places API. Its counts are published by HospitalCacheMetrics.
+ */
+public class HospitalCache {
+
+    private record Entry(List<HospitalDTO> hospitals, long expiresAt) {}
+
+    private final long ttlMillis;
+    private final Clock clock;
+    private final Map<String, Entry> entries;
+    private final Map<String, CompletableFuture<List<HospitalDTO>>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong puts = new AtomicLong();
+
+    public HospitalCache(int maxEntries, long ttlMillis, Clock clock) {
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        // Access-ordered map so the least recently used cell is evicted first
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // Each caller gets its own copy, so one caller's timeout cannot fail the shared load
+    public CompletableFuture<List<HospitalDTO>> get(String cell, Supplier<CompletableFuture<List<HospitalDTO>>> loader) {
+        List<HospitalDTO> cached = lookup(cell);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<List<HospitalDTO>> mine = new CompletableFuture<>();
+        CompletableFuture<List<HospitalDTO>> existing = inFlight.putIfAbsent(cell, mine);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return existing.copy();
+        }
+
+        // Another caller may have finished loading between our lookup and claiming the slot
+        List<HospitalDTO> loaded = lookup(cell);
+        if (loaded != null) {
+            hits.incrementAndGet();
+            inFlight.remove(cell, mine);
+            mine.complete(loaded);
+            return mine.copy();
+        }
+
+        misses.incrementAndGet();
+        CompletableFuture<List<HospitalDTO>> upstream;
+        try {
+            upstream = loader.get();
+        } catch (RuntimeException e) {
+            inFlight.remove(cell, mine);
+            mine.completeExceptionally(e);
+            return mine.copy();
+        }
+
+        upstream.whenComplete((hospitals, error) -> {
+            List<HospitalDTO> result = null;
+            if (error == null) {
+                result = List.copyOf(hospitals);
+                store(cell, result);
+            }
+            inFlight.remove(cell, mine);
+            if (error == null) {
+                mine.complete(result);
+            } else {
+                mine.completeExceptionally(error);
+            }
+        });
+        return mine.copy();
+    }
+
+    long hitCount() {
+        return hits.get();
+    }
+
+    long missCount() {
+        return misses.get();
+    }
+
+    long coalescedCount() {
+        return coalesced.get();
+    }
+
+    long evictionCount() {
+        return evictions.get();
+    }
+
+    long putCount() {
+        return puts.get();
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private List<HospitalDTO> lookup(String cell) {
+        synchronized (entries) {
+            Entry entry = entries.get(cell);
+            if (entry == null) return null;
+            if (entry.expiresAt() <= clock.millis()) {
+                entries.remove(cell);
+                return null;
+            }
+            return entry.hospitals();
+        }
+    }
+
+    private void store(String cell, List<HospitalDTO> hospitals) {
+        synchronized (entries) {
+            entries.put(cell, new Entry(hospitals, clock.millis() + ttlMillis));
+        }
+        puts.incrementAndGet();
+    }
+}
@@ -0,0 +1,64 @@
+package MindEase.Backend.nearesthospitals;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * Publishes HospitalCache under Micrometer's standard cache meters (cache.gets, cache.puts,
+ * cache.evictions, cache.size) tagged cache=hospitals. Misses that joined another caller's
+ * in-flight load are counted as cache.gets with result=coalesced.
+ */
+class HospitalCacheMetrics extends CacheMeterBinder<HospitalCache> {
+
+    HospitalCacheMetrics(HospitalCache cache) {
+        super(cache, "hospitals", Tags.empty());
+    }
+
+    @Override
+    protected Long size() {
+        HospitalCache cache = getCache();
+        return cache == null ? null : (long) cache.size();
+    }
+
+    @Override
+    protected long hitCount() {
+        HospitalCache cache = getCache();
+        return cache == null ? 0 : cache.hitCount();
+    }
+
+    @Override
+    protected Long missCount() {
+        HospitalCache cache = getCache();
+        return cache == null ? null : cache.missCount();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        HospitalCache cache = getCache();
+        return cache == null ? null : cache.evictionCount();
+    }
+
+    @Override
+    protected long putCount() {
+        HospitalCache cache = getCache();
+        return cache == null ? 0 : cache.putCount();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        HospitalCache cache = getCache();
+        if (cache == null) return;
+        FunctionCounter.builder("cache.gets", cache, HospitalCache::coalescedCount)
+            .description("Misses that waited on a load another caller had already started")
+            .tags(getTagsWithCacheName())
+            .tag("result", "coalesced")
+            .register(registry);
+        Gauge.builder("cache.loads.in.flight", cache, HospitalCache::inFlightCount)
+            .description("Places lookups currently loading a cell")
+            .tags(getTagsWithCacheName())
+            .register(registry);
+    }
+}
@@ -1,14 +1,20 @@
 package MindEase.Backend.nearesthospitals;
 
 
+import MindEase.Backend.exception.ServiceBusyException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 
 @RestController
 @RequestMapping("/api")
@@ -17,10 +23,26 @@ public class HospitalController {
     @Autowired
     private HospitalService hospitalService;
 
+    // Returned as a future so the servlet thread is released while Places is queried
     @PostMapping("/nearby-hospitals")
-    public ResponseEntity<List<HospitalDTO>> getNearbyHospitals(@RequestBody LocationDTO location) {
-        List<HospitalDTO> hospitals = hospitalService.findNearbyHospitals(location.getLatitude(), location.getLongitude());
-        return ResponseEntity.ok(hospitals);
+    public CompletableFuture<ResponseEntity<?>> getNearbyHospitals(@RequestBody LocationDTO location) {
+        return hospitalService.findNearbyHospitals(location.getLatitude(), location.getLongitude())
+            .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+            .exceptionally(this::toErrorResponse);
     }
-}
 
+    private ResponseEntity<?> toErrorResponse(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof ServiceBusyException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", cause.getMessage()));
+        }
+        if (cause instanceof TimeoutException) {
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(Map.of("error", "Hospital lookup timed out"));
+        }
+        return ResponseEntity.internalServerError()
+            .body(Map.of("error", "Error finding nearby hospitals"));
+    }
+}
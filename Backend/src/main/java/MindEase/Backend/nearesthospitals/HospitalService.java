@@ -1,52 +1,77 @@
 package MindEase.Backend.nearesthospitals;
 
-import com.google.maps.GeoApiContext;
-import com.google.maps.PlacesApi;
-import com.google.maps.model.LatLng;
-import com.google.maps.model.PlaceType;
-import com.google.maps.model.PlacesSearchResponse;
-import com.google.maps.model.PlacesSearchResult;
-import jakarta.annotation.PostConstruct;
+import MindEase.Backend.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.Arrays;
+import java.time.Clock;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class HospitalService {
 
-    private GeoApiContext context;
+    private final PlacesClient placesClient;
+    private final HospitalCache cache;
+    private final int geohashPrecision;
+    private final Semaphore upstreamPermits;
+    private final long timeoutMillis;
 
-    @PostConstruct
-    public void init() {
-        // Initialize the Google Maps API context
-        context = new GeoApiContext.Builder()
-                .apiKey("GOOGLE_MAPS_API_KEY") // Replace with your actual Google Maps API key
-                .build();
+    @Autowired
+    public HospitalService(
+            PlacesClient placesClient,
+            MeterRegistry registry,
+            @Value("${hospitals.cache.max-entries:10000}") int maxEntries,
+            @Value("${hospitals.cache.ttl-seconds:900}") long ttlSeconds,
+            @Value("${hospitals.cache.geohash-precision:6}") int geohashPrecision,
+            @Value("${hospitals.upstream.max-concurrent:32}") int maxConcurrent,
+            @Value("${hospitals.upstream.timeout-ms:3000}") long timeoutMillis
+    ) {
+        this(placesClient, registry, new HospitalCache(maxEntries, ttlSeconds * 1000, Clock.systemUTC()),
+            geohashPrecision, maxConcurrent, timeoutMillis);
     }
 
-    public List<HospitalDTO> findNearbyHospitals(double latitude, double longitude) {
-        try {
-            PlacesSearchResponse response = PlacesApi.nearbySearchQuery(context, new LatLng(latitude, longitude))
-                    .radius(5000) // 5km radius
-                    .type(PlaceType.HOSPITAL)
-                    .keyword("mental health")
-                    .await();
-
-            return Arrays.stream(response.results)
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            throw new RuntimeException("Error finding nearby hospitals", e);
-        }
+    HospitalService(PlacesClient placesClient, MeterRegistry registry, HospitalCache cache, int geohashPrecision,
+                    int maxConcurrent, long timeoutMillis) {
+        this.placesClient = placesClient;
+        this.cache = cache;
+        this.geohashPrecision = geohashPrecision;
+        this.upstreamPermits = new Semaphore(maxConcurrent);
+        this.timeoutMillis = timeoutMillis;
+        new HospitalCacheMetrics(cache).bindTo(registry);
+        Gauge.builder("hospitals.upstream.permits.available", upstreamPermits, Semaphore::availablePermits)
+            .description("Places calls that can still be started before lookups are refused")
+            .register(registry);
+    }
+
+    public CompletableFuture<List<HospitalDTO>> findNearbyHospitals(double latitude, double longitude) {
+        // Users in the same cell (~1km at precision 6) share one lookup made from the cell center
+        String cell = Geohash.encode(latitude, longitude, geohashPrecision);
+        return cache.get(cell, () -> callUpstream(cell))
+            .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
     }
 
-    private HospitalDTO convertToDTO(PlacesSearchResult result) {
-        return new HospitalDTO(
-                result.name,
-                result.geometry.location.lat,
-                result.geometry.location.lng,
-                result.vicinity);
+    // Bounded so a slow Places API cannot pile up unlimited pending calls
+    private CompletableFuture<List<HospitalDTO>> callUpstream(String cell) {
+        if (!upstreamPermits.tryAcquire()) {
+            throw new ServiceBusyException("Too many hospital lookups in progress, please try again shortly");
+        }
+        double[] center = Geohash.decodeCenter(cell);
+        CompletableFuture<List<HospitalDTO>> upstream;
+        try {
+            upstream = placesClient.searchHospitals(center[0], center[1]);
+        } catch (RuntimeException e) {
+            upstreamPermits.release();
+            throw e;
+        }
+        // The permit follows the Places call itself: one we stopped waiting for is still in flight
+        upstream.whenComplete((hospitals, error) -> upstreamPermits.release());
+        // orTimeout completes the future it is called on, so time out a copy and leave upstream running
+        return upstream.copy().orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,10 @@
+package MindEase.Backend.nearesthospitals;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// Upstream lookup for hospitals around a point, split out so the cache can be tested against a stub
+public interface PlacesClient {
+    // Completes on the client's own callback thread, never blocking a servlet thread
+    CompletableFuture<List<HospitalDTO>> searchHospitals(double latitude, double longitude);
+}
@@ -0,0 +1,237 @@
+package MindEase.Backend.ratelimit;
+
+import MindEase.Backend.security.AuthenticatedPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Token-bucket limits on the endpoints that cost the most per call: the logins and
+ * registrations (BCrypt) and the nearby-hospitals lookup (paid Places calls).
+ * Logins are limited per client IP and per target username, registrations per IP,
+ * and hospital lookups per signed-in principal, or per IP for anonymous callers.
+ * The anonymous username-available check is limited per IP so it cannot be used to
+ * enumerate accounts at speed.
+ * Over the limit the call is answered 429 with Retry-After, before any work is done.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> LOGIN_PATHS = Set.of("/api/users/login", "/api/volunteers/login", "/api/admin/login");
+    private static final Set<String> REGISTER_PATHS = Set.of("/api/users/register", "/api/volunteers/register");
+    private static final String HOSPITALS_PATH = "/api/nearby-hospitals";
+    private static final String USERNAME_CHECK_PATH = "/api/users/username-available";
+    // Login bodies are tiny; anything larger is refused before it reaches BCrypt
+    private static final int MAX_LOGIN_BODY_BYTES = 8 * 1024;
+
+    private final boolean enabled;
+    private final TokenBucketRateLimiter loginByClient;
+    private final TokenBucketRateLimiter loginByUsername;
+    private final TokenBucketRateLimiter registerByClient;
+    private final TokenBucketRateLimiter hospitalsByCaller;
+    private final TokenBucketRateLimiter usernameCheckByClient;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry registry;
+
+    public RateLimitFilter(
+            ObjectMapper objectMapper,
+            MeterRegistry registry,
+            @Value("${ratelimit.enabled:true}") boolean enabled,
+            @Value("${ratelimit.max-keys:100000}") int maxKeys,
+            @Value("${ratelimit.login.capacity:10}") int loginCapacity,
+            @Value("${ratelimit.login.refill-per-minute:10}") double loginRefill,
+            @Value("${ratelimit.login-username.capacity:5}") int usernameCapacity,
+            @Value("${ratelimit.login-username.refill-per-minute:5}") double usernameRefill,
+            @Value("${ratelimit.register.capacity:5}") int registerCapacity,
+            @Value("${ratelimit.register.refill-per-minute:5}") double registerRefill,
+            @Value("${ratelimit.hospitals.capacity:30}") int hospitalsCapacity,
+            @Value("${ratelimit.hospitals.refill-per-minute:30}") double hospitalsRefill,
+            @Value("${ratelimit.username-check.capacity:30}") int usernameCheckCapacity,
+            @Value("${ratelimit.username-check.refill-per-minute:60}") double usernameCheckRefill
+    ) {
+        this.objectMapper = objectMapper;
+        this.registry = registry;
+        this.enabled = enabled;
+        this.loginByClient = new TokenBucketRateLimiter(loginCapacity, loginRefill, maxKeys);
+        this.loginByUsername = new TokenBucketRateLimiter(usernameCapacity, usernameRefill, maxKeys);
+        this.registerByClient = new TokenBucketRateLimiter(registerCapacity, registerRefill, maxKeys);
+        this.hospitalsByCaller = new TokenBucketRateLimiter(hospitalsCapacity, hospitalsRefill, maxKeys);
+        this.usernameCheckByClient = new TokenBucketRateLimiter(usernameCheckCapacity, usernameCheckRefill, maxKeys);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled) return true;
+        if ("GET".equals(request.getMethod())) return !USERNAME_CHECK_PATH.equals(request.getRequestURI());
+        return !"POST".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI();
+        long wait = 0;
+        String limit = null;
+
+        if (USERNAME_CHECK_PATH.equals(path)) {
+            limit = "username-check";
+            wait = usernameCheckByClient.tryAcquire(request.getRemoteAddr());
+        } else if (LOGIN_PATHS.contains(path)) {
+            limit = "login";
+            wait = loginByClient.tryAcquire(path + "|" + request.getRemoteAddr());
+            if (wait == 0) {
+                // Bounded whatever Content-Length says, chunked bodies do not declare one
+                byte[] body = request.getInputStream().readNBytes(MAX_LOGIN_BODY_BYTES + 1);
+                if (body.length > MAX_LOGIN_BODY_BYTES) {
+                    writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, "Login request is too large");
+                    return;
+                }
+                request = new CachedBodyRequest(request, body);
+                String username = username(body);
+                if (username != null) {
+                    limit = "login-username";
+                    wait = loginByUsername.tryAcquire(path + "|" + username.toLowerCase(Locale.ROOT));
+                }
+            }
+        } else if (REGISTER_PATHS.contains(path)) {
+            limit = "register";
+            wait = registerByClient.tryAcquire(path + "|" + request.getRemoteAddr());
+        } else if (HOSPITALS_PATH.equals(path)) {
+            limit = "hospitals";
+            wait = hospitalsByCaller.tryAcquire(caller(request));
+        }
+
+        if (wait > 0) {
+            rejected(limit).increment();
+            long retryAfterSeconds = Math.max(1, (wait + 999_999_999) / 1_000_000_000);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            writeError(response, HttpStatus.TOO_MANY_REQUESTS, "Too many requests, try again later");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private static void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
+
+    @Scheduled(fixedDelayString = "${ratelimit.evict-interval-ms:60000}")
+    public void evictIdle() {
+        loginByClient.evictIdle();
+        loginByUsername.evictIdle();
+        registerByClient.evictIdle();
+        hospitalsByCaller.evictIdle();
+        usernameCheckByClient.evictIdle();
+    }
+
+    private Counter rejected(String limit) {
+        return Counter.builder("ratelimit.rejected")
+            .description("Requests answered 429 by the rate limiter")
+            .tag("limit", limit)
+            .register(registry);
+    }
+
+    private String username(byte[] body) {
+        try {
+            String username = objectMapper.readTree(body).path("username").asText(null);
+            return username == null || username.isBlank() ? null : username.trim();
+        } catch (IOException e) {
+            // Malformed bodies are rejected by the controller; the IP limit already applied
+            return null;
+        }
+    }
+
+    // Runs after the token filter, so a signed-in caller is limited as themselves wherever they connect from
+    private static String caller(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedPrincipal principal) {
+            return principal.role() + ":" + principal.id();
+        }
+        return request.getRemoteAddr();
+    }
+
+    // Replays a body that was read to find the username
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The whole body is already in memory, so non-blocking readers are told at once
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
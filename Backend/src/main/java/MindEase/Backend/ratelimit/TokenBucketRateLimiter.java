@@ -0,0 +1,94 @@
+package MindEase.Backend.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket per key, kept as a single timestamp: the time at which the bucket
+ * would be full again (GCRA). Each acquire is one CAS on that key's AtomicLong, so
+ * callers never block each other, and a bucket that has refilled carries no state
+ * at all, which is what lets evictIdle() drop it. Once maxKeys keys are active,
+ * further keys share one overflow bucket instead of growing the map.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int maxKeys;
+    private final LongSupplier nanoTime;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong overflow;
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private volatile long lastSweep;
+
+    public TokenBucketRateLimiter(int capacity, double refillPerMinute, int maxKeys) {
+        this(capacity, refillPerMinute, maxKeys, System::nanoTime);
+    }
+
+    public TokenBucketRateLimiter(int capacity, double refillPerMinute, int maxKeys, LongSupplier nanoTime) {
+        if (capacity < 1 || refillPerMinute <= 0 || maxKeys < 1) {
+            throw new IllegalArgumentException("capacity, refill rate and maxKeys must be positive");
+        }
+        this.intervalNanos = (long) (60_000_000_000L / refillPerMinute);
+        this.burstNanos = intervalNanos * capacity;
+        this.maxKeys = maxKeys;
+        this.nanoTime = nanoTime;
+        long now = nanoTime.getAsLong();
+        this.overflow = new AtomicLong(now);
+        this.lastSweep = now;
+    }
+
+    /**
+     * Takes one token from the key's bucket. Returns 0 when the call is allowed,
+     * otherwise the nanoseconds until a token will be available; nothing is taken then.
+     */
+    public long tryAcquire(String key) {
+        long now = nanoTime.getAsLong();
+        AtomicLong bucket = bucketFor(key, now);
+        while (true) {
+            long full = bucket.get();
+            long next = Math.max(full, now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) return wait;
+            if (bucket.compareAndSet(full, next)) return 0;
+        }
+    }
+
+    private AtomicLong bucketFor(String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) return bucket;
+        if (buckets.mappingCount() >= maxKeys) {
+            // At most one sweep per refill interval; a sweep sooner could hardly free anything more
+            if (now - lastSweep >= intervalNanos) evictIdle();
+            if (buckets.mappingCount() >= maxKeys) return overflow;
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    /**
+     * Drops every bucket that has refilled completely, since a new bucket would start
+     * in the same state. A caller racing the removal can get at most one extra token.
+     */
+    public int evictIdle() {
+        if (!sweeping.compareAndSet(false, true)) return 0;
+        try {
+            long now = nanoTime.getAsLong();
+            lastSweep = now;
+            int evicted = 0;
+            for (var entry : buckets.entrySet()) {
+                if (entry.getValue().get() <= now && buckets.remove(entry.getKey(), entry.getValue())) {
+                    evicted++;
+                }
+            }
+            return evicted;
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
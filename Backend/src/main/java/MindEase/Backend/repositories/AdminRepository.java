@@ -1,11 +1,20 @@
 package MindEase.Backend.repositories;
 
 import MindEase.Backend.entity.Admin;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
 public interface AdminRepository extends JpaRepository<Admin, Long> {
+
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "admins.by-username")
+    })
     Optional<Admin> findByUsername(String username);
+
     boolean existsByUsername(String username);
 }
\ No newline at end of file
@@ -1,15 +1,43 @@
-// repositories/AssessmentRepository.java
 package MindEase.Backend.repositories;
 
+import MindEase.Backend.dto.AssessmentListItem;
 import MindEase.Backend.entity.Assessment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
 import java.util.List;
 
 public interface AssessmentRepository extends JpaRepository<Assessment, Long> {
-    List<Assessment> findByUser_Id(Long userId);
+    String LIST_ITEM_SELECT =
+        "SELECT new MindEase.Backend.dto.AssessmentListItem(" +
+        "a.id, a.assessmentType, a.score, a.riskLevel, a.followUpDate, a.createdAt) FROM Assessment a ";
+
+    @Query("SELECT a FROM Assessment a WHERE a.user.id = :userId")
+    List<Assessment> findByUser_Id(@Param("userId") Long userId);
     
     @Query("SELECT a FROM Assessment a WHERE a.user.id = :userId ORDER BY a.createdAt DESC")
     List<Assessment> findAllByUserIdOrdered(@Param("userId") Long userId);
-}
\ No newline at end of file
+
+    @Query(LIST_ITEM_SELECT + "WHERE a.user.id = :userId ORDER BY a.createdAt DESC, a.id DESC")
+    List<AssessmentListItem> findListItemsByUserId(@Param("userId") Long userId);
+
+    // Newest first; "before" is the id of the last row of the previous page (null for the first page)
+    @Query(LIST_ITEM_SELECT + "WHERE a.user.id = :userId AND (:before IS NULL " +
+           "OR a.createdAt < (SELECT c.createdAt FROM Assessment c WHERE c.id = :before) " +
+           "OR (a.createdAt = (SELECT c.createdAt FROM Assessment c WHERE c.id = :before) AND a.id < :before)) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AssessmentListItem> findListItemsByUserIdBefore(
+        @Param("userId") Long userId, @Param("before") Long before, Pageable pageable);
+
+    // Keyset over the users that have assessments, for chunked rollup rebuilds
+    @Query("SELECT DISTINCT a.user.id FROM Assessment a WHERE a.user.id > :after ORDER BY a.user.id")
+    List<Long> findAssessedUserIdsAfter(@Param("after") long after, Pageable pageable);
+
+    // Only the columns the rollups need, never the suggestions JSON
+    @Query("SELECT a.user.id, a.assessmentType, a.score, a.riskLevel, a.createdAt FROM Assessment a " +
+           "WHERE a.user.id IN :userIds ORDER BY a.createdAt, a.id")
+    List<Object[]> findRollupRows(@Param("userIds") Collection<Long> userIds);
+}
@@ -0,0 +1,34 @@
+package MindEase.Backend.repositories;
+
+import MindEase.Backend.entity.AssessmentRollup;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface AssessmentRollupRepository extends JpaRepository<AssessmentRollup, AssessmentRollup.Key> {
+
+    List<AssessmentRollup> findByUserIdOrderByAssessmentType(Long userId);
+
+    // Creates an empty rollup unless the row exists, so there is always a row for findForUpdate to lock
+    @Modifying
+    @Query(value = "INSERT INTO assessment_rollups (user_id, assessment_type, assessment_count, score_sum) "
+        + "VALUES (:userId, :assessmentType, 0, 0) "
+        + "ON DUPLICATE KEY UPDATE assessment_count = assessment_count", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("assessmentType") String assessmentType);
+
+    // Serializes concurrent assessments of the same type for one user
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM AssessmentRollup r WHERE r.userId = :userId AND r.assessmentType = :assessmentType")
+    Optional<AssessmentRollup> findForUpdate(@Param("userId") Long userId, @Param("assessmentType") String assessmentType);
+
+    @Modifying
+    @Query("DELETE FROM AssessmentRollup r WHERE r.userId IN :userIds")
+    int deleteByUserIds(@Param("userIds") Collection<Long> userIds);
+}
@@ -0,0 +1,7 @@
+package MindEase.Backend.repositories;
+
+import MindEase.Backend.entity.ImportCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ImportCheckpointRepository extends JpaRepository<ImportCheckpoint, String> {
+}
@@ -0,0 +1,17 @@
+package MindEase.Backend.repositories;
+
+import MindEase.Backend.entity.ParsedRecommendation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface ParsedRecommendationRepository extends JpaRepository<ParsedRecommendation, String> {
+
+    // Retention: rows older than the cutoff are dropped and parsed again on their next use
+    @Modifying
+    @Query("DELETE FROM ParsedRecommendation p WHERE p.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,21 +1,67 @@
 // repositories/TodoTaskRepository.java
 package MindEase.Backend.repositories;
 
+import MindEase.Backend.dto.CollectionVersion;
 import MindEase.Backend.entity.TodoTask;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface TodoTaskRepository extends JpaRepository<TodoTask, Long> {
+    // Explicit queries filter on the user_id column; derived ones join users and miss the composite indexes
+    @Query("SELECT t FROM TodoTask t WHERE t.user.id = :userId AND t.scheduledDate BETWEEN :start AND :end " +
+           "ORDER BY t.scheduledDate")
     List<TodoTask> findByUserIdAndScheduledDateBetweenOrderByScheduledDateAsc(
-        Long userId, LocalDateTime start, LocalDateTime end);
-    
-    List<TodoTask> findByUserIdAndCategory(Long userId, TodoTask.TaskCategory category);
-    
-    List<TodoTask> findByUserIdAndSourceAssessmentId(Long userId, Long assessmentId);
+        @Param("userId") Long userId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // Version probe for the same rows, used for the ETag of the daily task list
+    @Query("SELECT new MindEase.Backend.dto.CollectionVersion(COUNT(t), SUM(t.id), SUM(t.version)) " +
+           "FROM TodoTask t WHERE t.user.id = :userId AND t.scheduledDate BETWEEN :start AND :end")
+    CollectionVersion findVersionByUserIdAndScheduledDateBetween(
+        @Param("userId") Long userId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT t FROM TodoTask t WHERE t.user.id = :userId AND t.category = :category")
+    List<TodoTask> findByUserIdAndCategory(@Param("userId") Long userId, @Param("category") TodoTask.TaskCategory category);
+
+    @Query("SELECT t FROM TodoTask t WHERE t.user.id = :userId AND t.sourceAssessmentId = :assessmentId")
+    List<TodoTask> findByUserIdAndSourceAssessmentId(@Param("userId") Long userId, @Param("assessmentId") Long assessmentId);
 
     @Query("SELECT t FROM TodoTask t WHERE t.user.id = :userId AND t.recurring = true")
     List<TodoTask> findRecurringTasksByUserId(@Param("userId") Long userId);
+
+    // Recurring templates in id order, paged by keyset for the materializer
+    @Query("SELECT t FROM TodoTask t WHERE t.recurring = true AND t.templateId IS NULL " +
+           "AND t.id > :after ORDER BY t.id")
+    List<TodoTask> findRecurringTemplatesAfter(@Param("after") Long after, Pageable pageable);
+
+    @Query("SELECT t.templateId, t.occurrenceDate FROM TodoTask t WHERE t.templateId IN :templateIds " +
+           "AND t.occurrenceDate BETWEEN :from AND :to")
+    List<Object[]> findOccurrences(
+        @Param("templateIds") Collection<Long> templateIds,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to
+    );
+
+    // Batch completion: locks the requested tasks whose flag actually changes, optionally limited to one owner
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id FROM TodoTask t WHERE t.id IN :ids AND t.completed <> :completed " +
+           "AND (:ownerId IS NULL OR t.user.id = :ownerId)")
+    List<Long> lockIdsToChange(
+        @Param("ids") Collection<Long> ids, @Param("completed") boolean completed, @Param("ownerId") Long ownerId);
+
+    // Bumps the version by hand, bulk updates skip @Version and the list ETags depend on it
+    @Modifying
+    @Query("UPDATE TodoTask t SET t.completed = :completed, t.version = t.version + 1 WHERE t.id IN :ids")
+    int updateCompleted(@Param("ids") Collection<Long> ids, @Param("completed") boolean completed);
+
+    @Query("SELECT t FROM TodoTask t WHERE t.id IN :ids AND t.recurring = true")
+    List<TodoTask> findRecurringByIdIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
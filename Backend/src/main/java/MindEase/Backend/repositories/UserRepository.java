@@ -1,31 +1,43 @@
 package MindEase.Backend.repositories;
 
+import MindEase.Backend.dto.UserSummary;
 import MindEase.Backend.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, Long> {
-    // Find user by username
+    // Find user by username; the resolved id is query-cached and the row comes from the users region
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "users.by-username")
+    })
     Optional<User> findByUsername(String username);
     
     // Check if username exists
     boolean existsByUsername(String username);
     
-    // Find users by location radius (in kilometers)
-    @Query(value = "SELECT * FROM user u WHERE " +
-           "(6371 * acos(cos(radians(:latitude)) * cos(radians(u.latitude)) * " +
-           "cos(radians(u.longitude) - radians(:longitude)) + " +
-           "sin(radians(:latitude)) * sin(radians(u.latitude)))) < :radius", 
-           nativeQuery = true)
-    List<User> findUsersWithinRadius(
-        @Param("latitude") Double latitude,
-        @Param("longitude") Double longitude,
-        @Param("radius") Double radiusInKm
-    );
+    // Id and coordinates of every located user, used to warm UserGeoIndex
+    @Query("SELECT u.id, u.latitude, u.longitude FROM User u " +
+           "WHERE u.latitude IS NOT NULL AND u.longitude IS NOT NULL")
+    Stream<Object[]> streamLocations();
+
+    // Id and username of every user, used to load UniquenessFilter and DirectorySearchIndex
+    @Query("SELECT u.id, u.username FROM User u")
+    Stream<Object[]> streamIdentities();
+    
+    // Id and username of the users among the given names, one IN query per bulk import chunk
+    @Query("SELECT u.id, u.username FROM User u WHERE u.username IN :usernames")
+    List<Object[]> findIdentitiesByUsernameIn(@Param("usernames") Collection<String> usernames);
     
     // Find users with recent assessments
     @Query("SELECT DISTINCT u FROM User u JOIN u.assessments a WHERE a.followUpDate >= CURRENT_DATE")
@@ -35,6 +47,36 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT DISTINCT u FROM User u JOIN u.todoTasks t WHERE t.completed = false")
     List<User> findUsersWithPendingTasks();
     
-    // Search users by username pattern
-    List<User> findByUsernameContainingIgnoreCase(String usernamePattern);
+    // Search users by username pattern; DirectorySearchIndex serves this once warmed
+    List<User> findByUsernameContainingIgnoreCase(String usernamePattern, Pageable pageable);
+
+    // Admin listing projections: counts are computed in SQL so no lazy collections are touched
+    String SUMMARY_SELECT = "SELECT new MindEase.Backend.dto.UserSummary(" +
+           "u.id, u.username, u.createdAt, u.latitude, u.longitude, " +
+           "(SELECT COUNT(a) FROM Assessment a WHERE a.user = u), " +
+           "(SELECT COUNT(t) FROM TodoTask t WHERE t.user = u)) FROM User u ";
+
+    @Query(SUMMARY_SELECT + "ORDER BY u.id")
+    List<UserSummary> findAllSummaries();
+
+    @Query(SUMMARY_SELECT + "WHERE u.id = :id")
+    Optional<UserSummary> findSummaryById(@Param("id") Long id);
+
+    // Hydrates the ids UserGeoIndex matched, in no particular order
+    @Query(SUMMARY_SELECT + "WHERE u.id IN :ids")
+    List<UserSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Keyset pages: "after" is the id of the last row of the previous page (null for the first page)
+    @Query(SUMMARY_SELECT + "WHERE (:after IS NULL OR u.id > :after) ORDER BY u.id")
+    List<UserSummary> findSummariesOrderById(@Param("after") Long after, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE (:after IS NULL OR u.username > " +
+           "(SELECT c.username FROM User c WHERE c.id = :after)) ORDER BY u.username")
+    List<UserSummary> findSummariesOrderByUsername(@Param("after") Long after, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE (:after IS NULL " +
+           "OR u.createdAt > (SELECT c.createdAt FROM User c WHERE c.id = :after) " +
+           "OR (u.createdAt = (SELECT c.createdAt FROM User c WHERE c.id = :after) AND u.id > :after)) " +
+           "ORDER BY u.createdAt, u.id")
+    List<UserSummary> findSummariesOrderByCreatedAt(@Param("after") Long after, Pageable pageable);
 }
\ No newline at end of file
@@ -1,15 +1,28 @@
 // MindEase.Backend.repositories.VolunteerRepository.java
 package MindEase.Backend.repositories;
 
+import MindEase.Backend.dto.CollectionVersion;
 import MindEase.Backend.entity.Volunteer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface VolunteerRepository extends JpaRepository<Volunteer, Long> {
     
+    // Query-cached; approve/reject update the volunteers table, which invalidates it
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "volunteers.by-username")
+    })
     Optional<Volunteer> findByUsername(String username);
     
     Optional<Volunteer> findByEmail(String email);
@@ -17,10 +30,30 @@ public interface VolunteerRepository extends JpaRepository<Volunteer, Long> {
     boolean existsByUsername(String username);
     
     boolean existsByEmail(String email);
+
+    // Which of the given usernames and emails are taken, one IN query each per bulk import chunk
+    @Query("SELECT v.username FROM Volunteer v WHERE v.username IN :usernames")
+    List<String> findUsernamesByUsernameIn(@Param("usernames") Collection<String> usernames);
+
+    @Query("SELECT v.email FROM Volunteer v WHERE v.email IN :emails")
+    List<String> findEmailsByEmailIn(@Param("emails") Collection<String> emails);
+
+    // Id, username, full name and email of every volunteer, used to load UniquenessFilter and DirectorySearchIndex
+    @Query("SELECT v.id, v.username, v.fullName, v.email FROM Volunteer v")
+    Stream<Object[]> streamIdentities();
+
+    // Search by username, name or email; DirectorySearchIndex serves this once warmed
+    List<Volunteer> findByUsernameContainingIgnoreCaseOrFullNameContainingIgnoreCaseOrEmailContainingIgnoreCase(
+        String username, String fullName, String email, Pageable pageable);
     
     List<Volunteer> findByApproved(Boolean approved);
     
     List<Volunteer> findByApprovedAndActive(Boolean approved, Boolean active);
+
+    // Version probe for findByApprovedAndActive, used for the ETag of the volunteer directory
+    @Query("SELECT new MindEase.Backend.dto.CollectionVersion(COUNT(v), SUM(v.id), SUM(v.version)) " +
+           "FROM Volunteer v WHERE v.approved = :approved AND v.active = :active")
+    CollectionVersion findVersionByApprovedAndActive(@Param("approved") Boolean approved, @Param("active") Boolean active);
     
     @Query("SELECT v FROM Volunteer v WHERE v.approved = false ORDER BY v.createdAt DESC")
     List<Volunteer> findPendingVolunteers();
@@ -0,0 +1,158 @@
+package MindEase.Backend.search;
+
+import MindEase.Backend.dto.UserSearchHit;
+import MindEase.Backend.dto.VolunteerSearchHit;
+import MindEase.Backend.entity.User;
+import MindEase.Backend.entity.Volunteer;
+import MindEase.Backend.repositories.UserRepository;
+import MindEase.Backend.repositories.VolunteerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Trigram indexes over user usernames and over volunteer usernames, names and emails,
+ * serving the admin typeahead without the full-table LIKE scans the repository queries
+ * need. Until the indexes are warmed at startup, searches go to those queries instead.
+ * Changes are applied once their transaction commits, so a rollback leaves no trace.
+ * The indexes are rebuilt from the tables every search.index.reload-interval-ms, which
+ * picks up rows written by other instances or straight through JDBC.
+ */
+@Component
+public class DirectorySearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(DirectorySearchIndex.class);
+
+    private volatile TrigramIndex users = new TrigramIndex();
+    private volatile TrigramIndex volunteers = new TrigramIndex();
+    // Changes committed while a rebuild streams the tables, replayed onto the new indexes; null when idle
+    private List<Runnable> changedWhileRebuilding;
+    private final UserRepository userRepository;
+    private final VolunteerRepository volunteerRepository;
+    private volatile boolean warm;
+
+    public DirectorySearchIndex(UserRepository userRepository, VolunteerRepository volunteerRepository) {
+        this.userRepository = userRepository;
+        this.volunteerRepository = volunteerRepository;
+    }
+
+    // Searches keep using the current indexes until the new ones are swapped in
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${search.index.reload-interval-ms:300000}",
+               fixedDelayString = "${search.index.reload-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        synchronized (this) {
+            changedWhileRebuilding = new ArrayList<>();
+        }
+        TrigramIndex newUsers = new TrigramIndex();
+        TrigramIndex newVolunteers = new TrigramIndex();
+        try {
+            try (Stream<Object[]> rows = userRepository.streamIdentities()) {
+                rows.forEach(row -> newUsers.put((Long) row[0], (String) row[1]));
+            }
+            try (Stream<Object[]> rows = volunteerRepository.streamIdentities()) {
+                rows.forEach(row -> newVolunteers.put((Long) row[0], (String) row[1], (String) row[2], (String) row[3]));
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changedWhileRebuilding = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            users = newUsers;
+            volunteers = newVolunteers;
+            // The streams may have read a row before a change to it committed
+            changedWhileRebuilding.forEach(Runnable::run);
+            changedWhileRebuilding = null;
+        }
+        if (!warm) {
+            warm = true;
+            logger.info("Directory search index warmed with {} users and {} volunteers", users.size(), volunteers.size());
+        }
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    @Transactional(readOnly = true)
+    public List<UserSearchHit> searchUsers(String query, int limit) {
+        if (warm) {
+            return users.search(query, limit).stream()
+                .map(m -> new UserSearchHit(m.id(), m.fields().get(0)))
+                .toList();
+        }
+        return userRepository.findByUsernameContainingIgnoreCase(query.strip(), PageRequest.of(0, limit, Sort.by("username")))
+            .stream()
+            .map(u -> new UserSearchHit(u.getId(), u.getUsername()))
+            .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<VolunteerSearchHit> searchVolunteers(String query, int limit) {
+        if (warm) {
+            return volunteers.search(query, limit).stream()
+                .map(m -> new VolunteerSearchHit(m.id(), m.fields().get(0), m.fields().get(1), m.fields().get(2)))
+                .toList();
+        }
+        String q = query.strip();
+        return volunteerRepository
+            .findByUsernameContainingIgnoreCaseOrFullNameContainingIgnoreCaseOrEmailContainingIgnoreCase(
+                q, q, q, PageRequest.of(0, limit, Sort.by("username")))
+            .stream()
+            .map(v -> new VolunteerSearchHit(v.getId(), v.getUsername(), v.getFullName(), v.getEmail()))
+            .toList();
+    }
+
+    public void userSaved(User user) {
+        long id = user.getId();
+        String username = user.getUsername();
+        afterCommit(() -> users.put(id, username));
+    }
+
+    public void volunteerSaved(Volunteer volunteer) {
+        long id = volunteer.getId();
+        String username = volunteer.getUsername();
+        String fullName = volunteer.getFullName();
+        String email = volunteer.getEmail();
+        afterCommit(() -> volunteers.put(id, username, fullName, email));
+    }
+
+    public void volunteerDeleted(long id) {
+        afterCommit(() -> volunteers.remove(id));
+    }
+
+    // Changes read the index fields when they run, so a replay lands on the rebuilt indexes
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+    private synchronized void apply(Runnable change) {
+        change.run();
+        if (changedWhileRebuilding != null) {
+            changedWhileRebuilding.add(change);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package MindEase.Backend.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Case- and accent-insensitive substring search over documents made of a few short
+ * fields. Every trigram of a document maps to a posting list of document slots, kept
+ * as a sorted int array, so a query of three or more characters intersects one list
+ * per trigram and only verifies the survivors. Shorter queries scan the live documents,
+ * which are held in memory anyway. Results are ranked: a field starting with the query
+ * first, then a match at a word boundary, then anywhere; earlier and shorter fields win ties.
+ * <p>
+ * Removing or replacing a document leaves a dead slot behind, and the index is rebuilt
+ * from the live documents once dead slots outnumber them.
+ */
+public class TrigramIndex {
+
+    public record Match(long id, List<String> fields) {}
+
+    private record Ranked(long score, long id, int slot) {}
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    // Fields are indexed joined by this, so no trigram of a query spans two fields
+    private static final char FIELD_SEPARATOR = '\u0000';
+    private static final int MIN_DEAD_SLOTS_TO_COMPACT = 1024;
+    private static final Comparator<Ranked> WORST_FIRST =
+        Comparator.comparingLong(Ranked::score).thenComparingLong(Ranked::id).reversed();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private Map<Long, IntList> postings = new HashMap<>();
+    private long[] ids = new long[64];
+    private String[][] fields = new String[64][];
+    private String[][] foldedFields = new String[64][];
+    private int slots;
+
+    /** Adds the document, or replaces the one with the same id. Null fields are indexed as empty. */
+    public void put(long id, String... values) {
+        String[] original = new String[values.length];
+        String[] folded = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            original[i] = values[i] == null ? "" : values[i];
+            folded[i] = fold(original[i]);
+        }
+        lock.writeLock().lock();
+        try {
+            Integer existing = slotById.get(id);
+            if (existing != null) {
+                if (Arrays.equals(foldedFields[existing], folded)) {
+                    fields[existing] = original;
+                    return;
+                }
+                live.clear(existing);
+            }
+            slotById.put(id, append(id, original, folded));
+            compactIfMostlyDead();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.remove(id);
+            if (slot != null) {
+                live.clear(slot);
+                compactIfMostlyDead();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** The best {@code limit} documents with a field containing {@code query}. */
+    public List<Match> search(String query, int limit) {
+        String q = fold(query).replace(String.valueOf(FIELD_SEPARATOR), "");
+        if (q.isEmpty() || limit <= 0) return List.of();
+
+        lock.readLock().lock();
+        try {
+            PriorityQueue<Ranked> best = new PriorityQueue<>(WORST_FIRST);
+            if (q.length() < 3) {
+                for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+                    offer(best, slot, q, limit);
+                }
+            } else {
+                int[] candidates = candidates(q);
+                for (int slot : candidates) {
+                    if (live.get(slot)) offer(best, slot, q, limit);
+                }
+            }
+
+            List<Match> matches = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                int slot = best.poll().slot();
+                matches.add(new Match(ids[slot], List.of(fields[slot])));
+            }
+            Collections.reverse(matches);
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Slots holding every trigram of the query, intersected starting from the rarest
+    private int[] candidates(String q) {
+        List<IntList> lists = new ArrayList<>();
+        for (int i = 0; i + 3 <= q.length(); i++) {
+            IntList list = postings.get(trigram(q, i));
+            if (list == null) return new int[0];
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+
+        int[] result = Arrays.copyOf(lists.get(0).values, lists.get(0).size);
+        int size = result.length;
+        for (int l = 1; l < lists.size() && size > 0; l++) {
+            IntList other = lists.get(l);
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < size; i++) {
+                int found = Arrays.binarySearch(other.values, from, other.size, result[i]);
+                if (found >= 0) {
+                    result[kept++] = result[i];
+                    from = found + 1;
+                } else {
+                    from = -found - 1;
+                }
+            }
+            size = kept;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    // Trigrams only narrow the candidates, so the substring is checked here as the document is ranked
+    private void offer(PriorityQueue<Ranked> best, int slot, String q, int limit) {
+        long score = Long.MAX_VALUE;
+        for (String field : foldedFields[slot]) {
+            int at = field.indexOf(q);
+            if (at < 0) continue;
+            int kind = at == 0 ? 0 : Character.isLetterOrDigit(field.charAt(at - 1)) ? 2 : 1;
+            score = Math.min(score, ((long) kind << 42) | ((long) Math.min(at, 0x1FFFFF) << 21) | Math.min(field.length(), 0x1FFFFF));
+        }
+        if (score == Long.MAX_VALUE) return;
+        Ranked ranked = new Ranked(score, ids[slot], slot);
+        if (best.size() < limit) {
+            best.add(ranked);
+        } else if (WORST_FIRST.compare(ranked, best.peek()) > 0) {
+            best.poll();
+            best.add(ranked);
+        }
+    }
+
+    private int append(long id, String[] original, String[] folded) {
+        int slot = slots++;
+        if (slot == ids.length) {
+            int capacity = slot * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            fields = Arrays.copyOf(fields, capacity);
+            foldedFields = Arrays.copyOf(foldedFields, capacity);
+        }
+        ids[slot] = id;
+        fields[slot] = original;
+        foldedFields[slot] = folded;
+        live.set(slot);
+
+        String text = String.join(String.valueOf(FIELD_SEPARATOR), folded);
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            IntList list = postings.computeIfAbsent(trigram(text, i), k -> new IntList());
+            // Slots only grow, so a trigram repeated within this document is already last in the list
+            if (list.size == 0 || list.values[list.size - 1] != slot) list.add(slot);
+        }
+        return slot;
+    }
+
+    private void compactIfMostlyDead() {
+        int dead = slots - slotById.size();
+        if (dead < MIN_DEAD_SLOTS_TO_COMPACT || dead <= slotById.size()) return;
+
+        long[] oldIds = ids;
+        String[][] oldFields = fields;
+        String[][] oldFolded = foldedFields;
+        int oldSlots = slots;
+        BitSet oldLive = (BitSet) live.clone();
+
+        int capacity = Math.max(64, Integer.highestOneBit(Math.max(1, slotById.size())) * 2);
+        ids = new long[capacity];
+        fields = new String[capacity][];
+        foldedFields = new String[capacity][];
+        postings = new HashMap<>();
+        live.clear();
+        slots = 0;
+        for (int slot = oldLive.nextSetBit(0); slot >= 0 && slot < oldSlots; slot = oldLive.nextSetBit(slot + 1)) {
+            slotById.put(oldIds[slot], append(oldIds[slot], oldFields[slot], oldFolded[slot]));
+        }
+    }
+
+    private static long trigram(String text, int at) {
+        return ((long) text.charAt(at) << 32) | ((long) text.charAt(at + 1) << 16) | text.charAt(at + 2);
+    }
+
+    static String fold(String value) {
+        return MARKS.matcher(Normalizer.normalize(value.strip(), Normalizer.Form.NFKD)).replaceAll("")
+            .toLowerCase(Locale.ROOT);
+    }
+
+    // Growable int array, so posting lists hold no boxed Integers
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package MindEase.Backend.security;
+
+// Identity carried inside a signed token: USER, VOLUNTEER or ADMIN plus the account id
+public record AuthenticatedPrincipal(String role, Long id, String username, long expiresAtEpochSecond) {
+
+    public boolean isExpired(long nowEpochSecond) {
+        return expiresAtEpochSecond <= nowEpochSecond;
+    }
+
+    // The only user whose rows the caller may touch: itself for USER tokens, null (anyone) otherwise
+    public static Long ownerScope(AuthenticatedPrincipal principal) {
+        return principal != null && "USER".equals(principal.role()) ? principal.id() : null;
+    }
+}
@@ -0,0 +1,105 @@
+package MindEase.Backend.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Authenticates /api requests from a Bearer token without touching the
+ * database, and stops USER principals from reading another user's data
+ * through a {userId} path variable. Endpoints that address a row by its own id
+ * check the owner where they load it, see {@link AuthenticatedPrincipal#ownerScope}.
+ */
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    // Paths whose {userId} must match the caller when the caller is a plain user
+    private static final List<String> USER_SCOPED_PATHS = List.of(
+        "/api/todos/user/{userId}/**",
+        "/api/assessments/user/{userId}",
+        "/api/assessments/user/{userId}/**",
+        "/api/users/{userId}",
+        "/api/users/{userId}/**"
+    );
+
+    private final TokenService tokenService;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public TokenAuthenticationFilter(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = extractToken(request);
+        if (token == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        AuthenticatedPrincipal principal = tokenService.verify(token).orElse(null);
+        if (principal == null) {
+            reject(response, HttpServletResponse.SC_UNAUTHORIZED, "Invalid or expired token");
+            return;
+        }
+
+        if ("USER".equals(principal.role()) && !ownsPath(principal, request.getRequestURI())) {
+            reject(response, HttpServletResponse.SC_FORBIDDEN, "Access to another user's data is not allowed");
+            return;
+        }
+
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+            principal, null, List.of(new SimpleGrantedAuthority("ROLE_" + principal.role())));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private String extractToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER)) {
+            return header.substring(BEARER.length()).trim();
+        }
+        // <img> tags cannot send headers, so document downloads may pass the token as a parameter
+        if ("GET".equals(request.getMethod()) && request.getRequestURI().contains("/images/")) {
+            return request.getParameter("access_token");
+        }
+        return null;
+    }
+
+    private boolean ownsPath(AuthenticatedPrincipal principal, String path) {
+        for (String pattern : USER_SCOPED_PATHS) {
+            if (!pathMatcher.match(pattern, path)) continue;
+            Map<String, String> variables = pathMatcher.extractUriTemplateVariables(pattern, path);
+            String userId = variables.get("userId");
+            // Non-numeric segments such as /api/users/page are not user ids
+            if (userId != null && userId.chars().allMatch(Character::isDigit)) {
+                return userId.equals(String.valueOf(principal.id()));
+            }
+        }
+        return true;
+    }
+
+    private static void reject(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
+}
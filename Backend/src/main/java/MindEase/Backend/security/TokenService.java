@@ -0,0 +1,129 @@
+package MindEase.Backend.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Issues and verifies compact HMAC-SHA256 signed tokens of the form
+ * base64url(payload).base64url(signature). Verified tokens are kept in a
+ * small LRU so repeat requests skip the MAC computation as well as the database.
+ */
+@Service
+public class TokenService {
+    private static final Logger logger = LoggerFactory.getLogger(TokenService.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+    private final Clock clock;
+    private final ThreadLocal<Mac> mac;
+    private final Map<String, AuthenticatedPrincipal> verified;
+
+    @Autowired
+    public TokenService(
+            @Value("${security.token.secret:}") String secret,
+            @Value("${security.token.ttl-minutes:720}") long ttlMinutes,
+            @Value("${security.token.cache-size:10000}") int cacheSize
+    ) {
+        this(secretBytes(secret), ttlMinutes * 60, cacheSize, Clock.systemUTC());
+    }
+
+    TokenService(byte[] secret, long ttlSeconds, int cacheSize, Clock clock) {
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.ttlSeconds = ttlSeconds;
+        this.clock = clock;
+        this.mac = ThreadLocal.withInitial(this::newMac);
+        this.verified = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, AuthenticatedPrincipal> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public String issue(String role, Long id, String username) {
+        long expiresAt = clock.instant().getEpochSecond() + ttlSeconds;
+        String payload = role + ":" + id + ":" + expiresAt + ":" + username;
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    public Optional<AuthenticatedPrincipal> verify(String token) {
+        if (token == null || token.isEmpty()) return Optional.empty();
+        long now = clock.instant().getEpochSecond();
+
+        AuthenticatedPrincipal cached;
+        synchronized (verified) {
+            cached = verified.get(token);
+        }
+        if (cached != null) {
+            return cached.isExpired(now) ? Optional.empty() : Optional.of(cached);
+        }
+
+        AuthenticatedPrincipal principal = parse(token);
+        if (principal == null || principal.isExpired(now)) return Optional.empty();
+        synchronized (verified) {
+            verified.put(token, principal);
+        }
+        return Optional.of(principal);
+    }
+
+    private AuthenticatedPrincipal parse(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) return null;
+        try {
+            byte[] payload = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) return null;
+
+            String[] parts = new String(payload, StandardCharsets.UTF_8).split(":", 4);
+            if (parts.length != 4) return null;
+            return new AuthenticatedPrincipal(parts[0], Long.parseLong(parts[1]), parts[3], Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        return mac.get().doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance(ALGORITHM);
+            instance.init(key);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    private static byte[] secretBytes(String secret) {
+        if (secret == null || secret.isBlank()) {
+            // Tokens then stop verifying after a restart; set security.token.secret in production
+            logger.warn("security.token.secret is not set, using a random per-process key");
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        return secret.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -3,8 +3,12 @@ package MindEase.Backend.services;
 import MindEase.Backend.entity.Admin;
 import MindEase.Backend.exception.AuthenticationException;
 import MindEase.Backend.repositories.AdminRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,19 +16,46 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class AdminService {
 
+    private static final Logger log = LoggerFactory.getLogger(AdminService.class);
+
     private final AdminRepository adminRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+
+    @Value("${security.admin.bootstrap-username:}")
+    private String bootstrapUsername;
+
+    @Value("${security.admin.bootstrap-password:}")
+    private String bootstrapPassword;
 
     @Autowired
-    public AdminService(AdminRepository adminRepository, PasswordEncoder passwordEncoder) {
+    public AdminService(AdminRepository adminRepository, PasswordHashingService passwordHashingService) {
         this.adminRepository = adminRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
+    }
+
+    /**
+     * Creating an admin needs an admin token, so the first one comes from configuration.
+     * Nothing happens once any admin exists or when no bootstrap account is configured.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createBootstrapAdmin() {
+        if (bootstrapUsername.isBlank() || bootstrapPassword.isBlank() || adminRepository.count() > 0) {
+            return;
+        }
+        createAdmin(Admin.builder().username(bootstrapUsername).password(bootstrapPassword).build());
+        log.info("Created bootstrap admin {}", bootstrapUsername);
     }
 
     public Admin loginAdmin(String username, String password) {
-        return adminRepository.findByUsername(username)
-            .filter(admin -> passwordEncoder.matches(password, admin.getPassword()))
+        Admin admin = adminRepository.findByUsername(username)
+            .filter(a -> passwordHashingService.matches(password, a.getPassword()))
             .orElseThrow(() -> new AuthenticationException("Invalid username or password"));
+
+        // Upgrade hashes made with an older work factor while we have the raw password
+        if (passwordHashingService.needsRehash(admin.getPassword())) {
+            admin.setPassword(passwordHashingService.encode(password));
+        }
+        return admin;
     }
 
     // Method to create an admin (typically used for initialization)
@@ -33,7 +64,7 @@ public class AdminService {
             throw new IllegalArgumentException("Username already exists");
         }
         
-        admin.setPassword(passwordEncoder.encode(admin.getPassword()));
+        admin.setPassword(passwordHashingService.encode(admin.getPassword()));
         return adminRepository.save(admin);
     }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package MindEase.Backend.services;
+
+import MindEase.Backend.repositories.AssessmentRepository;
+import MindEase.Backend.repositories.AssessmentRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Backfills assessment_rollups from the assessments table, a chunk of users at a
+ * time with each chunk in its own transaction. Runs on startup while the rollup
+ * table is still empty, and on demand from the admin API.
+ */
+@Component
+public class AssessmentRollupRebuilder {
+    private static final Logger logger = LoggerFactory.getLogger(AssessmentRollupRebuilder.class);
+
+    private final AssessmentRepository assessmentRepository;
+    private final AssessmentRollupRepository rollupRepository;
+    private final AssessmentRollupService rollupService;
+    private final int chunkSize;
+
+    public AssessmentRollupRebuilder(
+            AssessmentRepository assessmentRepository,
+            AssessmentRollupRepository rollupRepository,
+            AssessmentRollupService rollupService,
+            @Value("${assessments.rollup.rebuild-chunk-size:200}") int chunkSize
+    ) {
+        this.assessmentRepository = assessmentRepository;
+        this.rollupRepository = rollupRepository;
+        this.rollupService = rollupService;
+        this.chunkSize = chunkSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (rollupRepository.count() == 0 && assessmentRepository.count() > 0) {
+            rebuildAll();
+        }
+    }
+
+    // Not coordinated with concurrent saveAssessment calls, so run it while writes are quiet
+    public synchronized int rebuildAll() {
+        long after = 0;
+        int users = 0;
+        int rollups = 0;
+        while (true) {
+            List<Long> userIds = assessmentRepository.findAssessedUserIdsAfter(after, PageRequest.of(0, chunkSize));
+            if (userIds.isEmpty()) break;
+            rollups += rollupService.rebuild(userIds);
+            users += userIds.size();
+            after = userIds.get(userIds.size() - 1);
+            if (userIds.size() < chunkSize) break;
+        }
+        logger.info("Rebuilt {} assessment rollups for {} users", rollups, users);
+        return rollups;
+    }
+}
@@ -0,0 +1,68 @@
+package MindEase.Backend.services;
+
+import MindEase.Backend.entity.Assessment;
+import MindEase.Backend.entity.AssessmentRollup;
+import MindEase.Backend.repositories.AssessmentRepository;
+import MindEase.Backend.repositories.AssessmentRollupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Transactional
+public class AssessmentRollupService {
+
+    private final AssessmentRollupRepository rollupRepository;
+    private final AssessmentRepository assessmentRepository;
+    private final double alpha;
+
+    @Autowired
+    public AssessmentRollupService(
+            AssessmentRollupRepository rollupRepository,
+            AssessmentRepository assessmentRepository,
+            @Value("${assessments.rollup.moving-average-alpha:0.3}") double alpha
+    ) {
+        this.rollupRepository = rollupRepository;
+        this.assessmentRepository = assessmentRepository;
+        this.alpha = alpha;
+    }
+
+    // Runs inside the caller's transaction so the rollup commits or rolls back with the assessment
+    public void record(Assessment assessment) {
+        Long userId = assessment.getUser().getId();
+        // Upserting first makes two first assessments of a type queue on the row lock,
+        // where a plain insert after an empty locking read would fail one on the primary key
+        rollupRepository.insertIfAbsent(userId, assessment.getAssessmentType());
+        AssessmentRollup rollup = rollupRepository.findForUpdate(userId, assessment.getAssessmentType())
+            .orElseThrow();
+        rollup.apply(assessment.getScore(), assessment.getRiskLevel(), assessment.getCreatedAt(), alpha);
+        rollupRepository.save(rollup);
+    }
+
+    @Transactional(readOnly = true)
+    public List<AssessmentRollup> getSummary(Long userId) {
+        return rollupRepository.findByUserIdOrderByAssessmentType(userId);
+    }
+
+    // Recomputes the rollups of the given users from their assessments, replacing what is stored
+    public int rebuild(Collection<Long> userIds) {
+        Map<AssessmentRollup.Key, AssessmentRollup> rollups = new LinkedHashMap<>();
+        for (Object[] row : assessmentRepository.findRollupRows(userIds)) {
+            Long userId = (Long) row[0];
+            String type = (String) row[1];
+            rollups.computeIfAbsent(new AssessmentRollup.Key(userId, type), key -> new AssessmentRollup(userId, type))
+                .apply((Integer) row[2], (String) row[3], (LocalDateTime) row[4], alpha);
+        }
+        rollupRepository.deleteByUserIds(userIds);
+        rollupRepository.flush();
+        rollupRepository.saveAll(rollups.values());
+        return rollups.size();
+    }
+}
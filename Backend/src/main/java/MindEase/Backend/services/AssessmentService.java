@@ -1,12 +1,17 @@
 // services/AssessmentService.java
 package MindEase.Backend.services;
 
+import MindEase.Backend.dto.AssessmentListItem;
+import MindEase.Backend.dto.AssessmentPage;
 import MindEase.Backend.dto.AssessmentRequest;
 import MindEase.Backend.entity.Assessment;
+import MindEase.Backend.entity.AssessmentRollup;
 import MindEase.Backend.entity.User;
+import MindEase.Backend.exception.ResourceNotFoundException;
 import MindEase.Backend.repositories.AssessmentRepository;
 import MindEase.Backend.repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
@@ -15,13 +20,19 @@ import java.util.List;
 @Service
 @Transactional
 public class AssessmentService {
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 200;
+
     private final AssessmentRepository assessmentRepository;
     private final UserRepository userRepository;
+    private final AssessmentRollupService assessmentRollupService;
 
     @Autowired
-    public AssessmentService(AssessmentRepository assessmentRepository, UserRepository userRepository) {
+    public AssessmentService(AssessmentRepository assessmentRepository, UserRepository userRepository,
+                             AssessmentRollupService assessmentRollupService) {
         this.assessmentRepository = assessmentRepository;
         this.userRepository = userRepository;
+        this.assessmentRollupService = assessmentRollupService;
     }
 
     public Assessment saveAssessment(AssessmentRequest dto) {
@@ -36,15 +47,34 @@ public class AssessmentService {
         assessment.setSuggestions(dto.getSuggestions());
         assessment.setUser(user);
 
-        return assessmentRepository.save(assessment);
+        Assessment saved = assessmentRepository.save(assessment);
+        assessmentRollupService.record(saved);
+        return saved;
+    }
+
+    @Transactional(readOnly = true)
+    public List<AssessmentListItem> getAssessmentsByUserId(Long userId) {
+        return assessmentRepository.findListItemsByUserId(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public AssessmentPage getAssessmentPage(Long userId, Long before, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<AssessmentListItem> assessments =
+            assessmentRepository.findListItemsByUserIdBefore(userId, before, PageRequest.of(0, pageSize));
+        Long nextCursor = assessments.size() < pageSize ? null : assessments.get(assessments.size() - 1).getId();
+        return new AssessmentPage(assessments, nextCursor);
     }
 
-    public List<Assessment> getAssessmentsByUserId(Long userId) {
-        return assessmentRepository.findAllByUserIdOrdered(userId);
+    @Transactional(readOnly = true)
+    public List<AssessmentRollup> getAssessmentSummary(Long userId) {
+        return assessmentRollupService.getSummary(userId);
     }
 
-    public Assessment getAssessmentById(Long id) {
+    // ownerId, when set, hides other users' assessments as if they did not exist
+    public Assessment getAssessmentById(Long id, Long ownerId) {
         return assessmentRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Assessment not found"));
+            .filter(assessment -> ownerId == null || ownerId.equals(assessment.getUser().getId()))
+            .orElseThrow(() -> new ResourceNotFoundException("Assessment not found"));
     }
 }
\ No newline at end of file
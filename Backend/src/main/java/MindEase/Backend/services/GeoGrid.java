@@ -0,0 +1,135 @@
+package MindEase.Backend.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Grid index over points on the globe. The globe is split into fixed CELL_DEGREES
+ * cells so radius and nearest-neighbour lookups only visit the cells overlapping
+ * the search area instead of scanning every point. Safe for concurrent use.
+ */
+public class GeoGrid {
+
+    static final double EARTH_RADIUS_KM = 6371.0;
+    static final double KM_PER_DEGREE = 111.195;
+    static final double CELL_DEGREES = 0.1;
+
+    private static final int LAT_CELLS = (int) Math.ceil(180 / CELL_DEGREES);
+    private static final int LON_CELLS = (int) Math.ceil(360 / CELL_DEGREES);
+
+    public record Match(long userId, double latitude, double longitude, double distanceKm) {}
+
+    private record Point(long userId, double latitude, double longitude) {}
+
+    private final Map<Long, Map<Long, Point>> cells = new ConcurrentHashMap<>();
+    private final Map<Long, Long> cellByUser = new ConcurrentHashMap<>();
+
+    public void put(long userId, double latitude, double longitude) {
+        long cell = cellKey(latIndex(latitude), lonIndex(longitude));
+        Long previous = cellByUser.put(userId, cell);
+        if (previous != null && previous != cell) {
+            removeFromCell(previous, userId);
+        }
+        cells.compute(cell, (k, points) -> {
+            Map<Long, Point> target = points != null ? points : new ConcurrentHashMap<>();
+            target.put(userId, new Point(userId, latitude, longitude));
+            return target;
+        });
+    }
+
+    public void remove(long userId) {
+        Long cell = cellByUser.remove(userId);
+        if (cell != null) {
+            removeFromCell(cell, userId);
+        }
+    }
+
+    public int size() {
+        return cellByUser.size();
+    }
+
+    // All users within radiusKm, closest first
+    public List<Match> withinRadius(double latitude, double longitude, double radiusKm) {
+        double dLat = radiusKm / KM_PER_DEGREE;
+        int minLat = latIndex(Math.max(-90, latitude - dLat));
+        int maxLat = latIndex(Math.min(90, latitude + dLat));
+
+        double cos = Math.cos(Math.toRadians(Math.max(Math.abs(latitude - dLat), Math.abs(latitude + dLat))));
+        double dLon = cos <= 0 ? 180 : radiusKm / (KM_PER_DEGREE * cos);
+        int from = (int) Math.floor((longitude - dLon + 180) / CELL_DEGREES);
+        int to = (int) Math.floor((longitude + dLon + 180) / CELL_DEGREES);
+        int lonCells = dLon >= 180 ? LON_CELLS : Math.min(LON_CELLS, to - from + 1);
+
+        List<Match> matches = new ArrayList<>();
+        if ((long) (maxLat - minLat + 1) * lonCells > cells.size()) {
+            // The area spans more cells than hold anyone, so visiting the occupied ones is cheaper
+            for (long cell : cells.keySet()) {
+                collect(cell, latitude, longitude, radiusKm, matches);
+            }
+        } else {
+            for (int lat = minLat; lat <= maxLat; lat++) {
+                for (int lon = 0; lon < lonCells; lon++) {
+                    collect(cellKey(lat, Math.floorMod(from + lon, LON_CELLS)), latitude, longitude, radiusKm, matches);
+                }
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Match::distanceKm));
+        return matches;
+    }
+
+    // The k closest users: radius searches doubling from one cell until k users fall inside,
+    // which also holds up near the poles where cells narrow to nothing in longitude
+    public List<Match> nearest(double latitude, double longitude, int k) {
+        k = Math.min(k, size());
+        if (k <= 0) return List.of();
+        for (double radiusKm = CELL_DEGREES * KM_PER_DEGREE; ; radiusKm *= 2) {
+            // Past half the circumference the search covers the whole globe, so every user is seen
+            List<Match> matches = withinRadius(latitude, longitude, radiusKm);
+            if (matches.size() >= k || radiusKm >= Math.PI * EARTH_RADIUS_KM) {
+                return matches.size() > k ? new ArrayList<>(matches.subList(0, k)) : matches;
+            }
+        }
+    }
+
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+            * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private void collect(long cell, double latitude, double longitude, double radiusKm, List<Match> matches) {
+        Map<Long, Point> points = cells.get(cell);
+        if (points == null) return;
+        for (Point p : points.values()) {
+            double d = haversineKm(latitude, longitude, p.latitude(), p.longitude());
+            if (d <= radiusKm) {
+                matches.add(new Match(p.userId(), p.latitude(), p.longitude(), d));
+            }
+        }
+    }
+
+    private void removeFromCell(long cell, long userId) {
+        cells.computeIfPresent(cell, (k, points) -> {
+            points.remove(userId);
+            return points.isEmpty() ? null : points;
+        });
+    }
+
+    private static int latIndex(double latitude) {
+        return Math.min(LAT_CELLS - 1, (int) Math.floor((latitude + 90) / CELL_DEGREES));
+    }
+
+    private static int lonIndex(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), LON_CELLS);
+    }
+
+    private static long cellKey(int latIndex, int lonIndex) {
+        return (long) latIndex * LON_CELLS + lonIndex;
+    }
+}
@@ -0,0 +1,218 @@
+package MindEase.Backend.services;
+
+import MindEase.Backend.entity.ParsedRecommendation;
+import MindEase.Backend.entity.TodoTask;
+import MindEase.Backend.repositories.ParsedRecommendationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Parsed recommendation sections keyed by the SHA-256 of the markdown. An in-memory
+ * LRU sits in front of the parsed_recommendations table, so the same text is parsed
+ * at most once across restarts. Edited text hashes to a new key, which is what
+ * invalidates the old result. Rows for text nobody has any more would pile up, so
+ * rows older than recommendations.cache.retention-days are purged every night and
+ * parsed again on their next use.
+ */
+@Component
+public class RecommendationCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationCache.class);
+
+    // Bump when the parser output changes so persisted rows are re-parsed
+    static final int FORMAT_VERSION = 1;
+
+    private final ParsedRecommendationRepository repository;
+    private final TransactionTemplate writeTransaction;
+    private final int retentionDays;
+    private final Map<String, Map<TodoTask.TaskCategory, List<String>>> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong persistedHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong parseNanos = new AtomicLong();
+    private final AtomicLong maxParseNanos = new AtomicLong();
+
+    @Autowired
+    public RecommendationCache(
+            ParsedRecommendationRepository repository,
+            TransactionTemplate transactionTemplate,
+            @Value("${recommendations.cache.max-entries:1000}") int maxEntries,
+            @Value("${recommendations.cache.retention-days:30}") int retentionDays
+    ) {
+        this.repository = repository;
+        // Own transaction, so a duplicate-key race never rolls back the caller
+        this.writeTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.retentionDays = Math.max(1, retentionDays);
+        // Access-ordered map so the least recently used text is evicted first
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<TodoTask.TaskCategory, List<String>>> eldest) {
+                if (size() > maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // Concurrent misses on the same text may both parse; parsing is cheap and the result identical
+    public Map<TodoTask.TaskCategory, List<String>> get(
+            CharSequence text, Function<CharSequence, Map<TodoTask.TaskCategory, List<String>>> parser) {
+        String hash = sha256(text);
+        Map<TodoTask.TaskCategory, List<String>> cached = lookup(hash);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+
+        Map<TodoTask.TaskCategory, List<String>> persisted = loadPersisted(hash);
+        if (persisted != null) {
+            persistedHits.incrementAndGet();
+            store(hash, persisted);
+            return persisted;
+        }
+
+        misses.incrementAndGet();
+        long start = System.nanoTime();
+        Map<TodoTask.TaskCategory, List<String>> parsed = freeze(parser.apply(text));
+        long elapsed = System.nanoTime() - start;
+        parseNanos.addAndGet(elapsed);
+        maxParseNanos.accumulateAndGet(elapsed, Math::max);
+
+        store(hash, parsed);
+        persist(hash, parsed);
+        return parsed;
+    }
+
+    @Scheduled(cron = "${recommendations.cache.purge-cron:0 30 3 * * *}")
+    public int purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        Integer purged = writeTransaction.execute(status -> repository.deleteCreatedBefore(cutoff));
+        logger.info("Purged {} parsed recommendations stored before {}", purged, cutoff);
+        return purged == null ? 0 : purged;
+    }
+
+    public Map<String, Object> stats() {
+        long hitCount = hits.get() + persistedHits.get();
+        long missCount = misses.get();
+        long total = hitCount + missCount;
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return Map.of(
+            "hits", hits.get(),
+            "persistedHits", persistedHits.get(),
+            "misses", missCount,
+            "evictions", evictions.get(),
+            "size", size,
+            "hitRatio", total == 0 ? 0.0 : (double) hitCount / total,
+            "parses", missCount,
+            "parseTimeAvgMicros", missCount == 0 ? 0.0 : parseNanos.get() / 1_000.0 / missCount,
+            "parseTimeMaxMicros", maxParseNanos.get() / 1_000.0
+        );
+    }
+
+    static String encode(Map<TodoTask.TaskCategory, List<String>> sections) {
+        StringBuilder sb = new StringBuilder();
+        sections.forEach((category, tasks) -> {
+            for (String task : tasks) {
+                sb.append(category.name()).append('\t').append(task).append('\n');
+            }
+        });
+        return sb.toString();
+    }
+
+    static Map<TodoTask.TaskCategory, List<String>> decode(String payload) {
+        Map<TodoTask.TaskCategory, List<String>> sections = new EnumMap<>(TodoTask.TaskCategory.class);
+        int lineStart = 0;
+        while (lineStart < payload.length()) {
+            int lineEnd = payload.indexOf('\n', lineStart);
+            if (lineEnd < 0) lineEnd = payload.length();
+            int tab = payload.indexOf('\t', lineStart);
+            if (tab < 0 || tab > lineEnd) {
+                throw new IllegalArgumentException("Malformed parsed recommendation line");
+            }
+            TodoTask.TaskCategory category = TodoTask.TaskCategory.valueOf(payload.substring(lineStart, tab));
+            sections.computeIfAbsent(category, c -> new ArrayList<>()).add(payload.substring(tab + 1, lineEnd));
+            lineStart = lineEnd + 1;
+        }
+        return freeze(sections);
+    }
+
+    private Map<TodoTask.TaskCategory, List<String>> loadPersisted(String hash) {
+        try {
+            return repository.findById(hash)
+                .filter(row -> row.getFormatVersion() == FORMAT_VERSION)
+                .map(row -> decode(row.getPayload()))
+                .orElse(null);
+        } catch (DataAccessException | IllegalArgumentException e) {
+            logger.warn("Ignoring persisted recommendation {}: {}", hash, e.getMessage());
+            return null;
+        }
+    }
+
+    private void persist(String hash, Map<TodoTask.TaskCategory, List<String>> sections) {
+        try {
+            writeTransaction.executeWithoutResult(status ->
+                repository.save(new ParsedRecommendation(hash, FORMAT_VERSION, encode(sections), null)));
+        } catch (DataIntegrityViolationException e) {
+            // Stored concurrently by another request for the same text
+        } catch (DataAccessException e) {
+            logger.warn("Failed to persist parsed recommendation {}: {}", hash, e.getMessage());
+        }
+    }
+
+    private Map<TodoTask.TaskCategory, List<String>> lookup(String hash) {
+        synchronized (entries) {
+            return entries.get(hash);
+        }
+    }
+
+    private void store(String hash, Map<TodoTask.TaskCategory, List<String>> sections) {
+        synchronized (entries) {
+            entries.put(hash, sections);
+        }
+    }
+
+    private static Map<TodoTask.TaskCategory, List<String>> freeze(Map<TodoTask.TaskCategory, List<String>> sections) {
+        Map<TodoTask.TaskCategory, List<String>> copy = new EnumMap<>(TodoTask.TaskCategory.class);
+        sections.forEach((category, tasks) -> copy.put(category, List.copyOf(tasks)));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    private static String sha256(CharSequence text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package MindEase.Backend.services;
+
+/**
+ * Single-pass scanner for the recommendation markdown produced by the assessment flow.
+ * Walks the text once, tracking the current {@code ### **Section**} heading, and reports
+ * every {@code - item} or {@code 1. item} line beneath it. Only the heading titles and the
+ * task strings themselves are allocated; no regex, split or per-section substring.
+ * Kept free of Spring/JPA types so it can be benchmarked on its own.
+ */
+public final class RecommendationMarkdownParser {
+
+    private static final String HEADING_OPEN = "### **";
+    private static final String HEADING_CLOSE = "**";
+
+    @FunctionalInterface
+    public interface Handler {
+        void onTask(String section, String task);
+    }
+
+    private RecommendationMarkdownParser() {
+    }
+
+    public static void parse(CharSequence text, Handler handler) {
+        if (text == null) return;
+        int length = text.length();
+        String section = null;
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && text.charAt(lineEnd) != '\n') lineEnd++;
+
+            int start = skipWhitespace(text, lineStart, lineEnd);
+            int end = trimEnd(text, start, lineEnd);
+
+            if (regionMatches(text, start, end, HEADING_OPEN)) {
+                // A "### **" line always closes the previous section, even if the title is malformed
+                int titleStart = start + HEADING_OPEN.length();
+                int titleEnd = end - HEADING_CLOSE.length();
+                section = titleEnd >= titleStart && endsWith(text, titleStart, end, HEADING_CLOSE)
+                        ? text.subSequence(skipWhitespace(text, titleStart, titleEnd), trimEnd(text, titleStart, titleEnd)).toString()
+                        : null;
+            } else if (section != null) {
+                int taskStart = itemStart(text, start, end);
+                if (taskStart >= 0) {
+                    taskStart = skipWhitespace(text, taskStart, end);
+                    // "- 1. foo" is written by some prompts; strip the number as well
+                    int numbered = numberedStart(text, taskStart, end);
+                    if (numbered >= 0) taskStart = skipWhitespace(text, numbered, end);
+                    if (taskStart < end) {
+                        handler.onTask(section, text.subSequence(taskStart, end).toString());
+                    }
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    // Index just past the list marker, or -1 if the line is not a list item
+    private static int itemStart(CharSequence text, int start, int end) {
+        if (end - start >= 2 && text.charAt(start) == '-' && text.charAt(start + 1) == ' ') {
+            return start + 2;
+        }
+        return numberedStart(text, start, end);
+    }
+
+    // Matches "\d+\.\s+" at start and returns the index after the dot, or -1
+    private static int numberedStart(CharSequence text, int start, int end) {
+        int i = start;
+        while (i < end && Character.isDigit(text.charAt(i))) i++;
+        if (i == start || i + 1 >= end || text.charAt(i) != '.' || !Character.isWhitespace(text.charAt(i + 1))) {
+            return -1;
+        }
+        return i + 1;
+    }
+
+    private static int skipWhitespace(CharSequence text, int from, int to) {
+        while (from < to && Character.isWhitespace(text.charAt(from))) from++;
+        return from;
+    }
+
+    private static int trimEnd(CharSequence text, int from, int to) {
+        while (to > from && Character.isWhitespace(text.charAt(to - 1))) to--;
+        return to;
+    }
+
+    private static boolean regionMatches(CharSequence text, int start, int end, String prefix) {
+        if (end - start < prefix.length()) return false;
+        for (int i = 0; i < prefix.length(); i++) {
+            if (text.charAt(start + i) != prefix.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private static boolean endsWith(CharSequence text, int start, int end, String suffix) {
+        return end - start >= suffix.length() && regionMatches(text, end - suffix.length(), end, suffix);
+    }
+}
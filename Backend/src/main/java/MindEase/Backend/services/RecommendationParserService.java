@@ -1,64 +1,99 @@
 package MindEase.Backend.services;
 
 import MindEase.Backend.entity.TodoTask;
-import MindEase.Backend.entity.User;
 import MindEase.Backend.repositories.TodoTaskRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 @Service
 @Transactional
 public class RecommendationParserService {
 
+    // Heading title (lower-cased) -> category, accepting both the display name and the enum name
+    private static final Map<String, TodoTask.TaskCategory> SECTION_CATEGORIES = new HashMap<>();
+
+    static {
+        for (TodoTask.TaskCategory category : TodoTask.TaskCategory.values()) {
+            SECTION_CATEGORIES.put(category.getDisplay().toLowerCase(Locale.ROOT), category);
+            SECTION_CATEGORIES.put(category.name().toLowerCase(Locale.ROOT), category);
+        }
+    }
+
     private final TodoTaskRepository todoTaskRepository;
+    private final RecommendationCache recommendationCache;
 
-    public RecommendationParserService(TodoTaskRepository todoTaskRepository) {
+    public RecommendationParserService(TodoTaskRepository todoTaskRepository, RecommendationCache recommendationCache) {
         this.todoTaskRepository = todoTaskRepository;
+        this.recommendationCache = recommendationCache;
     }
 
-    private List<TodoTask> extractTasks(String sectionTitle, String fullText, TodoTask.TaskCategory category, LocalDate date) {
-        List<TodoTask> tasks = new ArrayList<>();
-        int start = fullText.indexOf("### **" + sectionTitle + "**");
-        if (start == -1) return tasks;
+    // Cached by content hash; the returned map and lists are immutable
+    public Map<TodoTask.TaskCategory, List<String>> getSections(CharSequence text) {
+        if (text == null || text.length() == 0) return Map.of();
+        return recommendationCache.get(text, this::parseSections);
+    }
 
-        int nextSection = fullText.indexOf("### **", start + 1);
-        String sectionContent = (nextSection != -1)
-                ? fullText.substring(start, nextSection)
-                : fullText.substring(start);
+    public Map<String, Object> getCacheStats() {
+        return recommendationCache.stats();
+    }
 
-        // Split lines and grab numbered or bulleted tasks
-        String[] lines = sectionContent.split("\n");
-        for (String line : lines) {
-            line = line.trim();
-            if (line.startsWith("- ") || line.matches("^\\d+\\.\\s+.*")) {
-                String cleanTask = line.replaceFirst("^-\\s+", "").replaceFirst("^\\d+\\.\\s+", "").trim();
-                if (!cleanTask.isEmpty()) {
-                    TodoTask task = TodoTask.builder()  // Using Lombok builder
-                            .task(cleanTask)
-                            .category(category)
-                            .scheduledDate(date.atTime(9, 0)) // Setting default time to 9:00 AM
-                            .completed(false)
-                            .recurring(true).build();
-                    tasks.add(task);
-                }
+    // Parses every known section of the recommendations/suggestions text in one pass
+    public Map<TodoTask.TaskCategory, List<String>> parseSections(CharSequence text) {
+        Map<TodoTask.TaskCategory, List<String>> sections = new EnumMap<>(TodoTask.TaskCategory.class);
+        RecommendationMarkdownParser.parse(text, new CategoryHandler() {
+            @Override
+            void onCategoryTask(TodoTask.TaskCategory category, String task) {
+                sections.computeIfAbsent(category, c -> new ArrayList<>()).add(task);
             }
-        }
+        });
+        return sections;
+    }
 
+    public List<TodoTask> extractTasks(CharSequence text, LocalDate date) {
+        List<TodoTask> tasks = new ArrayList<>();
+        LocalDateTime scheduledDate = date.atTime(9, 0); // Setting default time to 9:00 AM
+        getSections(text).forEach((category, items) -> {
+            for (String task : items) {
+                tasks.add(TodoTask.builder()
+                        .task(task)
+                        .category(category)
+                        .scheduledDate(scheduledDate)
+                        .completed(false)
+                        .recurring(true).build());
+            }
+        });
         return tasks;
     }
 
-    // Helper method to convert String category to enum
-    private TodoTask.TaskCategory parseCategory(String category) {
-        try {
-            return TodoTask.TaskCategory.valueOf(category);
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Invalid task category: " + category);
+    static TodoTask.TaskCategory categoryForSection(String section) {
+        String key = section.toLowerCase(Locale.ROOT);
+        if (key.endsWith(":")) key = key.substring(0, key.length() - 1).trim();
+        return SECTION_CATEGORIES.get(key);
+    }
+
+    // Resolves each heading once and drops items under headings that are not a task category
+    private abstract static class CategoryHandler implements RecommendationMarkdownParser.Handler {
+        private String lastSection;
+        private TodoTask.TaskCategory lastCategory;
+
+        @Override
+        public void onTask(String section, String task) {
+            if (section != lastSection) {
+                lastSection = section;
+                lastCategory = categoryForSection(section);
+            }
+            if (lastCategory != null) onCategoryTask(lastCategory, task);
         }
+
+        abstract void onCategoryTask(TodoTask.TaskCategory category, String task);
     }
-}
\ No newline at end of file
+}
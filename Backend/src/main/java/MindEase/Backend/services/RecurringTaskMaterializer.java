@@ -0,0 +1,211 @@
+// services/RecurringTaskMaterializer.java
+package MindEase.Backend.services;
+
+import MindEase.Backend.entity.TodoTask;
+import MindEase.Backend.repositories.TodoTaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Generates upcoming instances of recurring tasks ahead of time so reading a
+ * user's daily list never writes. Templates are processed in keyset-paged
+ * chunks, each in its own transaction, and the (template_id, occurrence_date)
+ * unique key makes re-runs and concurrent runs harmless.
+ */
+@Component
+public class RecurringTaskMaterializer {
+    private static final Logger logger = LoggerFactory.getLogger(RecurringTaskMaterializer.class);
+
+    private final TodoTaskRepository todoTaskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int chunkSize;
+    private final int horizonDays;
+
+    public RecurringTaskMaterializer(
+            TodoTaskRepository todoTaskRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${todos.materializer.chunk-size:500}") int chunkSize,
+            @Value("${todos.materializer.horizon-days:1}") int horizonDays
+    ) {
+        this.todoTaskRepository = todoTaskRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = Clock.systemDefaultZone();
+        this.chunkSize = chunkSize;
+        this.horizonDays = horizonDays;
+    }
+
+    // Catch up on startup, then shortly after every midnight
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${todos.materializer.cron:0 5 0 * * *}")
+    public void materialize() {
+        LocalDate from = LocalDate.now(clock);
+        LocalDate to = from.plusDays(horizonDays);
+
+        long after = 0;
+        int created = 0;
+        while (true) {
+            List<TodoTask> templates = todoTaskRepository.findRecurringTemplatesAfter(after, PageRequest.of(0, chunkSize));
+            if (templates.isEmpty()) break;
+            try {
+                created += transactionTemplate.execute(status -> materializeChunk(templates, from, to));
+            } catch (DataIntegrityViolationException e) {
+                // Another node materialized part of this chunk first, or one row is bad; the rest still go in today
+                logger.warn("Recurring task chunk after id {} failed, inserting its rows one by one: {}", after, e.getMessage());
+                created += materializeOneByOne(templates, from, to);
+            }
+            after = templates.get(templates.size() - 1).getId();
+            if (templates.size() < chunkSize) break;
+        }
+        logger.info("Materialized {} recurring task instances for {} to {}", created, from, to);
+    }
+
+    int materializeChunk(List<TodoTask> templates, LocalDate from, LocalDate to) {
+        List<TodoTask> instances = missingInstances(templates, from, to);
+        todoTaskRepository.saveAll(instances);
+        return instances.size();
+    }
+
+    // Each row in its own transaction, so only the rows that really conflict are skipped
+    int materializeOneByOne(List<TodoTask> templates, LocalDate from, LocalDate to) {
+        List<TodoTask> instances = transactionTemplate.execute(status -> missingInstances(templates, from, to));
+        int created = 0;
+        for (TodoTask instance : instances) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> todoTaskRepository.save(instance));
+                created++;
+            } catch (DataIntegrityViolationException e) {
+                logger.warn("Skipped recurring task {} on {}: {}",
+                    instance.getTemplateId(), instance.getOccurrenceDate(), e.getMessage());
+            }
+        }
+        return created;
+    }
+
+    private List<TodoTask> missingInstances(List<TodoTask> templates, LocalDate from, LocalDate to) {
+        List<Long> ids = templates.stream().map(TodoTask::getId).collect(Collectors.toList());
+        Set<String> existing = new HashSet<>();
+        for (Object[] row : todoTaskRepository.findOccurrences(ids, from, to)) {
+            existing.add(row[0] + "@" + row[1]);
+        }
+
+        List<TodoTask> instances = new ArrayList<>();
+        for (TodoTask template : templates) {
+            if (template.getScheduledDate() == null || template.getRecurrencePattern() == null) continue;
+            LocalDate anchor = template.getScheduledDate().toLocalDate();
+            for (LocalDate date : occurrencesBetween(anchor, template.getRecurrencePattern(), from, to)) {
+                if (existing.add(template.getId() + "@" + date)) {
+                    instances.add(newInstance(template, date));
+                }
+            }
+        }
+        return instances;
+    }
+
+    // Creates the next occurrence of each just-completed recurring task in one batched insert,
+    // skipping occurrences that already exist so the scheduled run and this never collide
+    public List<TodoTask> materializeNext(List<TodoTask> completed) {
+        // Instances follow their template's anchor date, so month-end cadences do not drift
+        Set<Long> parentIds = completed.stream()
+            .map(TodoTask::getTemplateId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, TodoTask> templates = new HashMap<>();
+        for (TodoTask template : parentIds.isEmpty() ? List.<TodoTask>of() : todoTaskRepository.findAllById(parentIds)) {
+            templates.put(template.getId(), template);
+        }
+        for (TodoTask task : completed) {
+            if (task.getTemplateId() == null) templates.putIfAbsent(task.getId(), task);
+        }
+
+        LocalDate today = LocalDate.now(clock);
+        Map<String, TodoTask> next = new LinkedHashMap<>();
+        LocalDate min = null;
+        LocalDate max = null;
+        for (TodoTask task : completed) {
+            TodoTask template = templates.get(task.getTemplateId() != null ? task.getTemplateId() : task.getId());
+            if (!task.isRecurring() || template == null
+                    || template.getScheduledDate() == null || template.getRecurrencePattern() == null) continue;
+            LocalDate anchor = template.getScheduledDate().toLocalDate();
+            LocalDate current = task.getOccurrenceDate() != null ? task.getOccurrenceDate() : anchor;
+            LocalDate from = current.plusDays(1).isBefore(today) ? today : current.plusDays(1);
+            List<LocalDate> dates = occurrencesBetween(anchor, template.getRecurrencePattern(), from, from.plusMonths(2));
+            if (dates.isEmpty()) continue;
+            LocalDate date = dates.get(0);
+            next.putIfAbsent(template.getId() + "@" + date, newInstance(template, date));
+            min = min == null || date.isBefore(min) ? date : min;
+            max = max == null || date.isAfter(max) ? date : max;
+        }
+        if (next.isEmpty()) return List.of();
+
+        Set<Long> templateIds = next.values().stream().map(TodoTask::getTemplateId).collect(Collectors.toSet());
+        for (Object[] row : todoTaskRepository.findOccurrences(templateIds, min, max)) {
+            next.remove(row[0] + "@" + row[1]);
+        }
+        return todoTaskRepository.saveAll(next.values());
+    }
+
+    // Dates after the anchor that fall on the pattern's cadence within [from, to]
+    static List<LocalDate> occurrencesBetween(LocalDate anchor, String pattern, LocalDate from, LocalDate to) {
+        List<LocalDate> dates = new ArrayList<>();
+        LocalDate start = from.isAfter(anchor) ? from : anchor.plusDays(1);
+        switch (pattern) {
+            case "DAILY":
+                for (LocalDate d = start; !d.isAfter(to); d = d.plusDays(1)) {
+                    dates.add(d);
+                }
+                break;
+            case "WEEKLY": {
+                long weeks = Math.max(1, (ChronoUnit.DAYS.between(anchor, start) + 6) / 7);
+                for (LocalDate d = anchor.plusWeeks(weeks); !d.isAfter(to); d = anchor.plusWeeks(++weeks)) {
+                    dates.add(d);
+                }
+                break;
+            }
+            case "MONTHLY": {
+                long months = Math.max(1, ChronoUnit.MONTHS.between(anchor, start));
+                for (LocalDate d = anchor.plusMonths(months); !d.isAfter(to); d = anchor.plusMonths(++months)) {
+                    if (!d.isBefore(start)) dates.add(d);
+                }
+                break;
+            }
+            default:
+                break;
+        }
+        return dates;
+    }
+
+    private TodoTask newInstance(TodoTask template, LocalDate date) {
+        return TodoTask.builder()
+            .task(template.getTask())
+            .category(template.getCategory())
+            .user(template.getUser())
+            .scheduledDate(date.atTime(template.getScheduledDate().toLocalTime()))
+            .recurring(true)
+            .recurrencePattern(template.getRecurrencePattern())
+            .sourceAssessmentId(template.getSourceAssessmentId())
+            .templateId(template.getId())
+            .occurrenceDate(date)
+            .completed(false)
+            .build();
+    }
+}
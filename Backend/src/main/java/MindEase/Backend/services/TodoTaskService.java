@@ -1,53 +1,76 @@
 // services/TodoTaskService.java
 package MindEase.Backend.services;
 
+import MindEase.Backend.dto.TaskBatchResult;
+import MindEase.Backend.dto.TaskCompletionUpdate;
 import MindEase.Backend.entity.TodoTask;
 import MindEase.Backend.entity.User;
+import MindEase.Backend.exception.ResourceNotFoundException;
 import MindEase.Backend.repositories.TodoTaskRepository;
 import MindEase.Backend.repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class TodoTaskService {
     private final TodoTaskRepository todoTaskRepository;
     private final UserRepository userRepository;
+    private final RecurringTaskMaterializer recurringTaskMaterializer;
+    private final int maxBatchSize;
 
     @Autowired
-    public TodoTaskService(TodoTaskRepository todoTaskRepository, UserRepository userRepository) {
+    public TodoTaskService(
+            TodoTaskRepository todoTaskRepository,
+            UserRepository userRepository,
+            RecurringTaskMaterializer recurringTaskMaterializer,
+            @Value("${todos.batch.max-size:500}") int maxBatchSize
+    ) {
         this.todoTaskRepository = todoTaskRepository;
         this.userRepository = userRepository;
+        this.recurringTaskMaterializer = recurringTaskMaterializer;
+        this.maxBatchSize = maxBatchSize;
     }
 
+    // Recurring instances are created ahead of time by RecurringTaskMaterializer, so this only reads
+    @Transactional(readOnly = true)
     public List<TodoTask> getDailyTasks(Long userId) {
-        LocalDateTime start = LocalDateTime.now().withHour(0).withMinute(0);
+        LocalDateTime start = LocalDate.now().atStartOfDay();
         LocalDateTime end = start.plusDays(1);
-        
-        List<TodoTask> tasks = new ArrayList<>();
-        
-        // Get regular tasks
-        tasks.addAll(todoTaskRepository.findByUserIdAndScheduledDateBetweenOrderByScheduledDateAsc(
-            userId, start, end));
-        
-        // Process recurring tasks
-        List<TodoTask> recurringTasks = todoTaskRepository.findRecurringTasksByUserId(userId);
-        processRecurringTasks(recurringTasks, userId, tasks);
-        
-        return tasks;
+
+        return todoTaskRepository.findByUserIdAndScheduledDateBetweenOrderByScheduledDateAsc(
+            userId, start, end);
+    }
+
+    // ETag of getDailyTasks from a count/sum probe, without loading the tasks
+    @Transactional(readOnly = true)
+    public String getDailyTasksETag(Long userId) {
+        LocalDate today = LocalDate.now();
+        LocalDateTime start = today.atStartOfDay();
+        return todoTaskRepository.findVersionByUserIdAndScheduledDateBetween(userId, start, start.plusDays(1))
+            .toETag("daily-" + today.toEpochDay());
     }
 
     public List<TodoTask> getTasksByCategory(Long userId, TodoTask.TaskCategory category) {
         return todoTaskRepository.findByUserIdAndCategory(userId, category);
     }
 
-    public TodoTask createTask(TodoTask task) {
-        User user = userRepository.findById(task.getUser().getId())
+    // ownerId, when set, is the only user the task may be created for
+    public TodoTask createTask(TodoTask task, Long ownerId) {
+        Long userId = ownerId != null ? ownerId : task.getUser() == null ? null : task.getUser().getId();
+        if (userId == null) {
+            throw new IllegalArgumentException("Task needs a user");
+        }
+        User user = userRepository.findById(userId)
             .orElseThrow(() -> new RuntimeException("User not found"));
         
         task.setUser(user);
@@ -114,62 +137,69 @@ public class TodoTaskService {
         }
     }
 
-    private void processRecurringTasks(List<TodoTask> recurringTasks, Long userId, List<TodoTask> allTasks) {
-        LocalDateTime now = LocalDateTime.now();
-        
-        recurringTasks.forEach(task -> {
-            if (shouldCreateNewInstance(task, now)) {
-                TodoTask newInstance = createNewTaskInstance(task);
-                allTasks.add(todoTaskRepository.save(newInstance));
-            }
-        });
-    }
+    public TodoTask updateTask(Long taskId, boolean completed, Long ownerId) {
+        TodoTask task = findOwnedTask(taskId, ownerId);
 
-    private boolean shouldCreateNewInstance(TodoTask task, LocalDateTime now) {
-        if (!task.isRecurring() || task.getScheduledDate() == null) return false;
-        
-        LocalDateTime lastScheduled = task.getScheduledDate();
-        
-        switch (task.getRecurrencePattern()) {
-            case "DAILY":
-                return lastScheduled.toLocalDate().isBefore(now.toLocalDate());
-            case "WEEKLY":
-                return lastScheduled.plusWeeks(1).isBefore(now);
-            case "MONTHLY":
-                return lastScheduled.plusMonths(1).isBefore(now);
-            default:
-                return false;
+        task.setCompleted(completed);
+        TodoTask saved = todoTaskRepository.save(task);
+
+        // If task is recurring and completed, create next instance
+        if (completed && task.isRecurring()) {
+            recurringTaskMaterializer.materializeNext(List.of(saved));
         }
-    }
 
-    private TodoTask createNewTaskInstance(TodoTask template) {
-        return TodoTask.builder()
-            .task(template.getTask())
-            .category(template.getCategory())
-            .user(template.getUser())
-            .scheduledDate(LocalDateTime.now())
-            .recurring(template.isRecurring())
-            .recurrencePattern(template.getRecurrencePattern())
-            .sourceAssessmentId(template.getSourceAssessmentId())
-            .completed(false)
-            .build();
+        return saved;
     }
 
-    public TodoTask updateTask(Long taskId, boolean completed) {
-        TodoTask task = todoTaskRepository.findById(taskId)
-            .orElseThrow(() -> new RuntimeException("Task not found"));
-            
-        task.setCompleted(completed);
-        
-        // If task is recurring and completed, create next instance
-        if (completed && task.isRecurring()) {
-            createNewTaskInstance(task);
+    // Applies many completion changes in one transaction: a locking id probe and one bulk UPDATE per
+    // target state, then a single batched insert for the next instances of completed recurring tasks.
+    // ownerId limits the batch to one user's tasks, null allows any.
+    public TaskBatchResult updateTasks(List<TaskCompletionUpdate> updates, Long ownerId) {
+        if (updates == null || updates.isEmpty()) {
+            return new TaskBatchResult(List.of(), List.of());
         }
-        
-        return todoTaskRepository.save(task);
+        // Later entries for the same task win
+        Map<Long, Boolean> requested = new LinkedHashMap<>();
+        for (TaskCompletionUpdate update : updates) {
+            if (update == null || update.getTaskId() == null || update.getCompleted() == null) {
+                throw new IllegalArgumentException("Each update needs a taskId and a completed flag");
+            }
+            requested.put(update.getTaskId(), update.getCompleted());
+        }
+        if (requested.size() > maxBatchSize) {
+            throw new IllegalArgumentException("At most " + maxBatchSize + " tasks can be updated at once");
+        }
+
+        List<Long> updated = new ArrayList<>();
+        List<Long> completedNow = List.of();
+        for (boolean completed : new boolean[] { true, false }) {
+            List<Long> ids = requested.entrySet().stream()
+                .filter(e -> e.getValue() == completed)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+            if (ids.isEmpty()) continue;
+
+            List<Long> changing = todoTaskRepository.lockIdsToChange(ids, completed, ownerId);
+            if (changing.isEmpty()) continue;
+            todoTaskRepository.updateCompleted(changing, completed);
+            updated.addAll(changing);
+            if (completed) completedNow = changing;
+        }
+
+        List<Long> created = completedNow.isEmpty() ? List.of()
+            : recurringTaskMaterializer.materializeNext(todoTaskRepository.findRecurringByIdIn(completedNow))
+                .stream().map(TodoTask::getId).collect(Collectors.toList());
+        return new TaskBatchResult(updated, created);
+    }
+
+    public void deleteTask(Long taskId, Long ownerId) {
+        todoTaskRepository.delete(findOwnedTask(taskId, ownerId));
     }
 
-    public void deleteTask(Long taskId) {
-        todoTaskRepository.deleteById(taskId);
+    // Another user's task is reported as missing, so ids cannot be probed for existence
+    private TodoTask findOwnedTask(Long taskId, Long ownerId) {
+        return todoTaskRepository.findById(taskId)
+            .filter(task -> ownerId == null || ownerId.equals(task.getUser().getId()))
+            .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
     }
 }
\ No newline at end of file
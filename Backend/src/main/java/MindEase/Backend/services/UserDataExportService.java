@@ -0,0 +1,302 @@
+package MindEase.Backend.services;
+
+import MindEase.Backend.entity.Assessment;
+import MindEase.Backend.entity.TodoTask;
+import MindEase.Backend.repositories.UserRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Writes a user's assessments and tasks as NDJSON or CSV straight from two database
+ * cursors. Rows are written as they are read and the persistence context is cleared
+ * every export.clear-every rows, so memory use stays flat however long the history is.
+ * The cursors use export.fetch-size; on MySQL, Integer.MIN_VALUE makes Connector/J
+ * stream these two queries row by row without changing how other statements fetch.
+ */
+@Service
+public class UserDataExportService {
+
+    public enum Format {
+        NDJSON("application/x-ndjson"),
+        CSV("text/csv");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + value);
+            }
+        }
+    }
+
+    // One CSV table for both record kinds; cells that do not apply to a row are left empty
+    private static final String[] CSV_COLUMNS = {
+        "record", "id", "created_at",
+        "assessment_type", "score", "risk_level", "follow_up_date", "suggestions",
+        "task", "category", "completed", "scheduled_date", "recurring", "recurrence_pattern",
+        "template_id", "occurrence_date", "source_assessment_id"
+    };
+
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final int clearEvery;
+    private final int fetchSize;
+
+    public UserDataExportService(
+            UserRepository userRepository,
+            EntityManager entityManager,
+            ObjectMapper objectMapper,
+            @Value("${export.clear-every:500}") int clearEvery,
+            @Value("${export.fetch-size:500}") int fetchSize
+    ) {
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.clearEvery = Math.max(1, clearEvery);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Streams the export to {@code out}. Throws IllegalArgumentException before anything
+     * is written when the user does not exist.
+     */
+    @Transactional(readOnly = true)
+    public void export(Long userId, Format format, OutputStream out) throws IOException {
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("User not found");
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        RowWriter rows = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+        try (Stream<Assessment> assessments = stream(
+                "SELECT a FROM Assessment a WHERE a.user.id = :userId ORDER BY a.createdAt, a.id", Assessment.class, userId)) {
+            writeAll(assessments, rows::assessment);
+        }
+        try (Stream<TodoTask> tasks = stream(
+                "SELECT t FROM TodoTask t WHERE t.user.id = :userId ORDER BY t.scheduledDate, t.id", TodoTask.class, userId)) {
+            writeAll(tasks, rows::task);
+        }
+        rows.finish();
+        writer.flush();
+    }
+
+    // Forward-only cursor; read-only entities skip the dirty-checking snapshot
+    private <T> Stream<T> stream(String jpql, Class<T> type, Long userId) {
+        return entityManager.createQuery(jpql, type)
+            .setParameter("userId", userId)
+            .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+            .setHint(AvailableHints.HINT_READ_ONLY, true)
+            .getResultStream();
+    }
+
+    private <T> void writeAll(Stream<T> stream, RowConsumer<T> consumer) throws IOException {
+        int sinceClear = 0;
+        for (Iterator<T> it = stream.iterator(); it.hasNext(); ) {
+            consumer.accept(it.next());
+            // Written rows are never needed again; dropping them keeps the persistence context small
+            if (++sinceClear == clearEvery) {
+                entityManager.clear();
+                sinceClear = 0;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowConsumer<T> {
+        void accept(T row) throws IOException;
+    }
+
+    private interface RowWriter {
+        void assessment(Assessment a) throws IOException;
+
+        void task(TodoTask t) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    // One JSON object per line, tagged with its record type
+    private final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator json;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            this.json = objectMapper.getFactory().createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.json.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void assessment(Assessment a) throws IOException {
+            json.writeStartObject();
+            json.writeStringField("type", "assessment");
+            number("id", a.getId());
+            json.writeStringField("assessmentType", a.getAssessmentType());
+            number("score", a.getScore() == null ? null : a.getScore().longValue());
+            json.writeStringField("riskLevel", a.getRiskLevel());
+            json.writeStringField("followUpDate", text(a.getFollowUpDate()));
+            json.writeStringField("suggestions", a.getSuggestions());
+            json.writeStringField("createdAt", text(a.getCreatedAt()));
+            endLine();
+        }
+
+        @Override
+        public void task(TodoTask t) throws IOException {
+            json.writeStartObject();
+            json.writeStringField("type", "task");
+            number("id", t.getId());
+            json.writeStringField("task", t.getTask());
+            json.writeStringField("category", text(t.getCategory()));
+            json.writeBooleanField("completed", t.isCompleted());
+            json.writeStringField("scheduledDate", text(t.getScheduledDate()));
+            json.writeBooleanField("recurring", t.isRecurring());
+            json.writeStringField("recurrencePattern", t.getRecurrencePattern());
+            number("templateId", t.getTemplateId());
+            json.writeStringField("occurrenceDate", text(t.getOccurrenceDate()));
+            number("sourceAssessmentId", t.getSourceAssessmentId());
+            json.writeStringField("createdAt", text(t.getCreatedAt()));
+            endLine();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            json.flush();
+        }
+
+        private void number(String field, Long value) throws IOException {
+            json.writeFieldName(field);
+            if (value == null) {
+                json.writeNull();
+            } else {
+                json.writeNumber(value);
+            }
+        }
+
+        private void endLine() throws IOException {
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer out;
+        private final String[] cells = new String[CSV_COLUMNS.length];
+
+        CsvRowWriter(Writer out) throws IOException {
+            this.out = out;
+            System.arraycopy(CSV_COLUMNS, 0, cells, 0, cells.length);
+            writeRow();
+        }
+
+        @Override
+        public void assessment(Assessment a) throws IOException {
+            clear();
+            cells[0] = "assessment";
+            cells[1] = cell(a.getId());
+            cells[2] = cell(a.getCreatedAt());
+            cells[3] = userText(a.getAssessmentType());
+            cells[4] = cell(a.getScore());
+            cells[5] = userText(a.getRiskLevel());
+            cells[6] = cell(a.getFollowUpDate());
+            cells[7] = userText(a.getSuggestions());
+            writeRow();
+        }
+
+        @Override
+        public void task(TodoTask t) throws IOException {
+            clear();
+            cells[0] = "task";
+            cells[1] = cell(t.getId());
+            cells[2] = cell(t.getCreatedAt());
+            cells[8] = userText(t.getTask());
+            cells[9] = cell(t.getCategory());
+            cells[10] = String.valueOf(t.isCompleted());
+            cells[11] = cell(t.getScheduledDate());
+            cells[12] = String.valueOf(t.isRecurring());
+            cells[13] = userText(t.getRecurrencePattern());
+            cells[14] = cell(t.getTemplateId());
+            cells[15] = cell(t.getOccurrenceDate());
+            cells[16] = cell(t.getSourceAssessmentId());
+            writeRow();
+        }
+
+        @Override
+        public void finish() {
+            // Nothing buffered beyond the writer
+        }
+
+        private void clear() {
+            Arrays.fill(cells, "");
+        }
+
+        private void writeRow() throws IOException {
+            for (int i = 0; i < cells.length; i++) {
+                if (i > 0) out.write(',');
+                writeCell(cells[i]);
+            }
+            out.write("\r\n");
+        }
+
+        // RFC 4180 quoting, only when the cell needs it
+        private void writeCell(String cell) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < cell.length() && !quote; i++) {
+                char c = cell.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                out.write(cell);
+                return;
+            }
+            out.write('"');
+            out.write(cell.replace("\"", "\"\""));
+            out.write('"');
+        }
+
+        private static String cell(Object value) {
+            return value == null ? "" : value.toString();
+        }
+
+        // Free text typed by the user; a leading quote stops spreadsheets evaluating it as a formula
+        private static String userText(String value) {
+            if (value == null || value.isEmpty()) return "";
+            char first = value.charAt(0);
+            return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r'
+                ? "'" + value
+                : value;
+        }
+    }
+
+    private static String text(Object value) {
+        return value == null ? null : value.toString();
+    }
+}
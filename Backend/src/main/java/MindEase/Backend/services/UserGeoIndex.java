@@ -0,0 +1,46 @@
+package MindEase.Backend.services;
+
+import MindEase.Backend.entity.User;
+import MindEase.Backend.repositories.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+/**
+ * In-memory GeoGrid over user locations, warmed from the database at startup and
+ * kept in sync as users are saved.
+ */
+@Component
+public class UserGeoIndex extends GeoGrid {
+    private static final Logger logger = LoggerFactory.getLogger(UserGeoIndex.class);
+
+    private final UserRepository userRepository;
+
+    public UserGeoIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        try (Stream<Object[]> rows = userRepository.streamLocations()) {
+            rows.forEach(row -> put((Long) row[0], (Double) row[1], (Double) row[2]));
+        }
+        logger.info("User geo index warmed with {} users", size());
+    }
+
+    // Keep the index in sync after a user has been saved
+    public void update(User user) {
+        if (user.getId() == null) return;
+        if (user.getLatitude() == null || user.getLongitude() == null) {
+            remove(user.getId());
+        } else {
+            put(user.getId(), user.getLatitude(), user.getLongitude());
+        }
+    }
+}
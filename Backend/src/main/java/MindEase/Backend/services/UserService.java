@@ -1,38 +1,69 @@
 package MindEase.Backend.services;
 
+import MindEase.Backend.dto.UserPage;
+import MindEase.Backend.dto.UserSummary;
+import MindEase.Backend.entity.TodoTask;
 import MindEase.Backend.entity.User;
 import MindEase.Backend.exception.AuthenticationException;
 import MindEase.Backend.repositories.UserRepository;
+import MindEase.Backend.search.DirectorySearchIndex;
+import MindEase.Backend.uniqueness.UniquenessFilter;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class UserService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final double MAX_RADIUS_KM = 100;
+
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final RecommendationParserService recommendationParserService;
+    private final UserGeoIndex userGeoIndex;
+    private final UniquenessFilter uniquenessFilter;
+    private final DirectorySearchIndex directorySearchIndex;
 
     @Autowired
     public UserService(
             UserRepository userRepository,
-            PasswordEncoder passwordEncoder,
-            RecommendationParserService recommendationParserService
+            PasswordHashingService passwordHashingService,
+            RecommendationParserService recommendationParserService,
+            UserGeoIndex userGeoIndex,
+            UniquenessFilter uniquenessFilter,
+            DirectorySearchIndex directorySearchIndex
     ) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.recommendationParserService = recommendationParserService;
+        this.userGeoIndex = userGeoIndex;
+        this.uniquenessFilter = uniquenessFilter;
+        this.directorySearchIndex = directorySearchIndex;
     }
 
     public User loginUser(String username, String password) {
-        return userRepository.findByUsername(username)
-            .filter(user -> passwordEncoder.matches(password, user.getPassword()))
+        User user = userRepository.findByUsername(username)
+            .filter(u -> passwordHashingService.matches(password, u.getPassword()))
             .orElseThrow(() -> new AuthenticationException("Invalid username or password"));
+
+        // Upgrade hashes made with an older work factor while we have the raw password
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            user.setPassword(passwordHashingService.encode(password));
+        }
+        return user;
     }
 
     public User registerUser(User user) {
@@ -48,16 +79,25 @@ public class UserService {
             throw new IllegalArgumentException("Password is required");
         }
 
-        // Check if username already exists
-        if (userRepository.existsByUsername(user.getUsername())) {
+        // Check if username already exists; most new names are ruled out by the filter without a query
+        if (uniquenessFilter.mightHaveUserUsername(user.getUsername())
+                && userRepository.existsByUsername(user.getUsername())) {
             throw new IllegalArgumentException("Username already exists");
         }
 
         // Encode password
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHashingService.encode(user.getPassword()));
 
-        // Save user
-        User savedUser = userRepository.save(user);
+        // Save user, flushing so a name the filter missed is caught by the unique constraint here
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Username already exists");
+        }
+        userGeoIndex.update(savedUser);
+        uniquenessFilter.addUserUsername(savedUser.getUsername());
+        directorySearchIndex.userSaved(savedUser);
 
         // Initialize recommendations if provided
        
@@ -75,10 +115,91 @@ public class UserService {
     public boolean existsByUsername(String username) {
         return userRepository.existsByUsername(username);
     }
+
+    // No transaction of its own, so a name the filter rules out never takes a connection
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public boolean isUsernameAvailable(String username) {
+        return !uniquenessFilter.mightHaveUserUsername(username) || !userRepository.existsByUsername(username);
+    }
     
     // Add this new method to get all users
     @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
-}
\ No newline at end of file
+
+    @Transactional(readOnly = true)
+    public List<UserSummary> getAllUserSummaries() {
+        return userRepository.findAllSummaries();
+    }
+
+    @Transactional(readOnly = true)
+    public UserSummary getUserSummaryById(Long id) {
+        return userRepository.findSummaryById(id)
+            .orElseThrow(() -> new IllegalArgumentException("User not found"));
+    }
+
+    // Parsed once per distinct recommendation text, see RecommendationCache
+    @Transactional(readOnly = true)
+    public Map<TodoTask.TaskCategory, List<String>> getRecommendationSections(Long id) {
+        return recommendationParserService.getSections(getUserById(id).getRecommendations());
+    }
+
+    // Keyset pagination over the admin listing, sort is one of id, username or createdAt
+    @Transactional(readOnly = true)
+    public UserPage getUserPage(Long after, Integer size, String sort) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Pageable limit = PageRequest.of(0, pageSize);
+
+        List<UserSummary> users;
+        switch (sort == null ? "id" : sort) {
+            case "id":
+                users = userRepository.findSummariesOrderById(after, limit);
+                break;
+            case "username":
+                users = userRepository.findSummariesOrderByUsername(after, limit);
+                break;
+            case "createdAt":
+                users = userRepository.findSummariesOrderByCreatedAt(after, limit);
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid sort key: " + sort);
+        }
+
+        Long nextCursor = users.size() < pageSize ? null : users.get(users.size() - 1).getId();
+        return new UserPage(users, nextCursor);
+    }
+
+    // Radius and nearest-neighbour lookups are answered by the in-memory grid, then hydrated by id.
+    // Radius results are cut to the MAX_PAGE_SIZE closest users.
+    @Transactional(readOnly = true)
+    public List<UserSummary> findUsersWithinRadius(double latitude, double longitude, double radiusKm) {
+        checkLocation(latitude, longitude);
+        if (!(radiusKm > 0 && radiusKm <= MAX_RADIUS_KM)) {
+            throw new IllegalArgumentException("radiusKm must be between 0 and " + MAX_RADIUS_KM);
+        }
+        List<UserGeoIndex.Match> matches = userGeoIndex.withinRadius(latitude, longitude, radiusKm);
+        return loadInOrder(matches.subList(0, Math.min(matches.size(), MAX_PAGE_SIZE)));
+    }
+
+    @Transactional(readOnly = true)
+    public List<UserSummary> findNearestUsers(double latitude, double longitude, Integer count) {
+        checkLocation(latitude, longitude);
+        int k = count == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(count, MAX_PAGE_SIZE));
+        return loadInOrder(userGeoIndex.nearest(latitude, longitude, k));
+    }
+
+    private static void checkLocation(double latitude, double longitude) {
+        if (!(Math.abs(latitude) <= 90 && Math.abs(longitude) <= 180)) {
+            throw new IllegalArgumentException("Invalid coordinates");
+        }
+    }
+
+    private List<UserSummary> loadInOrder(List<UserGeoIndex.Match> matches) {
+        if (matches.isEmpty()) return List.of();
+        List<Long> ids = matches.stream().map(UserGeoIndex.Match::userId).collect(Collectors.toList());
+        Map<Long, UserSummary> byId = userRepository.findSummariesByIdIn(ids).stream()
+            .collect(Collectors.toMap(UserSummary::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+}
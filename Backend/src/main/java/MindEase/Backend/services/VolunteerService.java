@@ -4,24 +4,36 @@ package MindEase.Backend.services;
 import MindEase.Backend.entity.Volunteer;
 import MindEase.Backend.exception.AuthenticationException;
 import MindEase.Backend.repositories.VolunteerRepository;
+import MindEase.Backend.search.DirectorySearchIndex;
+import MindEase.Backend.storage.BlobStore;
+import MindEase.Backend.uniqueness.UniquenessFilter;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Locale;
 
 @Service
 @Transactional
 public class VolunteerService {
 
     private final VolunteerRepository volunteerRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final BlobStore blobStore;
+    private final UniquenessFilter uniquenessFilter;
+    private final DirectorySearchIndex directorySearchIndex;
 
     @Autowired
-    public VolunteerService(VolunteerRepository volunteerRepository, PasswordEncoder passwordEncoder) {
+    public VolunteerService(VolunteerRepository volunteerRepository, PasswordHashingService passwordHashingService,
+                            BlobStore blobStore, UniquenessFilter uniquenessFilter,
+                            DirectorySearchIndex directorySearchIndex) {
         this.volunteerRepository = volunteerRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
+        this.blobStore = blobStore;
+        this.uniquenessFilter = uniquenessFilter;
+        this.directorySearchIndex = directorySearchIndex;
     }
 
     public Volunteer registerVolunteer(Volunteer volunteer) {
@@ -46,32 +58,62 @@ public class VolunteerService {
             throw new IllegalArgumentException("Full name is required");
         }
 
-        // Check for existing username or email
-        if (volunteerRepository.existsByUsername(volunteer.getUsername())) {
+        // Check for existing username or email, querying only for what the filter cannot rule out
+        if (uniquenessFilter.mightHaveVolunteerUsername(volunteer.getUsername())
+                && volunteerRepository.existsByUsername(volunteer.getUsername())) {
             throw new IllegalArgumentException("Username already exists");
         }
         
-        if (volunteerRepository.existsByEmail(volunteer.getEmail())) {
+        if (uniquenessFilter.mightHaveVolunteerEmail(volunteer.getEmail())
+                && volunteerRepository.existsByEmail(volunteer.getEmail())) {
             throw new IllegalArgumentException("Email already exists");
         }
 
         // Encode password
-        volunteer.setPassword(passwordEncoder.encode(volunteer.getPassword()));
+        volunteer.setPassword(passwordHashingService.encode(volunteer.getPassword()));
         
+        // Store uploaded documents as raw binary blobs, keeping only references in the row
+        BlobStore.StoredBlob certificate = blobStore.putBase64(volunteer.getCertificateImage());
+        if (certificate != null) {
+            volunteer.setCertificateImageRef(certificate.hash());
+            volunteer.setCertificateImageType(certificate.contentType());
+        }
+        BlobStore.StoredBlob idProof = blobStore.putBase64(volunteer.getIdProofImage());
+        if (idProof != null) {
+            volunteer.setIdProofImageRef(idProof.hash());
+            volunteer.setIdProofImageType(idProof.contentType());
+        }
+
         // Set default values
         volunteer.setApproved(false);
         volunteer.setActive(false);
 
-        // Save volunteer
-        return volunteerRepository.save(volunteer);
+        // Save volunteer, flushing so a duplicate the filter missed is caught by the unique constraints here
+        Volunteer saved;
+        try {
+            saved = volunteerRepository.saveAndFlush(volunteer);
+        } catch (DataIntegrityViolationException e) {
+            String message = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+            throw new IllegalArgumentException(message.contains("uk_volunteers_email")
+                ? "Email already exists" : "Username already exists");
+        }
+        uniquenessFilter.addVolunteer(saved.getUsername(), saved.getEmail());
+        directorySearchIndex.volunteerSaved(saved);
+        return saved;
     }
 
     public Volunteer loginVolunteer(String username, String password) {
-        return volunteerRepository.findByUsername(username)
-            .filter(volunteer -> passwordEncoder.matches(password, volunteer.getPassword()))
+        Volunteer volunteer = volunteerRepository.findByUsername(username)
+            .filter(v -> passwordHashingService.matches(password, v.getPassword()))
             .filter(Volunteer::getApproved)
             .filter(Volunteer::getActive)
             .orElseThrow(() -> new AuthenticationException("Invalid username or password, or account not approved yet"));
+
+        // Upgrade hashes made with an older work factor while we have the raw password
+        if (passwordHashingService.needsRehash(volunteer.getPassword())) {
+            volunteer.setPassword(passwordHashingService.encode(password));
+        }
+        return volunteer;
     }
 
     public List<Volunteer> getPendingVolunteers() {
@@ -82,6 +124,12 @@ public class VolunteerService {
         return volunteerRepository.findByApprovedAndActive(true, true);
     }
 
+    // ETag of getApprovedVolunteers from a count/sum probe, without loading the volunteers
+    @Transactional(readOnly = true)
+    public String getApprovedVolunteersETag() {
+        return volunteerRepository.findVersionByApprovedAndActive(true, true).toETag("approved");
+    }
+
     public Volunteer approveVolunteer(Long id) {
         Volunteer volunteer = volunteerRepository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Volunteer not found"));
@@ -106,6 +154,7 @@ public class VolunteerService {
     
     public void deleteVolunteer(Long id) {
         volunteerRepository.deleteById(id);
+        directorySearchIndex.volunteerDeleted(id);
     }
     
     public Volunteer getVolunteerById(Long id) {
@@ -0,0 +1,112 @@
+package MindEase.Backend.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed file store. Each blob is written once under its SHA-256
+ * hex digest (sharded as ab/cd/abcd...), so identical uploads share a file.
+ */
+@Component
+public class BlobStore {
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final String FALLBACK_TYPE = "application/octet-stream";
+    // Blobs are served from the API origin, so only types a browser will not run as a page
+    private static final Set<String> SERVED_TYPES = Set.of("image/png", "image/jpeg", "application/pdf");
+
+    public record StoredBlob(String hash, String contentType) {}
+
+    private final Path root;
+
+    public BlobStore(@Value("${blobstore.root:./data/blobs}") String root) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+    }
+
+    public String put(byte[] data) {
+        String hash = sha256(data);
+        Path target = resolve(hash);
+        if (Files.exists(target)) {
+            return hash;
+        }
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), hash, ".tmp");
+            Files.write(temp, data);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Written concurrently by another upload of the same content
+                Files.deleteIfExists(temp);
+            }
+            return hash;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store blob " + hash, e);
+        }
+    }
+
+    // Accepts either a data URL (data:image/png;base64,...) or plain base64
+    public StoredBlob putBase64(String encoded) {
+        if (encoded == null || encoded.isBlank()) {
+            return null;
+        }
+        String contentType = FALLBACK_TYPE;
+        String payload = encoded;
+        if (encoded.startsWith("data:")) {
+            int comma = encoded.indexOf(',');
+            if (comma < 0) {
+                throw new IllegalArgumentException("Invalid data URL");
+            }
+            String header = encoded.substring(5, comma);
+            int semicolon = header.indexOf(';');
+            if (semicolon > 0) {
+                contentType = header.substring(0, semicolon);
+            } else if (!header.isEmpty()) {
+                contentType = header;
+            }
+            payload = encoded.substring(comma + 1);
+        }
+        byte[] data = Base64.getMimeDecoder().decode(payload);
+        return new StoredBlob(put(data), servedType(contentType));
+    }
+
+    // The client-declared type if it is one we serve as-is, otherwise plain bytes
+    public static String servedType(String contentType) {
+        String type = contentType == null ? "" : contentType.trim().toLowerCase(Locale.ROOT);
+        return SERVED_TYPES.contains(type) ? type : FALLBACK_TYPE;
+    }
+
+    public Path resolve(String hash) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Invalid blob reference");
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    public boolean exists(String hash) {
+        return Files.exists(resolve(hash));
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package MindEase.Backend.storage;
+
+import MindEase.Backend.entity.Volunteer;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Moves base64 images still stored in the legacy volunteers.certificate_image
+ * and volunteers.id_proof_image columns into the BlobStore, one batch per
+ * transaction, clearing each legacy column once its image is stored. Images
+ * that cannot be stored stay where they are and are retried at the next start.
+ */
+@Component
+public class VolunteerImageMigration {
+    private static final Logger logger = LoggerFactory.getLogger(VolunteerImageMigration.class);
+
+    // Rows examined by one batch: how many, the last id seen, and how many still hold a legacy image
+    record Batch(int rows, long lastId, int kept) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final BlobStore blobStore;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public VolunteerImageMigration(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            EntityManagerFactory entityManagerFactory,
+            BlobStore blobStore,
+            @Value("${blobstore.migration.enabled:true}") boolean enabled,
+            @Value("${blobstore.migration.batch-size:50}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.blobStore = blobStore;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        if (!enabled || !legacyColumnsExist()) {
+            return;
+        }
+        int total = 0;
+        int kept = 0;
+        long afterId = Long.MIN_VALUE;
+        Batch batch;
+        do {
+            long from = afterId;
+            batch = transactionTemplate.execute(status -> migrateBatch(from));
+            // Walking by id passes over rows whose images had to stay, so the loop always ends
+            afterId = batch.lastId();
+            total += batch.rows() - batch.kept();
+            kept += batch.kept();
+        } while (batch.rows() == batchSize);
+        if (total + kept > 0) {
+            // Rows were rewritten behind Hibernate's back, so drop any cached copies
+            entityManagerFactory.getCache().evict(Volunteer.class);
+            logger.info("Moved images of {} volunteers into the blob store", total);
+        }
+        if (kept > 0) {
+            logger.warn("{} volunteers still have images in the legacy columns, they are retried at the next start", kept);
+        }
+    }
+
+    Batch migrateBatch(long afterId) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+            "SELECT id, certificate_image, id_proof_image FROM volunteers " +
+            "WHERE (certificate_image IS NOT NULL OR id_proof_image IS NOT NULL) AND id > ? " +
+            "ORDER BY id LIMIT ?", afterId, batchSize);
+
+        List<Object[]> updates = new ArrayList<>(rows.size());
+        int kept = 0;
+        for (Map<String, Object> row : rows) {
+            BlobStore.StoredBlob certificate = storeQuietly(row, "certificate_image");
+            BlobStore.StoredBlob idProof = storeQuietly(row, "id_proof_image");
+            // A column is only cleared once its image is in the blob store, or when it is blank
+            Object certificateLeft = left(row, "certificate_image", certificate);
+            Object idProofLeft = left(row, "id_proof_image", idProof);
+            if (certificateLeft != null || idProofLeft != null) {
+                kept++;
+            }
+            if (Objects.equals(certificateLeft, row.get("certificate_image"))
+                    && Objects.equals(idProofLeft, row.get("id_proof_image"))) {
+                continue;
+            }
+            updates.add(new Object[] {
+                certificate != null ? certificate.hash() : null,
+                certificate != null ? certificate.contentType() : null,
+                idProof != null ? idProof.hash() : null,
+                idProof != null ? idProof.contentType() : null,
+                certificateLeft,
+                idProofLeft,
+                row.get("id")
+            });
+        }
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                "UPDATE volunteers SET " +
+                "certificate_image_ref = COALESCE(?, certificate_image_ref), " +
+                "certificate_image_type = COALESCE(?, certificate_image_type), " +
+                "id_proof_image_ref = COALESCE(?, id_proof_image_ref), " +
+                "id_proof_image_type = COALESCE(?, id_proof_image_type), " +
+                "certificate_image = ?, id_proof_image = ?, " +
+                // The image URLs in the JSON change, so bump the version that list ETags are derived from
+                "version = COALESCE(version, 0) + 1 WHERE id = ?", updates);
+        }
+        long lastId = rows.isEmpty() ? afterId : ((Number) rows.get(rows.size() - 1).get("id")).longValue();
+        return new Batch(rows.size(), lastId, kept);
+    }
+
+    private static Object left(Map<String, Object> row, String column, BlobStore.StoredBlob stored) {
+        Object value = row.get(column);
+        return stored != null || value == null || value.toString().isBlank() ? null : value;
+    }
+
+    // Null when the column is empty or the image could not be stored
+    private BlobStore.StoredBlob storeQuietly(Map<String, Object> row, String column) {
+        Object value = row.get(column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return blobStore.putBase64(value.toString());
+        } catch (IllegalArgumentException | UncheckedIOException e) {
+            logger.warn("Could not move {} of volunteer {} into the blob store: {}", column, row.get("id"), e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean legacyColumnsExist() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((Connection connection) -> {
+            return hasColumn(connection, "certificate_image") && hasColumn(connection, "id_proof_image");
+        }));
+    }
+
+    private static boolean hasColumn(Connection connection, String column) throws SQLException {
+        for (String name : new String[] { column, column.toUpperCase() }) {
+            try (ResultSet columns = connection.getMetaData().getColumns(null, null, "%", name)) {
+                while (columns.next()) {
+                    if ("volunteers".equalsIgnoreCase(columns.getString("TABLE_NAME"))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
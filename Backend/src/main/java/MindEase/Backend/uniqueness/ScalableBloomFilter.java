@@ -0,0 +1,141 @@
+package MindEase.Backend.uniqueness;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter that grows as keys are added (Almeida et al., "Scalable Bloom Filters").
+ * Keys go into the newest layer; once it holds its capacity a new layer twice as large,
+ * with half the false-positive rate, is started. A lookup checks every layer, so the
+ * overall false-positive rate stays below twice the configured one however many keys
+ * arrive, and there are never false negatives. Adds and lookups are lock-free; only
+ * starting a new layer takes a lock.
+ */
+public class ScalableBloomFilter {
+
+    private static final int GROWTH = 2;
+    private static final double TIGHTENING = 0.5;
+
+    private final Object growLock = new Object();
+    private volatile Layer[] layers;
+
+    public ScalableBloomFilter(int initialCapacity, double falsePositiveRate) {
+        if (initialCapacity < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("capacity must be positive and the false-positive rate in (0, 1)");
+        }
+        this.layers = new Layer[] { new Layer(initialCapacity, falsePositiveRate) };
+    }
+
+    public void add(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        Layer[] current = layers;
+        // A key in an older layer is already present; adding it again would only fill the new one
+        for (int i = 0; i < current.length - 1; i++) {
+            if (current[i].contains(h1, h2)) return;
+        }
+        Layer last = current[current.length - 1];
+        if (last.add(h1, h2) && last.count.get() >= last.capacity) {
+            grow(last);
+        }
+    }
+
+    public boolean mightContain(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (Layer layer : layers) {
+            if (layer.contains(h1, h2)) return true;
+        }
+        return false;
+    }
+
+    // Keys that set at least one new bit; duplicates and most false positives are not counted
+    public long approximateSize() {
+        long size = 0;
+        for (Layer layer : layers) size += layer.count.get();
+        return size;
+    }
+
+    public int layerCount() {
+        return layers.length;
+    }
+
+    public long bitCount() {
+        long bits = 0;
+        for (Layer layer : layers) bits += layer.bits;
+        return bits;
+    }
+
+    private void grow(Layer full) {
+        synchronized (growLock) {
+            Layer[] current = layers;
+            if (current[current.length - 1] != full) return;
+            Layer[] next = new Layer[current.length + 1];
+            System.arraycopy(current, 0, next, 0, current.length);
+            long capacity = Math.min(Integer.MAX_VALUE, (long) full.capacity * GROWTH);
+            next[current.length] = new Layer((int) capacity, full.falsePositiveRate * TIGHTENING);
+            layers = next;
+        }
+    }
+
+    // FNV-1a over the UTF-8 bytes, finished with the SplitMix64 mixer for better low bits
+    private static long hash(String key) {
+        long h = 0xCBF29CE484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xFF;
+            h *= 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // One fixed-size filter; the k bit positions come from h1 + i * h2 (Kirsch and Mitzenmacher)
+    private static final class Layer {
+        final int capacity;
+        final double falsePositiveRate;
+        final long bits;
+        final int hashes;
+        final AtomicLongArray words;
+        final AtomicInteger count = new AtomicInteger();
+
+        Layer(int capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            double ln2 = Math.log(2);
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+            this.bits = Math.max(64, (optimalBits + 63) / 64 * 64);
+            this.hashes = Math.max(1, (int) Math.round((double) bits / capacity * ln2));
+            this.words = new AtomicLongArray((int) (bits / 64));
+        }
+
+        boolean add(long h1, long h2) {
+            boolean changed = false;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bits);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long old = words.get(word);
+                if ((old & mask) == 0) {
+                    words.getAndUpdate(word, w -> w | mask);
+                    changed = true;
+                }
+            }
+            if (changed) count.incrementAndGet();
+            return changed;
+        }
+
+        boolean contains(long h1, long h2) {
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bits);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+            }
+            return true;
+        }
+    }
+}
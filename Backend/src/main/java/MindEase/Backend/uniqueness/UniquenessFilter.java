@@ -0,0 +1,106 @@
+package MindEase.Backend.uniqueness;
+
+import MindEase.Backend.repositories.UserRepository;
+import MindEase.Backend.repositories.VolunteerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filters over user usernames, volunteer usernames and volunteer emails, so that
+ * registration and the username-available check can answer "definitely free" without a
+ * query. A "might exist" answer falls through to the repository. Until the first load
+ * has finished everything might exist.
+ * <p>
+ * The filters are loaded at startup and reloaded periodically to pick up rows written by
+ * other instances; in between, the unique constraints on the tables still reject a
+ * duplicate the filter did not know about.
+ */
+@Component
+public class UniquenessFilter {
+    private static final Logger logger = LoggerFactory.getLogger(UniquenessFilter.class);
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final UserRepository userRepository;
+    private final VolunteerRepository volunteerRepository;
+    private final ScalableBloomFilter userUsernames;
+    private final ScalableBloomFilter volunteerUsernames;
+    private final ScalableBloomFilter volunteerEmails;
+    private volatile boolean loaded;
+
+    public UniquenessFilter(
+            UserRepository userRepository,
+            VolunteerRepository volunteerRepository,
+            @Value("${uniqueness.filter.initial-capacity:100000}") int initialCapacity,
+            @Value("${uniqueness.filter.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        this.userRepository = userRepository;
+        this.volunteerRepository = volunteerRepository;
+        this.userUsernames = new ScalableBloomFilter(initialCapacity, falsePositiveRate);
+        this.volunteerUsernames = new ScalableBloomFilter(initialCapacity, falsePositiveRate);
+        this.volunteerEmails = new ScalableBloomFilter(initialCapacity, falsePositiveRate);
+    }
+
+    // Rows only ever add bits, so a reload into the same filters is safe while they are in use
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${uniqueness.filter.reload-interval-ms:300000}",
+               fixedDelayString = "${uniqueness.filter.reload-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public void load() {
+        try (Stream<Object[]> rows = userRepository.streamIdentities()) {
+            rows.forEach(row -> addUserUsername((String) row[1]));
+        }
+        try (Stream<Object[]> rows = volunteerRepository.streamIdentities()) {
+            rows.forEach(row -> addVolunteer((String) row[1], (String) row[3]));
+        }
+        if (!loaded) {
+            loaded = true;
+            logger.info("Uniqueness filters loaded with {} user and {} volunteer usernames",
+                userUsernames.approximateSize(), volunteerUsernames.approximateSize());
+        }
+    }
+
+    public boolean mightHaveUserUsername(String username) {
+        return !loaded || userUsernames.mightContain(key(username));
+    }
+
+    public boolean mightHaveVolunteerUsername(String username) {
+        return !loaded || volunteerUsernames.mightContain(key(username));
+    }
+
+    public boolean mightHaveVolunteerEmail(String email) {
+        return !loaded || volunteerEmails.mightContain(key(email));
+    }
+
+    public void addUserUsername(String username) {
+        if (username != null) userUsernames.add(key(username));
+    }
+
+    public void addVolunteer(String username, String email) {
+        if (username != null) volunteerUsernames.add(key(username));
+        if (email != null) volunteerEmails.add(key(email));
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // At least as coarse as MySQL's default case- and accent-insensitive collation, so a
+    // name the database would call equal always lands on the same bits. Bulk import uses it
+    // to match names within a file and against the rows its IN queries return
+    public static String key(String value) {
+        String stripped = MARKS.matcher(Normalizer.normalize(value.strip(), Normalizer.Form.NFKD)).replaceAll("");
+        return stripped.toLowerCase(Locale.ROOT);
+    }
+}
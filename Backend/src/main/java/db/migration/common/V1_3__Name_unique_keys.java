@@ -0,0 +1,77 @@
+package db.migration.common;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Gives the username and email unique keys the names VolunteerService and
+ * BulkImportService match duplicate errors against. Databases created by
+ * ddl-auto=update carry Hibernate's hashed names, which a SQL script cannot
+ * refer to, so they are looked up first; keys already named correctly are left alone.
+ */
+public class V1_3__Name_unique_keys extends BaseJavaMigration {
+
+    // table, column, wanted constraint name
+    private static final List<String[]> UNIQUE_KEYS = List.of(
+        new String[] { "admins", "username", "uk_admins_username" },
+        new String[] { "users", "username", "uk_users_username" },
+        new String[] { "volunteers", "username", "uk_volunteers_username" },
+        new String[] { "volunteers", "email", "uk_volunteers_email" }
+    );
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        String schema = connection.getSchema() != null ? connection.getSchema() : connection.getCatalog();
+        boolean mysql = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("mysql");
+        try (Statement statement = connection.createStatement()) {
+            for (String[] key : UNIQUE_KEYS) {
+                String current = singleColumnUniqueKey(connection, schema, key[0], key[1]);
+                if (current == null || current.equalsIgnoreCase(key[2])) continue;
+                if (mysql) {
+                    // A unique key is an index in MySQL, so renaming it does not rebuild anything
+                    statement.execute("alter table " + key[0] + " rename index `" + current + "` to " + key[2]);
+                } else {
+                    // H2 names the backing index after the constraint only when it is created
+                    statement.execute("alter table " + key[0] + " drop constraint \"" + current + "\"");
+                    statement.execute("alter table " + key[0] + " add constraint " + key[2] + " unique (" + key[1] + ")");
+                }
+            }
+        }
+    }
+
+    private static String singleColumnUniqueKey(Connection connection, String schema, String table, String column)
+            throws SQLException {
+        Map<String, StringBuilder> columns = new LinkedHashMap<>();
+        try (PreparedStatement query = connection.prepareStatement(
+                "select tc.constraint_name, k.column_name from information_schema.table_constraints tc "
+                    + "join information_schema.key_column_usage k on k.constraint_schema = tc.constraint_schema "
+                    + "and k.constraint_name = tc.constraint_name and k.table_name = tc.table_name "
+                    + "where tc.constraint_type = 'UNIQUE' and lower(tc.table_schema) = lower(?) "
+                    + "and lower(tc.table_name) = ?")) {
+            query.setString(1, schema);
+            query.setString(2, table);
+            try (ResultSet rows = query.executeQuery()) {
+                while (rows.next()) {
+                    columns.computeIfAbsent(rows.getString(1), name -> new StringBuilder())
+                        .append(',').append(rows.getString(2).toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        String wanted = "," + column;
+        return columns.entrySet().stream()
+            .filter(e -> e.getValue().toString().equals(wanted))
+            .map(Map.Entry::getKey)
+            .findFirst().orElse(null);
+    }
+}
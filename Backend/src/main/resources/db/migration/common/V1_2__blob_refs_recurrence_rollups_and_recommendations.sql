@@ -0,0 +1,36 @@
+-- Schema added on top of the baseline: blob store references for volunteer images,
+-- generated instances of recurring tasks, assessment rollups and parsed recommendations.
+-- The legacy image columns stay until VolunteerImageMigration has emptied them.
+alter table volunteers add column certificate_image_ref varchar(64);
+alter table volunteers add column certificate_image_type varchar(255);
+alter table volunteers add column id_proof_image_ref varchar(64);
+alter table volunteers add column id_proof_image_type varchar(255);
+
+alter table todo_tasks add column template_id bigint;
+alter table todo_tasks add column occurrence_date date;
+alter table todo_tasks add constraint uk_todo_tasks_template_occurrence unique (template_id, occurrence_date);
+
+create index idx_users_location on users (latitude, longitude);
+create index idx_assessments_user_created on assessments (user_id, created_at);
+
+create table assessment_rollups (
+    user_id bigint not null,
+    assessment_type varchar(255) not null,
+    assessment_count bigint not null,
+    latest_score integer,
+    min_score integer,
+    max_score integer,
+    score_sum bigint not null,
+    moving_average float(53),
+    last_risk_level varchar(255),
+    last_assessed_at datetime(6),
+    primary key (user_id, assessment_type)
+) engine=InnoDB;
+
+create table parsed_recommendations (
+    content_hash varchar(64) not null,
+    format_version integer not null,
+    payload TEXT not null,
+    created_at datetime(6) not null,
+    primary key (content_hash)
+) engine=InnoDB;
@@ -0,0 +1,83 @@
+-- Schema as previously created by ddl-auto=update, before Flyway owned it. Existing
+-- databases are baselined at this version (spring.flyway.baseline-version) and skip
+-- this script; everything after it upgrades both them and new databases alike.
+-- Written in MySQL syntax, which the H2 test database accepts in MySQL mode.
+
+create table admins (
+    id bigint not null auto_increment,
+    created_at datetime(6) not null,
+    updated_at datetime(6),
+    version bigint,
+    username varchar(50) not null,
+    email varchar(255),
+    full_name varchar(255),
+    password varchar(255) not null,
+    primary key (id),
+    constraint uk_admins_username unique (username)
+) engine=InnoDB;
+
+create table users (
+    id bigint not null auto_increment,
+    created_at datetime(6) not null,
+    updated_at datetime(6),
+    version bigint,
+    username varchar(50) not null,
+    password varchar(255) not null,
+    latitude float(53),
+    longitude float(53),
+    recommendations TEXT,
+    primary key (id),
+    constraint uk_users_username unique (username)
+) engine=InnoDB;
+
+-- certificate_image and id_proof_image hold base64 data URLs; VolunteerImageMigration
+-- moves them into the blob store
+create table volunteers (
+    id bigint not null auto_increment,
+    created_at datetime(6) not null,
+    updated_at datetime(6),
+    version bigint,
+    username varchar(50) not null,
+    password varchar(255) not null,
+    email varchar(255) not null,
+    full_name varchar(255) not null,
+    credentials varchar(255),
+    specialization varchar(255),
+    experience integer,
+    certificate_image LONGTEXT,
+    id_proof_image LONGTEXT,
+    active bit,
+    approved bit,
+    rejection_reason varchar(255),
+    primary key (id),
+    constraint uk_volunteers_username unique (username),
+    constraint uk_volunteers_email unique (email)
+) engine=InnoDB;
+
+create table assessments (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    assessment_type varchar(255) not null,
+    score integer not null,
+    risk_level varchar(255),
+    follow_up_date date,
+    suggestions JSON,
+    created_at datetime(6) not null,
+    primary key (id),
+    constraint fk_assessments_user foreign key (user_id) references users (id)
+) engine=InnoDB;
+
+create table todo_tasks (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    task TEXT not null,
+    category enum ('DAILY','WEEKLY','MONTHLY','SOCIAL','SELF_CARE','PROFESSIONAL') not null,
+    scheduled_date datetime(6) not null,
+    completed bit not null,
+    recurring bit not null,
+    recurrence_pattern varchar(255),
+    source_assessment_id bigint,
+    created_at datetime(6) not null,
+    primary key (id),
+    constraint fk_todo_tasks_user foreign key (user_id) references users (id)
+) engine=InnoDB;
@@ -0,0 +1,11 @@
+-- Composite indexes for the per-user lookups in TodoTaskRepository. Each leads
+-- with user_id, so it also serves the foreign key. The matching assessments
+-- index (user_id, created_at) already shipped with the baseline.
+create index idx_todo_tasks_user_scheduled on todo_tasks (user_id, scheduled_date);
+create index idx_todo_tasks_user_recurring on todo_tasks (user_id, recurring);
+create index idx_todo_tasks_user_category on todo_tasks (user_id, category);
+create index idx_todo_tasks_user_assessment on todo_tasks (user_id, source_assessment_id);
+
+-- Volunteer approval listings and the admin user page sorted by creation time
+create index idx_volunteers_approved_active on volunteers (approved, active);
+create index idx_users_created on users (created_at, id);
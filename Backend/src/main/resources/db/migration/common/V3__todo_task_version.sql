@@ -0,0 +1,3 @@
+-- Optimistic-lock version on tasks, which also lets list endpoints derive an ETag
+-- from (count, sum of ids, sum of versions) without reading the rows themselves.
+alter table todo_tasks add column version bigint not null default 0;
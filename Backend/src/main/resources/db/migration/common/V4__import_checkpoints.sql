@@ -0,0 +1,9 @@
+-- Progress of bulk CSV imports: rows_done counts the data rows already handled, and is
+-- written in the same transaction as each chunk, so a resumed import skips exactly those.
+create table import_checkpoints (
+    import_id varchar(100) not null,
+    kind varchar(32) not null,
+    rows_done bigint not null,
+    updated_at datetime(6) not null,
+    primary key (import_id)
+) engine=InnoDB;
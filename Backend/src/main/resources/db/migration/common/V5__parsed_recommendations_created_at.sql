@@ -0,0 +1,2 @@
+-- Lets RecommendationCache.purgeExpired find rows past their retention without scanning the table
+create index idx_parsed_recommendations_created_at on parsed_recommendations (created_at);
@@ -0,0 +1,8 @@
+create sequence base_entity_seq start with 1 increment by 50;
+create sequence assessments_seq start with 1 increment by 50;
+create sequence todo_tasks_seq start with 1 increment by 50;
+
+-- H2 reports ENUM columns as OTHER, which schema validation rejects; MySQL keeps the enum
+alter table todo_tasks modify column category varchar(255) not null;
+-- In MySQL mode H2 reads TEXT as VARCHAR, but the @Lob mapping expects a CLOB
+alter table users modify column recommendations clob;
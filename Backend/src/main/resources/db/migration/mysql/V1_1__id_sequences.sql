@@ -0,0 +1,14 @@
+-- MySQL has no sequences; Hibernate emulates each one as a single-row table.
+-- Baselined databases already hold ids from the old IDENTITY columns, so each
+-- sequence starts past the highest one plus an allocation block.
+create table base_entity_seq (next_val bigint) engine=InnoDB;
+insert into base_entity_seq select 51 + greatest(
+    (select coalesce(max(id), 0) from users),
+    (select coalesce(max(id), 0) from volunteers),
+    (select coalesce(max(id), 0) from admins));
+
+create table assessments_seq (next_val bigint) engine=InnoDB;
+insert into assessments_seq select 51 + coalesce(max(id), 0) from assessments;
+
+create table todo_tasks_seq (next_val bigint) engine=InnoDB;
+insert into todo_tasks_seq select 51 + coalesce(max(id), 0) from todo_tasks;
@@ -0,0 +1,257 @@
+package MindEase.Backend.bulkimport;
+
+import MindEase.Backend.dto.ImportReport;
+import MindEase.Backend.dto.ImportRowError;
+import MindEase.Backend.dto.ImportStatus;
+import MindEase.Backend.entity.TodoTask;
+import MindEase.Backend.entity.User;
+import MindEase.Backend.entity.Volunteer;
+import MindEase.Backend.exception.ResourceNotFoundException;
+import MindEase.Backend.repositories.ImportCheckpointRepository;
+import MindEase.Backend.repositories.TodoTaskRepository;
+import MindEase.Backend.repositories.UserRepository;
+import MindEase.Backend.repositories.VolunteerRepository;
+import MindEase.Backend.search.DirectorySearchIndex;
+import MindEase.Backend.services.PasswordHashingService;
+import MindEase.Backend.services.UserGeoIndex;
+import MindEase.Backend.services.UserService;
+import MindEase.Backend.uniqueness.UniquenessFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Small chunks, so the files below span several of them
+@SpringBootTest(properties = "import.chunk-size=3")
+class BulkImportServiceTest {
+
+    @Autowired
+    private BulkImportService importService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VolunteerRepository volunteerRepository;
+
+    @Autowired
+    private TodoTaskRepository todoTaskRepository;
+
+    @Autowired
+    private ImportCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private UniquenessFilter uniquenessFilter;
+
+    @Autowired
+    private DirectorySearchIndex directorySearchIndex;
+
+    @Autowired
+    private UserGeoIndex userGeoIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ImportReport importCsv(BulkImportService.Kind kind, String csv, String importId) throws IOException {
+        return importService.importCsv(kind, new StringReader(csv), importId);
+    }
+
+    private static List<ImportRowError> errors(Object... lineAndMessage) {
+        List<ImportRowError> errors = new ArrayList<>();
+        for (int i = 0; i < lineAndMessage.length; i += 2) {
+            errors.add(new ImportRowError(((Number) lineAndMessage[i]).longValue(), (String) lineAndMessage[i + 1]));
+        }
+        return errors;
+    }
+
+    @Test
+    void importsUsersAndReportsEachRejectedRow() throws IOException {
+        userService.registerUser(User.builder().username("import-taken").password("secret123").build());
+
+        ImportReport report = importCsv(BulkImportService.Kind.USERS, """
+            username,password,latitude,longitude
+            import-alice,secret123,12.97,77.59
+            import-bob,short,,
+            Import-Alice,secret123,,
+            import-carol,secret123,91,10
+            import-dave,secret123,12.9,
+            "import-erin",secret123,,
+            import-taken,secret123,,
+            import-frank,secret123
+            """, "users-report");
+
+        assertEquals(2, report.getImported());
+        assertEquals(6, report.getFailed());
+        assertEquals(errors(
+            3, "Password must be at least 6 characters long",
+            4, "Username also on line 2",
+            5, "Latitude must be between -90 and 90: 91",
+            6, "Latitude and longitude must be given together",
+            8, "Username already exists",
+            9, "Expected 4 fields but found 2"), report.getErrors());
+        assertEquals(8, checkpointRepository.findById("users-report").orElseThrow().getRowsDone());
+
+        User alice = userRepository.findByUsername("import-alice").orElseThrow();
+        assertTrue(passwordHashingService.matches("secret123", alice.getPassword()));
+        assertTrue(userRepository.findByUsername("import-erin").isPresent());
+        assertFalse(userRepository.findByUsername("import-bob").isPresent());
+
+        // The in-memory indexes learn about imported users as registration would tell them
+        assertTrue(uniquenessFilter.mightHaveUserUsername("import-erin"));
+        assertEquals("import-erin", directorySearchIndex.searchUsers("import-erin", 5).get(0).getUsername());
+        assertEquals(alice.getId(), userGeoIndex.nearest(12.97, 77.59, 1).get(0).userId());
+    }
+
+    @Test
+    void resumesAfterTheRowsAnEarlierRunHandled() throws IOException {
+        String header = "username,password\n";
+        String firstRows = "import-resume-1,secret123\nimport-resume-2,secret123\n"
+            + "import-resume-3,secret123\nimport-resume-4,secret123\n";
+        String laterRows = "import-resume-5,secret123\n\nimport-resume-6,secret123\n";
+
+        // The first upload was cut off after four rows
+        ImportReport first = importCsv(BulkImportService.Kind.USERS, header + firstRows, "resume");
+        assertEquals(4, first.getImported());
+
+        ImportReport resumed = importCsv(BulkImportService.Kind.USERS, header + firstRows + laterRows, "resume");
+        assertEquals(4, resumed.getResumedFrom());
+        assertEquals(2, resumed.getImported());
+        assertEquals(List.of(), resumed.getErrors());
+        assertTrue(userRepository.findByUsername("import-resume-6").isPresent());
+
+        IllegalArgumentException kind = assertThrows(IllegalArgumentException.class, () ->
+            importCsv(BulkImportService.Kind.TASKS, "username,task,category\n", "resume"));
+        assertEquals("Import resume was started as a users import", kind.getMessage());
+    }
+
+    @Test
+    void namesTakenBehindTheFiltersBackAreFoundRowByRow() throws IOException {
+        // Written by another instance, so neither the filter nor the IN query's caller expects it
+        jdbcTemplate.update("INSERT INTO users (id, created_at, username, password) "
+            + "VALUES (910001, CURRENT_TIMESTAMP, 'import-elsewhere', 'x')");
+        assertFalse(uniquenessFilter.mightHaveUserUsername("import-elsewhere"));
+
+        ImportReport report = importCsv(BulkImportService.Kind.USERS, """
+            username,password
+            import-before,secret123
+            import-elsewhere,secret123
+            import-after,secret123
+            """, null);
+
+        assertEquals(2, report.getImported());
+        assertEquals(errors(3, "Username already exists"), report.getErrors());
+        assertTrue(userRepository.findByUsername("import-after").isPresent());
+        assertEquals(3, checkpointRepository.findById(report.getImportId()).orElseThrow().getRowsDone());
+    }
+
+    @Test
+    void importsVolunteersAwaitingApproval() throws IOException {
+        ImportReport report = importCsv(BulkImportService.Kind.VOLUNTEERS, """
+            username,password,email,full_name,experience
+            import-vol-1,secret123,vol1@example.com,Vol One,4
+            import-vol-2,secret123,VOL1@example.com,Vol Two,
+            import-vol-3,secret123,not-an-email,Vol Three,
+            import-vol-4,secret123,vol4@example.com,Vol Four,lots
+            """, null);
+
+        assertEquals(1, report.getImported());
+        assertEquals(errors(
+            3, "Email also on line 2",
+            4, "Email should be valid",
+            5, "Experience must be a whole number of years: lots"), report.getErrors());
+        Volunteer volunteer = volunteerRepository.findByUsername("import-vol-1").orElseThrow();
+        assertFalse(volunteer.getApproved());
+        assertEquals(4, volunteer.getExperience());
+        assertTrue(uniquenessFilter.mightHaveVolunteerEmail("vol1@example.com"));
+    }
+
+    @Test
+    void importsTasksForKnownUsers() throws IOException {
+        User owner = userService.registerUser(User.builder().username("import-task-owner").password("secret123").build());
+
+        ImportReport report = importCsv(BulkImportService.Kind.TASKS, """
+            username,task,category,scheduled_date,recurring,recurrence_pattern
+            import-task-owner,Morning walk,daily,2024-05-01T07:30,true,daily
+            import-task-owner,Call a friend,SOCIAL,2024-05-02,,
+            import-nobody,Read,DAILY,,,
+            import-task-owner,Read,HOBBY,,,
+            import-task-owner,Read,DAILY,May 3rd,,
+            import-task-owner,,DAILY,,,
+            import-task-owner,Stretch,DAILY,,true,
+            import-task-owner,Stretch,DAILY,,true,HOURLY
+            """, null);
+
+        assertEquals(2, report.getImported());
+        assertEquals(errors(
+            4, "Unknown user: import-nobody",
+            5, "Unknown category: HOBBY",
+            6, "Invalid scheduled_date, expected 2024-05-01 or 2024-05-01T09:30: May 3rd",
+            7, "Task description is required",
+            8, "Recurring tasks need a recurrence_pattern",
+            9, "Unknown recurrence_pattern, expected DAILY, WEEKLY, MONTHLY: HOURLY"), report.getErrors());
+        List<TodoTask> tasks = todoTaskRepository.findByUserIdAndCategory(owner.getId(), TodoTask.TaskCategory.DAILY);
+        assertEquals(1, tasks.size());
+        assertTrue(tasks.get(0).isRecurring());
+        assertEquals("DAILY", tasks.get(0).getRecurrencePattern());
+    }
+
+    @Test
+    void aBadHeaderIsRejectedBeforeAnyRowIsWritten() {
+        IllegalArgumentException unknown = assertThrows(IllegalArgumentException.class, () ->
+            importCsv(BulkImportService.Kind.USERS, "username,pasword\nimport-typo,secret123\n", null));
+        assertTrue(unknown.getMessage().startsWith("Unknown column \"pasword\""), unknown.getMessage());
+
+        IllegalArgumentException missing = assertThrows(IllegalArgumentException.class, () ->
+            importCsv(BulkImportService.Kind.VOLUNTEERS, "username,password,email\n", null));
+        assertEquals("Missing column full_name", missing.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> importCsv(BulkImportService.Kind.USERS, "", null));
+        assertFalse(userRepository.findByUsername("import-typo").isPresent());
+    }
+
+    @Test
+    void startedImportsRunInTheBackgroundAndCanBePolled() throws Exception {
+        String csv = "username,password\n" + "import-async-1,secret123\nimport-async-2,secret123\n"
+            + "import-async-3,secret123\nimport-async-1,secret123\n";
+        ImportStatus started = importService.start(BulkImportService.Kind.USERS,
+            new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "async-users");
+        assertEquals("async-users", started.getImportId());
+        assertEquals(ImportStatus.State.RUNNING, started.getState());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        ImportStatus status = importService.status("async-users");
+        while (status.getState() == ImportStatus.State.RUNNING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = importService.status("async-users");
+        }
+        assertEquals(ImportStatus.State.DONE, status.getState());
+        assertEquals(4, status.getRowsDone());
+        assertEquals(3, status.getReport().getImported());
+        assertEquals(errors(5, "Username also on line 2"), status.getReport().getErrors());
+        assertTrue(userRepository.findByUsername("import-async-3").isPresent());
+
+        // Header mistakes still fail the call itself, and unknown ids are reported as such
+        assertThrows(IllegalArgumentException.class, () -> importService.start(BulkImportService.Kind.USERS,
+            new ByteArrayInputStream("username,pasword\n".getBytes(StandardCharsets.UTF_8)), null));
+        assertThrows(ResourceNotFoundException.class, () -> importService.status("async-nobody"));
+    }
+}
@@ -0,0 +1,71 @@
+package MindEase.Backend.bulkimport;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvRecordReaderTest {
+
+    private static List<List<String>> readAll(CsvRecordReader reader, List<Long> lines) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        for (List<String> record; (record = reader.next()) != null; ) {
+            records.add(record);
+            lines.add(reader.recordLine());
+        }
+        return records;
+    }
+
+    @Test
+    void readsQuotedFieldsAcrossLineEndings() throws IOException {
+        String csv = "\uFEFFname,note\r\n"
+            + "plain,\"with, comma\"\r\n"
+            + "\n"
+            + "\"say \"\"hi\"\"\",\"two\nlines\"\r"
+            + "empty,\"\"\n"
+            + "last,no newline";
+        List<Long> lines = new ArrayList<>();
+
+        List<List<String>> records = readAll(new CsvRecordReader(new StringReader(csv)), lines);
+
+        assertEquals(List.of(
+            List.of("name", "note"),
+            List.of("plain", "with, comma"),
+            List.of("say \"hi\"", "two\nlines"),
+            List.of("empty", ""),
+            List.of("last", "no newline")), records);
+        assertEquals(List.of(1L, 2L, 4L, 6L, 7L), lines);
+    }
+
+    @Test
+    void keepsEmptyTrailingFields() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,,\n,b,\n"));
+
+        assertEquals(List.of("a", "", ""), reader.next());
+        assertEquals(List.of("", "b", ""), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void anUnclosedQuoteIsReportedWithItsLine() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,b\n\"open,b\nmore\n"));
+        reader.next();
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, reader::next);
+        assertEquals("Unclosed quote in the row on line 2", e.getMessage());
+    }
+
+    @Test
+    void overlongRecordsAreRejected() throws IOException {
+        String csv = "\"" + "x".repeat(CsvRecordReader.MAX_RECORD_CHARS + 1);
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(csv));
+
+        assertThrows(IllegalArgumentException.class, reader::next);
+    }
+}
@@ -0,0 +1,127 @@
+package MindEase.Backend.controllers;
+
+import MindEase.Backend.dto.AssessmentListItem;
+import MindEase.Backend.dto.AssessmentPage;
+import MindEase.Backend.entity.Assessment;
+import MindEase.Backend.entity.User;
+import MindEase.Backend.repositories.AssessmentRepository;
+import MindEase.Backend.repositories.UserRepository;
+import MindEase.Backend.security.TokenService;
+import MindEase.Backend.services.AssessmentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AssessmentListPayloadTest {
+
+    private static final int ASSESSMENTS = 200;
+    // Roughly the size of the generated suggestions JSON saved by the frontend
+    private static final String SUGGESTIONS = "{\"categories\":{\"daily\":{\"tasks\":[\"" + "x".repeat(4000) + "\"]}}}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AssessmentRepository assessmentRepository;
+
+    @Autowired
+    private AssessmentService assessmentService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+
+    @BeforeAll
+    void seed() {
+        user = userRepository.save(User.builder().username("payload-user").password("secret123").build());
+        List<Assessment> assessments = new ArrayList<>();
+        for (int i = 0; i < ASSESSMENTS; i++) {
+            Assessment assessment = new Assessment();
+            assessment.setAssessmentType(i % 2 == 0 ? "PHQ-9" : "GAD-7");
+            assessment.setScore(i % 27);
+            assessment.setRiskLevel("Moderate");
+            assessment.setFollowUpDate(LocalDate.of(2025, 3, 1));
+            assessment.setSuggestions(SUGGESTIONS);
+            assessment.setUser(user);
+            assessments.add(assessment);
+        }
+        assessmentRepository.saveAll(assessments);
+    }
+
+    @Test
+    void listOmitsSuggestionsAndIsFarSmaller() throws Exception {
+        String token = tokenService.issue("USER", user.getId(), user.getUsername());
+
+        byte[] slim = mockMvc.perform(get("/api/assessments/user/" + user.getId())
+                .header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsByteArray();
+        // What the endpoint used to return: every entity with its suggestions
+        byte[] full = transactionTemplate.execute(status -> {
+            try {
+                return objectMapper.writeValueAsBytes(assessmentRepository.findAllByUserIdOrdered(user.getId()));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        String body = new String(slim);
+        assertFalse(body.contains("suggestions"));
+        assertEquals(ASSESSMENTS, objectMapper.readTree(slim).size());
+        assertTrue(slim.length * 10 < full.length, "slim list should be under a tenth of the full payload");
+    }
+
+    @Test
+    void keysetPagesCoverEveryAssessmentNewestFirst() {
+        List<AssessmentListItem> all = assessmentService.getAssessmentsByUserId(user.getId());
+        Set<Long> seen = new HashSet<>();
+        List<AssessmentListItem> paged = new ArrayList<>();
+        Long before = null;
+        do {
+            AssessmentPage page = assessmentService.getAssessmentPage(user.getId(), before, 30);
+            for (AssessmentListItem item : page.getAssessments()) {
+                assertTrue(seen.add(item.getId()));
+                paged.add(item);
+            }
+            before = page.getNextCursor();
+        } while (before != null);
+
+        assertEquals(all, paged);
+        for (int i = 1; i < paged.size(); i++) {
+            assertFalse(paged.get(i).getCreatedAt().isAfter(paged.get(i - 1).getCreatedAt()));
+        }
+        assertNull(assessmentService.getAssessmentPage(user.getId(), paged.get(paged.size() - 1).getId(), 30).getNextCursor());
+    }
+}
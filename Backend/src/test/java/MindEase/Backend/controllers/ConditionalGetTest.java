@@ -0,0 +1,152 @@
+package MindEase.Backend.controllers;
+
+import MindEase.Backend.entity.TodoTask;
+import MindEase.Backend.entity.User;
+import MindEase.Backend.entity.Volunteer;
+import MindEase.Backend.repositories.TodoTaskRepository;
+import MindEase.Backend.repositories.UserRepository;
+import MindEase.Backend.security.TokenService;
+import MindEase.Backend.services.VolunteerService;
+import MindEase.Backend.support.JdbcRoundTripCounter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(JdbcRoundTripCounter.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ConditionalGetTest {
+
+    private static final int TASKS = 30;
+    private static final int VOLUNTEERS = 50;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoTaskRepository todoTaskRepository;
+
+    @Autowired
+    private VolunteerService volunteerService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private JdbcRoundTripCounter counter;
+
+    private User user;
+    private String token;
+    private List<TodoTask> tasks;
+
+    @BeforeAll
+    void seed() {
+        user = userRepository.save(User.builder().username("etag-user").password("secret123").build());
+        token = tokenService.issue("USER", user.getId(), user.getUsername());
+        tasks = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(TodoTask.builder().task("Task " + i).category(TodoTask.TaskCategory.DAILY)
+                .scheduledDate(LocalDateTime.now()).user(user).build());
+        }
+        tasks = todoTaskRepository.saveAll(tasks);
+        for (int i = 0; i < VOLUNTEERS; i++) {
+            Volunteer volunteer = volunteerService.registerVolunteer(Volunteer.builder()
+                .username("etag-volunteer-" + i).password("secret123")
+                .email("etag-volunteer-" + i + "@example.com").fullName("Volunteer " + i)
+                .specialization("Counselling").experience(i).build());
+            volunteerService.approveVolunteer(volunteer.getId());
+        }
+    }
+
+    private MockHttpServletResponse fetch(String path, String etag) throws Exception {
+        var request = get(path).header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        if (etag != null) request.header(HttpHeaders.IF_NONE_MATCH, etag);
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+
+    @Test
+    void dailyTasksRevalidateUntilATaskChanges() throws Exception {
+        String path = "/api/todos/user/" + user.getId() + "/daily";
+        MockHttpServletResponse first = fetch(path, null);
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertEquals(200, first.getStatus());
+        assertNotNull(etag);
+        assertEquals("no-cache, private", first.getHeader(HttpHeaders.CACHE_CONTROL));
+
+        counter.reset();
+        MockHttpServletResponse unchanged = fetch(path, etag);
+        assertEquals(304, unchanged.getStatus());
+        assertEquals(0, unchanged.getContentLength());
+        // Only the version probe, never the task rows
+        assertEquals(1, counter.roundTrips(), counter.statements().toString());
+        assertTrue(counter.statements().get(0).toLowerCase().contains("count("));
+
+        mockMvc.perform(put("/api/todos/" + tasks.get(0).getId())
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+            .contentType("application/json").content("{\"completed\":true}"));
+
+        MockHttpServletResponse changed = fetch(path, etag);
+        assertEquals(200, changed.getStatus());
+        assertNotEquals(etag, changed.getHeader(HttpHeaders.ETAG));
+        assertEquals(304, fetch(path, changed.getHeader(HttpHeaders.ETAG)).getStatus());
+    }
+
+    @Test
+    void approvedVolunteersRevalidateUntilOneIsApprovedOrRejected() throws Exception {
+        String etag = fetch("/api/volunteers/approved", null).getHeader(HttpHeaders.ETAG);
+        assertEquals(304, fetch("/api/volunteers/approved", etag).getStatus());
+
+        Volunteer newcomer = volunteerService.registerVolunteer(Volunteer.builder()
+            .username("etag-newcomer").password("secret123")
+            .email("etag-newcomer@example.com").fullName("Newcomer").build());
+        // Pending volunteers are not in the directory
+        assertEquals(304, fetch("/api/volunteers/approved", etag).getStatus());
+
+        volunteerService.approveVolunteer(newcomer.getId());
+        MockHttpServletResponse approved = fetch("/api/volunteers/approved", etag);
+        assertEquals(200, approved.getStatus());
+        String approvedEtag = approved.getHeader(HttpHeaders.ETAG);
+
+        volunteerService.rejectVolunteer(newcomer.getId(), "Duplicate account");
+        MockHttpServletResponse rejected = fetch("/api/volunteers/approved", approvedEtag);
+        assertEquals(200, rejected.getStatus());
+        assertNotEquals(approvedEtag, rejected.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void notModifiedSkipsLoadingTheDirectory() throws Exception {
+        String path = "/api/volunteers/approved";
+        counter.reset();
+        MockHttpServletResponse full = fetch(path, null);
+        int fullRoundTrips = counter.roundTrips();
+        assertEquals(200, full.getStatus());
+
+        counter.reset();
+        MockHttpServletResponse hit = fetch(path, full.getHeader(HttpHeaders.ETAG));
+        assertEquals(304, hit.getStatus());
+        assertEquals(0, hit.getContentLength());
+        assertTrue(counter.roundTrips() < fullRoundTrips, counter.statements().toString());
+    }
+}
@@ -0,0 +1,98 @@
+package MindEase.Backend.controllers;
+
+import MindEase.Backend.entity.User;
+import MindEase.Backend.entity.Volunteer;
+import MindEase.Backend.repositories.UserRepository;
+import MindEase.Backend.security.TokenService;
+import MindEase.Backend.services.VolunteerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VolunteerService volunteerService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Test
+    void prometheusExposesRouteTemplatedRequestServiceAndHibernateMetrics() throws Exception {
+        User user = userRepository.save(User.builder().username("metrics-user").password("secret123").build());
+        for (int i = 0; i < 3; i++) {
+            Volunteer volunteer = volunteerService.registerVolunteer(Volunteer.builder()
+                .username("metrics-volunteer-" + i).password("secret123")
+                .email("metrics-volunteer-" + i + "@example.com").fullName("Volunteer " + i).build());
+            volunteerService.approveVolunteer(volunteer.getId());
+        }
+        String token = "Bearer " + tokenService.issue("USER", user.getId(), user.getUsername());
+        mockMvc.perform(get("/api/todos/user/" + user.getId() + "/daily").header(HttpHeaders.AUTHORIZATION, token))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/volunteers/approved").header(HttpHeaders.AUTHORIZATION, token))
+            .andExpect(status().isOk());
+
+        // Scraped without a token, as Prometheus does
+        String metrics = mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        assertTrue(metrics.contains("uri=\"/api/todos/user/{userId}/daily\""));
+        assertFalse(metrics.contains("/api/todos/user/" + user.getId()), "raw URLs must not become tag values");
+        assertTrue(line(metrics, "http_server_requests_seconds{", "uri=\"/api/volunteers/approved\"", "quantile=\"0.99\""));
+        assertTrue(line(metrics, "http_server_requests_seconds_bucket{", "uri=\"/api/volunteers/approved\""));
+
+        assertTrue(line(metrics, "service_method_seconds{", "class=\"TodoTaskService\"", "method=\"getDailyTasks\"",
+            "quantile=\"0.95\""));
+        assertTrue(line(metrics, "service_method_seconds_count{", "class=\"VolunteerService\"", "method=\"approveVolunteer\""));
+
+        // Probe and list query, and one entity per approved volunteer
+        assertTrue(sum(metrics, "hibernate_request_statements_sum{", "uri=\"/api/volunteers/approved\"") >= 2);
+        assertTrue(sum(metrics, "hibernate_request_entity_loads_sum{", "uri=\"/api/volunteers/approved\"") >= 3);
+        assertEquals(0, sum(metrics, "hibernate_request_collection_fetches_sum{", "uri=\"/api/volunteers/approved\""));
+
+        assertTrue(line(metrics, "hibernate_query_executions_total{"));
+        assertTrue(line(metrics, "hibernate_second_level_cache_requests_total{"));
+        assertTrue(line(metrics, "hikaricp_connections_active{"));
+        assertTrue(line(metrics, "cache_gets_total{", "cache=\"hospitals\"", "result=\"coalesced\""));
+        assertTrue(line(metrics, "hospitals_upstream_permits_available "));
+    }
+
+    private static boolean line(String metrics, String prefix, String... contains) {
+        return Arrays.stream(metrics.split("\n"))
+            .anyMatch(l -> l.startsWith(prefix) && Arrays.stream(contains).allMatch(l::contains));
+    }
+
+    private static double sum(String metrics, String prefix, String contains) {
+        Pattern value = Pattern.compile("\\} ([0-9.E+-]+)$");
+        return Arrays.stream(metrics.split("\n"))
+            .filter(l -> l.startsWith(prefix) && l.contains(contains))
+            .map(value::matcher)
+            .filter(Matcher::find)
+            .mapToDouble(m -> Double.parseDouble(m.group(1)))
+            .sum();
+    }
+}
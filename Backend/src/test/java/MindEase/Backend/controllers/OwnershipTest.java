@@ -0,0 +1,142 @@
+package MindEase.Backend.controllers;
+
+import MindEase.Backend.dto.AssessmentRequest;
+import MindEase.Backend.entity.Assessment;
+import MindEase.Backend.entity.TodoTask;
+import MindEase.Backend.entity.User;
+import MindEase.Backend.entity.Volunteer;
+import MindEase.Backend.repositories.TodoTaskRepository;
+import MindEase.Backend.security.TokenService;
+import MindEase.Backend.services.AssessmentService;
+import MindEase.Backend.services.UserService;
+import MindEase.Backend.services.VolunteerService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+// Endpoints addressed by a row id rather than a {userId} path, which the token filter cannot check
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OwnershipTest {
+
+    private static final String PNG = "data:image/png;base64,"
+        + Base64.getEncoder().encodeToString(new byte[] { (byte) 0x89, 'P', 'N', 'G', 1, 2, 3 });
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AssessmentService assessmentService;
+
+    @Autowired
+    private VolunteerService volunteerService;
+
+    @Autowired
+    private TodoTaskRepository todoTaskRepository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    private User owner;
+    private String ownerToken;
+    private String otherToken;
+    private Assessment assessment;
+    private TodoTask task;
+    private Volunteer volunteer;
+
+    @BeforeAll
+    void seed() {
+        owner = userService.registerUser(User.builder().username("owner-user").password("secret123").build());
+        User other = userService.registerUser(User.builder().username("owner-other").password("secret123").build());
+        ownerToken = "Bearer " + tokenService.issue("USER", owner.getId(), owner.getUsername());
+        otherToken = "Bearer " + tokenService.issue("USER", other.getId(), other.getUsername());
+
+        assessment = assessmentService.saveAssessment(assessmentFor(owner.getId()));
+        task = todoTaskRepository.save(TodoTask.builder().task("Walk").category(TodoTask.TaskCategory.DAILY)
+            .scheduledDate(LocalDateTime.now()).user(owner).build());
+        volunteer = volunteerService.registerVolunteer(Volunteer.builder().username("owner-volunteer")
+            .password("secret123").email("owner-volunteer@example.com").fullName("Owner Volunteer")
+            .certificateImage(PNG).build());
+    }
+
+    private static AssessmentRequest assessmentFor(Long userId) {
+        AssessmentRequest request = new AssessmentRequest();
+        request.setAssessmentType("PHQ-9");
+        request.setScore(5);
+        request.setRiskLevel("LOW");
+        request.setFollowUpDate(LocalDate.now().plusDays(7).toString());
+        request.setSuggestions("Daily: Take a walk");
+        request.setUserId(userId);
+        return request;
+    }
+
+    private int status(MockHttpServletRequestBuilder request, String token) throws Exception {
+        return mockMvc.perform(request.header("Authorization", token)).andReturn().getResponse().getStatus();
+    }
+
+    private static MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, String body) {
+        return request.contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    @Test
+    void assessmentsOfOtherUsersAreHidden() throws Exception {
+        assertEquals(404, status(get("/api/assessments/" + assessment.getId()), otherToken));
+        assertEquals(200, status(get("/api/assessments/" + assessment.getId()), ownerToken));
+
+        String body = "{\"assessmentType\":\"GAD-7\",\"score\":4,\"riskLevel\":\"LOW\",\"followUpDate\":\""
+            + LocalDate.now().plusDays(7) + "\",\"suggestions\":\"\",\"userId\":" + owner.getId() + "}";
+        assertEquals(403, status(json(post("/api/assessments"), body), otherToken));
+        assertEquals(200, status(json(post("/api/assessments"), body), ownerToken));
+    }
+
+    @Test
+    void tasksOfOtherUsersCannotBeChanged() throws Exception {
+        assertEquals(404, status(json(put("/api/todos/" + task.getId()), "{\"completed\":true}"), otherToken));
+        assertEquals(404, status(delete("/api/todos/" + task.getId()), otherToken));
+        assertFalse(todoTaskRepository.findById(task.getId()).orElseThrow().isCompleted());
+
+        assertEquals(200, status(json(put("/api/todos/" + task.getId()), "{\"completed\":true}"), ownerToken));
+        assertTrue(todoTaskRepository.findById(task.getId()).orElseThrow().isCompleted());
+    }
+
+    @Test
+    void usersCreateTasksOnlyForThemselves() throws Exception {
+        assertEquals(200, status(json(post("/api/todos"), "{\"task\":\"Journal\",\"category\":\"DAILY\"}"), otherToken));
+        assertTrue(todoTaskRepository.findByUserIdAndCategory(owner.getId(), TodoTask.TaskCategory.DAILY).stream()
+            .noneMatch(t -> t.getTask().equals("Journal")));
+    }
+
+    @Test
+    void volunteerDocumentsAreForAdminsAndTheirOwner() throws Exception {
+        String path = "/api/volunteers/" + volunteer.getId() + "/images/certificate";
+        String volunteerToken = "Bearer " + tokenService.issue("VOLUNTEER", volunteer.getId(), volunteer.getUsername());
+        String otherVolunteer = "Bearer " + tokenService.issue("VOLUNTEER", volunteer.getId() + 1000, "someone");
+
+        assertEquals(403, status(get(path), ownerToken));
+        assertEquals(403, status(get(path), otherVolunteer));
+        assertEquals(200, status(get(path), volunteerToken));
+        assertEquals(200, status(get(path), "Bearer " + tokenService.issue("ADMIN", 0L, "admin")));
+    }
+}
@@ -0,0 +1,286 @@
+package MindEase.Backend.controllers;
+
+import MindEase.Backend.bulkimport.BulkImportService;
+import MindEase.Backend.dto.AssessmentRequest;
+import MindEase.Backend.dto.ImportStatus;
+import MindEase.Backend.entity.Admin;
+import MindEase.Backend.entity.Assessment;
+import MindEase.Backend.entity.TodoTask;
+import MindEase.Backend.entity.User;
+import MindEase.Backend.entity.Volunteer;
+import MindEase.Backend.metrics.QueryBudget;
+import MindEase.Backend.repositories.TodoTaskRepository;
+import MindEase.Backend.services.AdminService;
+import MindEase.Backend.services.AssessmentService;
+import MindEase.Backend.services.UserService;
+import MindEase.Backend.services.VolunteerService;
+import MindEase.Backend.security.TokenService;
+import MindEase.Backend.support.JdbcRoundTripCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Calls every endpoint in the controllers package once, with a cold second-level
+ * cache, and fails when one issues more SQL than its @QueryBudget allows.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(JdbcRoundTripCounter.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetTest {
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudgetTest.class);
+
+    private static final String CONTROLLERS = "MindEase.Backend.controllers";
+    private static final String PNG = "data:image/png;base64,"
+        + Base64.getEncoder().encodeToString(new byte[] { (byte) 0x89, 'P', 'N', 'G', 1, 2, 3 });
+    // TodoTask.user is @JsonIgnore, so POST /api/todos cannot name an owner and always answers 400
+    private static final Set<String> REJECTED = Set.of("TodoController#createTask");
+    private static final String BUDGET_IMPORT = "budget-import";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private AssessmentService assessmentService;
+
+    @Autowired
+    private VolunteerService volunteerService;
+
+    @Autowired
+    private TodoTaskRepository todoTaskRepository;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcRoundTripCounter counter;
+
+    private String token;
+    private User user;
+    private Assessment assessment;
+    private List<TodoTask> tasks;
+    private Volunteer approved;
+    private List<Volunteer> pending;
+
+    @BeforeAll
+    void seed() {
+        adminService.createAdmin(Admin.builder().username("budget-admin").password("secret123")
+            .email("budget-admin@example.com").build());
+        user = userService.registerUser(User.builder().username("budget-user").password("secret123")
+            .latitude(-33.9).longitude(18.4).build());
+        token = "Bearer " + tokenService.issue("ADMIN", 0L, "budget-admin");
+
+        for (int i = 0; i < 5; i++) {
+            AssessmentRequest request = new AssessmentRequest();
+            request.setAssessmentType("PHQ-9");
+            request.setScore(5 + i);
+            request.setRiskLevel("LOW");
+            request.setFollowUpDate(LocalDate.now().plusDays(7).toString());
+            request.setSuggestions("Daily: Take a walk\nWeekly: Call a friend");
+            request.setUserId(user.getId());
+            assessment = assessmentService.saveAssessment(request);
+        }
+
+        tasks = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tasks.add(TodoTask.builder().task("Task " + i).category(TodoTask.TaskCategory.DAILY)
+                .scheduledDate(LocalDateTime.now()).user(user)
+                .recurring(i == 0).recurrencePattern(i == 0 ? "DAILY" : null).build());
+        }
+        tasks = todoTaskRepository.saveAll(tasks);
+
+        approved = volunteerService.registerVolunteer(volunteer("budget-approved", PNG));
+        volunteerService.approveVolunteer(approved.getId());
+        pending = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            pending.add(volunteerService.registerVolunteer(volunteer("budget-pending-" + i, null)));
+        }
+    }
+
+    private static Volunteer volunteer(String username, String certificate) {
+        return Volunteer.builder().username(username).password("secret123").email(username + "@example.com")
+            .fullName("Budget Volunteer").specialization("Counselling").experience(3)
+            .certificateImage(certificate).build();
+    }
+
+    private static MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, String body) {
+        return request.contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    // One call per endpoint, ordered so that the destructive ones run last
+    private List<MockHttpServletRequestBuilder> calls() {
+        long userId = user.getId();
+        String login = "{\"username\":\"%s\",\"password\":\"secret123\"}";
+        return List.of(
+            json(post("/api/admin/login"), login.formatted("budget-admin")),
+            json(post("/api/admin/create"),
+                "{\"username\":\"budget-admin-2\",\"password\":\"secret123\",\"email\":\"budget-admin-2@example.com\"}"),
+            get("/api/admin/recommendation-cache-stats"),
+            get("/api/admin/entity-cache-stats"),
+            post("/api/admin/assessment-rollups/rebuild"),
+            post("/api/admin/import/users").param("importId", BUDGET_IMPORT).contentType("text/csv")
+                .content("username,password,latitude,longitude\nbudget-import-1,secret123,,\n"
+                    + "budget-import-2,secret123,12.9,77.6\n"),
+            get("/api/admin/import/" + BUDGET_IMPORT),
+            get("/api/admin/search/users").param("q", "budget"),
+            get("/api/admin/search/volunteers").param("q", "example.com"),
+
+            json(post("/api/assessments"), "{\"assessmentType\":\"GAD-7\",\"score\":4,\"riskLevel\":\"LOW\","
+                + "\"followUpDate\":\"" + LocalDate.now().plusDays(7) + "\",\"suggestions\":\"Daily: Breathe\","
+                + "\"userId\":" + userId + "}"),
+            get("/api/assessments/user/" + userId),
+            get("/api/assessments/user/" + userId + "/page"),
+            get("/api/assessments/user/" + userId + "/summary"),
+            get("/api/assessments/" + assessment.getId()),
+
+            get("/api/todos/user/" + userId + "/daily"),
+            get("/api/todos/user/" + userId + "/category/DAILY"),
+            json(post("/api/todos/user/" + userId + "/assessment/" + assessment.getId()),
+                "{\"DAILY\":[\"Stretch\",\"Journal\"],\"WEEKLY\":[\"Hike\"]}"),
+            json(post("/api/todos"), "{\"task\":\"Read\",\"category\":\"DAILY\",\"user\":{\"id\":" + userId + "}}"),
+            json(put("/api/todos/" + tasks.get(0).getId()), "{\"completed\":true}"),
+            json(patch("/api/todos/batch"), tasks.subList(1, tasks.size()).stream()
+                .map(t -> "{\"taskId\":" + t.getId() + ",\"completed\":true}")
+                .collect(Collectors.joining(",", "[", "]"))),
+            delete("/api/todos/" + tasks.get(4).getId()),
+
+            json(post("/api/users/login"), login.formatted("budget-user")),
+            json(post("/api/users/register"), "{\"username\":\"budget-user-2\",\"password\":\"secret123\"}"),
+            // A taken name is the case that reaches the database
+            get("/api/users/username-available").param("username", "budget-user"),
+            get("/api/users"),
+            get("/api/users/page"),
+            get("/api/users/nearby").param("latitude", "-33.9").param("longitude", "18.4").param("radiusKm", "5"),
+            get("/api/users/" + userId),
+            get("/api/users/" + userId + "/recommendations"),
+            get("/api/users/" + userId + "/export"),
+
+            json(post("/api/volunteers/register"), "{\"username\":\"budget-volunteer-2\",\"password\":\"secret123\","
+                + "\"email\":\"budget-volunteer-2@example.com\",\"fullName\":\"Budget Volunteer\"}"),
+            json(post("/api/volunteers/login"), login.formatted("budget-approved")),
+            get("/api/volunteers/pending"),
+            get("/api/volunteers/approved"),
+            get("/api/volunteers/" + approved.getId()),
+            get("/api/volunteers/" + approved.getId() + "/images/certificate"),
+            post("/api/volunteers/" + pending.get(0).getId() + "/approve"),
+            json(post("/api/volunteers/" + pending.get(1).getId() + "/reject"), "{\"reason\":\"Incomplete\"}"),
+            delete("/api/volunteers/" + pending.get(2).getId()));
+    }
+
+    private void awaitImport() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (bulkImportService.status(BUDGET_IMPORT).getState() == ImportStatus.State.RUNNING) {
+            assertTrue(System.nanoTime() < deadline, "Import " + BUDGET_IMPORT + " did not finish");
+            Thread.sleep(10);
+        }
+    }
+
+    private Set<String> controllerEndpoints() {
+        return handlerMapping.getHandlerMethods().values().stream()
+            .filter(handler -> handler.getBeanType().getPackageName().equals(CONTROLLERS))
+            .map(QueryBudgetTest::name)
+            .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private static String name(HandlerMethod handler) {
+        Method method = handler.getMethod();
+        return method.getDeclaringClass().getSimpleName() + "#" + method.getName();
+    }
+
+    @Test
+    void everyControllerEndpointDeclaresABudget() {
+        Set<String> missing = handlerMapping.getHandlerMethods().values().stream()
+            .filter(handler -> handler.getBeanType().getPackageName().equals(CONTROLLERS))
+            .filter(handler -> !handler.hasMethodAnnotation(QueryBudget.class))
+            .map(QueryBudgetTest::name)
+            .collect(Collectors.toCollection(TreeSet::new));
+        assertEquals(Set.of(), missing, "Endpoints without @QueryBudget");
+    }
+
+    @Test
+    void everyControllerEndpointStaysWithinItsBudget() throws Exception {
+        Set<String> called = new TreeSet<>();
+        StringBuilder report = new StringBuilder();
+
+        for (MockHttpServletRequestBuilder call : calls()) {
+            // A second-level or query cache hit would hide the SQL a cold request issues
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+            counter.reset();
+            MvcResult result = mockMvc.perform(call.header(HttpHeaders.AUTHORIZATION, token)).andReturn();
+            // The import runs in the background; its statements count against the request that started it
+            if (result.getResponse().getStatus() == 202) awaitImport();
+            List<String> statements = counter.statements();
+
+            HandlerMethod handler = (HandlerMethod) result.getHandler();
+            String route = result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+            int status = result.getResponse().getStatus();
+            assertTrue(status < 400 || REJECTED.contains(name(handler)),
+                () -> route + " answered " + status + ", so its budget would not be exercised");
+
+            QueryBudget budget = handler.getMethodAnnotation(QueryBudget.class);
+            called.add(name(handler));
+            logger.info("{} -> {}: {} statements, budget {}", route, name(handler), statements.size(),
+                budget == null ? "none" : budget.value());
+            if (budget != null && statements.size() > budget.value()) {
+                report.append(String.format("%n%s (%s) issued %d statements, budget is %d:",
+                    route, name(handler), statements.size(), budget.value()));
+                statements.forEach(sql -> report.append("\n    ").append(sql));
+            }
+        }
+
+        assertEquals(controllerEndpoints(), called, "Every controller endpoint needs a call in calls()");
+        assertTrue(report.isEmpty(), () -> "Query budget exceeded:" + report);
+    }
+}
@@ -0,0 +1,47 @@
+package MindEase.Backend.controllers;
+
+import MindEase.Backend.exception.GlobalExceptionHandler;
+import MindEase.Backend.exception.ServiceBusyException;
+import MindEase.Backend.security.TokenService;
+import MindEase.Backend.services.UserDataExportService;
+import MindEase.Backend.services.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// A full hashing bulkhead surfaces from the controllers as 503 through GlobalExceptionHandler
+class ServiceBusyResponseTest {
+
+    private final UserService userService = mock(UserService.class);
+    private final MockMvc mockMvc = MockMvcBuilders
+        .standaloneSetup(new UserController(userService, mock(TokenService.class), mock(UserDataExportService.class)))
+        .setControllerAdvice(new GlobalExceptionHandler())
+        .build();
+
+    @Test
+    void busyLoginsAndRegistrationsAnswer503() throws Exception {
+        ServiceBusyException busy = new ServiceBusyException("Too many sign-in requests, please try again shortly");
+        when(userService.loginUser(any(), any())).thenThrow(busy);
+        when(userService.registerUser(any())).thenThrow(busy);
+
+        for (String path : new String[] { "/api/users/login", "/api/users/register" }) {
+            MockHttpServletResponse response = mockMvc.perform(post(path)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"username\":\"busy-user\",\"password\":\"secret123\"}"))
+                .andReturn().getResponse();
+
+            assertEquals(503, response.getStatus(), path);
+            assertEquals("1", response.getHeader("Retry-After"));
+            assertEquals("{\"error\":\"Too many sign-in requests, please try again shortly\"}",
+                response.getContentAsString());
+        }
+    }
+}
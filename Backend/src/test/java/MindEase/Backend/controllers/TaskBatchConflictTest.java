@@ -0,0 +1,43 @@
+package MindEase.Backend.controllers;
+
+import MindEase.Backend.services.TodoTaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+
+// A next instance created by the nightly materializer at the same moment surfaces as 409, not 500
+class TaskBatchConflictTest {
+
+    private final TodoTaskService todoTaskService = mock(TodoTaskService.class);
+
+    @Test
+    void uniqueKeyRacesAnswer409() throws Exception {
+        TodoController controller = new TodoController();
+        ReflectionTestUtils.setField(controller, "todoTaskService", todoTaskService);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller)
+            .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+            .build();
+        when(todoTaskService.updateTasks(any(), any()))
+            .thenThrow(new DataIntegrityViolationException("Unique index or primary key violation"));
+
+        MockHttpServletResponse response = mockMvc.perform(patch("/api/todos/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"taskId\":1,\"completed\":true}]"))
+            .andReturn().getResponse();
+
+        assertEquals(409, response.getStatus());
+        assertEquals("{\"error\":\"Tasks were updated concurrently, please try again\"}",
+            response.getContentAsString());
+    }
+}
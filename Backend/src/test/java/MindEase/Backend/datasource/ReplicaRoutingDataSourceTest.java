@@ -0,0 +1,180 @@
+package MindEase.Backend.datasource;
+
+import MindEase.Backend.security.AuthenticatedPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReplicaRoutingDataSourceTest {
+
+    static class MutableClock extends Clock {
+        long millis;
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+
+    // Stands in for SHOW REPLICA STATUS: the embedded replica reports whatever lag the test writes
+    private static final ReplicaLagProbe TABLE_PROBE = connection -> {
+        try (Statement statement = connection.createStatement();
+             ResultSet status = statement.executeQuery("SELECT lag_seconds FROM replica_status")) {
+            status.next();
+            long lag = status.getLong(1);
+            return status.wasNull() ? OptionalLong.empty() : OptionalLong.of(lag);
+        }
+    };
+
+    private final MutableClock clock = new MutableClock();
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private DataSourceTransactionManager transactionManager;
+
+    private static DriverManagerDataSource database(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource primary = database("primary");
+        DriverManagerDataSource replica = database("replica");
+        primaryJdbc = new JdbcTemplate(primary);
+        replicaJdbc = new JdbcTemplate(replica);
+        primaryJdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        primaryJdbc.update("INSERT INTO node VALUES ('primary')");
+        replicaJdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        replicaJdbc.update("INSERT INTO node VALUES ('replica')");
+        replicaJdbc.execute("CREATE TABLE replica_status (lag_seconds BIGINT)");
+        replicaJdbc.update("INSERT INTO replica_status VALUES (0)");
+
+        routing = new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica), TABLE_PROBE, 5, 1000, clock);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbc = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        primaryJdbc.execute("SHUTDOWN");
+        replicaJdbc.execute("SHUTDOWN");
+    }
+
+    private String node(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    // A writable transaction that changes a row on whichever node it runs on
+    private void write() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            jdbc.update("UPDATE node SET name = name"));
+    }
+
+    private void setLag(Long seconds) {
+        replicaJdbc.update("UPDATE replica_status SET lag_seconds = ?", seconds);
+        routing.checkReplicas();
+    }
+
+    private static void signIn(long userId) {
+        AuthenticatedPrincipal principal = new AuthenticatedPrincipal("USER", userId, "user-" + userId, Long.MAX_VALUE);
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    @Test
+    void readOnlyTransactionsGoToAHealthyReplica() {
+        // Not checked yet, so not trusted
+        assertEquals("primary", node(true));
+
+        routing.checkReplicas();
+        assertEquals("replica", node(true));
+        assertEquals("primary", node(false));
+        assertEquals("primary", jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @Test
+    void laggingStoppedOrUnreachableReplicasFallBackToThePrimary() {
+        setLag(0L);
+        assertEquals("replica", node(true));
+
+        setLag(30L);
+        assertEquals("primary", node(true));
+        setLag(5L);
+        assertEquals("replica", node(true));
+
+        setLag(null);
+        assertEquals("primary", node(true));
+        setLag(1L);
+        assertEquals("replica", node(true));
+
+        replicaJdbc.execute("DROP TABLE replica_status");
+        routing.checkReplicas();
+        assertEquals("primary", node(true));
+    }
+
+    @Test
+    void writersReadTheirOwnWritesFromThePrimaryForTheStickyWindow() {
+        routing.checkReplicas();
+        signIn(1);
+        assertEquals("replica", node(true));
+
+        // A transaction that was not marked read-only but only read leaves the caller on the replicas
+        assertEquals("primary", node(false));
+        assertEquals("replica", node(true));
+
+        write();
+        assertEquals("primary", node(true));
+
+        // Other callers are unaffected
+        signIn(2);
+        assertEquals("replica", node(true));
+
+        signIn(1);
+        clock.millis += 999;
+        assertEquals("primary", node(true));
+        clock.millis += 1;
+        assertEquals("replica", node(true));
+
+        // A rolled back write does not pin the caller to the primary
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            jdbc.update("UPDATE node SET name = name");
+            status.setRollbackOnly();
+        });
+        assertEquals("replica", node(true));
+    }
+}
@@ -0,0 +1,92 @@
+package MindEase.Backend.nearesthospitals;
+
+import MindEase.Backend.security.TokenService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs a real Tomcat with only a few worker threads against a Places stub that
+ * takes seconds to answer, and checks that other endpoints are still served meanwhile.
+ */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "server.tomcat.threads.max=4",
+        "server.tomcat.threads.min-spare=4",
+        "hospitals.upstream.timeout-ms=10000"
+    })
+class HospitalLoadTest {
+
+    private static final long UPSTREAM_LATENCY_MS = 3000;
+    private static final int SLOW_REQUESTS = 24;
+    private static final int FAST_REQUESTS = 20;
+
+    @TestConfiguration
+    static class SlowPlacesConfig {
+        // Latency is injected with a delayed executor so the stub itself holds no threads
+        @Bean
+        @Primary
+        PlacesClient slowPlacesClient() {
+            return (latitude, longitude) -> CompletableFuture.supplyAsync(
+                () -> List.of(new HospitalDTO("Slow Hospital", latitude, longitude, "Far away")),
+                CompletableFuture.delayedExecutor(UPSTREAM_LATENCY_MS, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TokenService tokenService;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void otherEndpointsAreServedWhileUpstreamIsSlow() throws Exception {
+        List<CompletableFuture<HttpResponse<String>>> slow = new ArrayList<>();
+        for (int i = 0; i < SLOW_REQUESTS; i++) {
+            // Distinct cells so none of these are served from the cache
+            String body = "{\"latitude\": " + (10 + i) + ", \"longitude\": 77.0}";
+            slow.add(http.sendAsync(HttpRequest.newBuilder(uri("/api/nearby-hospitals"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString()));
+        }
+        Thread.sleep(200);
+
+        String token = tokenService.issue("ADMIN", 1L, "admin");
+        for (int i = 0; i < FAST_REQUESTS; i++) {
+            HttpResponse<String> response = http.send(HttpRequest.newBuilder(uri("/api/admin/entity-cache-stats"))
+                .header("Authorization", "Bearer " + token)
+                .build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode());
+        }
+        // Every fast request was answered while all the slow lookups still waited on upstream
+        assertTrue(slow.stream().noneMatch(CompletableFuture::isDone));
+
+        for (CompletableFuture<HttpResponse<String>> request : slow) {
+            assertEquals(200, request.get(20, TimeUnit.SECONDS).statusCode());
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,184 @@
+package MindEase.Backend.nearesthospitals;
+
+import MindEase.Backend.exception.ServiceBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HospitalServiceTest {
+
+    // Local stand-in for the Places API that counts calls and can be held open
+    static class StubPlacesClient implements PlacesClient {
+        final AtomicInteger calls = new AtomicInteger();
+        volatile CountDownLatch gate = new CountDownLatch(0);
+
+        @Override
+        public CompletableFuture<List<HospitalDTO>> searchHospitals(double latitude, double longitude) {
+            calls.incrementAndGet();
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return List.of(new HospitalDTO("Stub Hospital", latitude, longitude, "Somewhere"));
+            });
+        }
+    }
+
+    static class MutableClock extends Clock {
+        long millis;
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+
+    private final StubPlacesClient client = new StubPlacesClient();
+    private final MutableClock clock = new MutableClock();
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private HospitalService service(int maxEntries) {
+        return new HospitalService(client, registry, new HospitalCache(maxEntries, 60_000, clock), 6, 32, 5000);
+    }
+
+    private double gets(String result) {
+        return registry.get("cache.gets").tag("cache", "hospitals").tag("result", result).functionCounter().count();
+    }
+
+    private double permitsAvailable() {
+        return registry.get("hospitals.upstream.permits.available").gauge().value();
+    }
+
+    @Test
+    void nearbyRequestsInSameCellShareOneLookup() {
+        HospitalService service = service(100);
+
+        service.findNearbyHospitals(28.61390, 77.20900).join();
+        service.findNearbyHospitals(28.61395, 77.20905).join();
+
+        assertEquals(1, client.calls.get());
+        assertEquals(1.0, gets("hit"));
+        assertEquals(1.0, gets("miss"));
+        assertEquals(1.0, registry.get("cache.puts").tag("cache", "hospitals").functionCounter().count());
+    }
+
+    @Test
+    void entriesExpireAfterTtl() {
+        HospitalService service = service(100);
+
+        service.findNearbyHospitals(28.6139, 77.2090).join();
+        clock.millis += 60_001;
+        service.findNearbyHospitals(28.6139, 77.2090).join();
+
+        assertEquals(2, client.calls.get());
+    }
+
+    @Test
+    void leastRecentlyUsedCellIsEvicted() {
+        HospitalService service = service(2);
+
+        service.findNearbyHospitals(28.6139, 77.2090).join();
+        service.findNearbyHospitals(19.0760, 72.8777).join();
+        service.findNearbyHospitals(28.6139, 77.2090).join();
+        service.findNearbyHospitals(12.9716, 77.5946).join();
+        service.findNearbyHospitals(28.6139, 77.2090).join();
+
+        assertEquals(3, client.calls.get());
+        assertEquals(1.0, registry.get("cache.evictions").tag("cache", "hospitals").functionCounter().count());
+        assertEquals(2.0, registry.get("cache.size").tag("cache", "hospitals").gauge().value());
+    }
+
+    @Test
+    void slowUpstreamTimesOutWithoutFailingOtherWaiters() throws Exception {
+        HospitalService service = new HospitalService(client, registry, new HospitalCache(100, 60_000, clock), 6, 32, 100);
+        client.gate = new CountDownLatch(1);
+
+        CompletableFuture<List<HospitalDTO>> result = service.findNearbyHospitals(28.6139, 77.2090);
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, error.getCause());
+        client.gate.countDown();
+    }
+
+    @Test
+    void upstreamCallsAreBounded() {
+        HospitalService service = new HospitalService(client, registry, new HospitalCache(100, 60_000, clock), 6, 1, 5000);
+        client.gate = new CountDownLatch(1);
+
+        CompletableFuture<List<HospitalDTO>> first = service.findNearbyHospitals(28.6139, 77.2090);
+        CompletableFuture<List<HospitalDTO>> second = service.findNearbyHospitals(19.0760, 72.8777);
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> second.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(ServiceBusyException.class, error.getCause());
+        client.gate.countDown();
+        assertEquals(1, first.join().size());
+    }
+
+    @Test
+    void timedOutCallsKeepTheirPermitUntilUpstreamFinishes() throws Exception {
+        HospitalService service = new HospitalService(client, registry, new HospitalCache(100, 60_000, clock), 6, 1, 100);
+        client.gate = new CountDownLatch(1);
+
+        CompletableFuture<List<HospitalDTO>> slow = service.findNearbyHospitals(28.6139, 77.2090);
+        assertThrows(ExecutionException.class, () -> slow.get(5, TimeUnit.SECONDS));
+        assertEquals(0.0, permitsAvailable());
+
+        CompletableFuture<List<HospitalDTO>> busy = service.findNearbyHospitals(19.0760, 72.8777);
+        ExecutionException error = assertThrows(ExecutionException.class, () -> busy.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(ServiceBusyException.class, error.getCause());
+
+        client.gate.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (permitsAvailable() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, service.findNearbyHospitals(12.9716, 77.5946).get(5, TimeUnit.SECONDS).size());
+    }
+
+    @Test
+    void concurrentMissesAreCoalesced() throws Exception {
+        HospitalService service = service(100);
+        client.gate = new CountDownLatch(1);
+
+        List<CompletableFuture<List<HospitalDTO>>> results = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            results.add(service.findNearbyHospitals(28.6139, 77.2090));
+        }
+        client.gate.countDown();
+
+        for (CompletableFuture<List<HospitalDTO>> result : results) {
+            assertEquals(1, result.get(5, TimeUnit.SECONDS).size());
+        }
+
+        assertEquals(1, client.calls.get());
+        assertEquals(15.0, gets("coalesced"));
+    }
+}
@@ -0,0 +1,185 @@
+package MindEase.Backend.ratelimit;
+
+import MindEase.Backend.security.AuthenticatedPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    // 3 logins per IP, 2 per username, 1 registration, 2 hospital lookups, 2 username checks
+    private final RateLimitFilter filter = new RateLimitFilter(new ObjectMapper(), registry, true, 1000,
+        3, 1, 2, 1, 1, 1, 2, 1, 2, 1);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletResponse post(String path, String ip, String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setRemoteAddr(ip);
+        if (body != null) {
+            request.setContentType("application/json");
+            request.setContent(body.getBytes());
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        if (response.getStatus() == 200) {
+            // The controller still sees the body the filter read
+            assertEquals(body == null ? "" : body, new String(chain.getRequest().getInputStream().readAllBytes()));
+        }
+        return response;
+    }
+
+    private static String login(String username) {
+        return "{\"username\":\"" + username + "\",\"password\":\"secret123\"}";
+    }
+
+    @Test
+    void loginsAreLimitedPerUsernameAcrossIps() throws Exception {
+        assertEquals(200, post("/api/users/login", "10.0.0.1", login("alice")).getStatus());
+        assertEquals(200, post("/api/users/login", "10.0.0.2", login("Alice")).getStatus());
+
+        MockHttpServletResponse limited = post("/api/users/login", "10.0.0.3", login("alice"));
+        assertEquals(429, limited.getStatus());
+        assertEquals("60", limited.getHeader("Retry-After"));
+        assertEquals("{\"error\":\"Too many requests, try again later\"}", limited.getContentAsString());
+
+        // Another account, and the same account on another login route, are unaffected
+        assertEquals(200, post("/api/users/login", "10.0.0.3", login("bob")).getStatus());
+        assertEquals(200, post("/api/admin/login", "10.0.0.3", login("alice")).getStatus());
+        assertEquals(1.0, registry.get("ratelimit.rejected").tag("limit", "login-username").counter().count());
+    }
+
+    @Test
+    void chunkedLoginsAreStillLimitedPerUsername() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users/login") {
+                @Override
+                public long getContentLengthLong() {
+                    return -1;
+                }
+            };
+            request.setRemoteAddr("10.0.3." + i);
+            request.setContent(login("carol").getBytes());
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertEquals(i < 2 ? 200 : 429, response.getStatus());
+        }
+
+        MockHttpServletResponse tooLarge = post("/api/users/login", "10.0.3.9",
+            "{\"username\":\"" + "x".repeat(9000) + "\"}");
+        assertEquals(413, tooLarge.getStatus());
+    }
+
+    @Test
+    void replayedBodyCanBeReadWithoutBlocking() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users/login");
+        request.setRemoteAddr("10.0.4.1");
+        request.setContent(login("dave").getBytes());
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        ServletInputStream in = chain.getRequest().getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        List<String> events = new ArrayList<>();
+        in.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                events.add("data");
+                byte[] buffer = new byte[16];
+                while (in.isReady() && !in.isFinished()) {
+                    read.write(buffer, 0, in.read(buffer));
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                events.add("done");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                events.add("error");
+            }
+        });
+
+        assertEquals(List.of("data", "done"), events);
+        assertEquals(login("dave"), read.toString());
+    }
+
+    @Test
+    void loginsAreLimitedPerIpWhateverTheUsername() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, post("/api/volunteers/login", "10.0.1.1", login("user-" + i)).getStatus());
+        }
+        assertEquals(429, post("/api/volunteers/login", "10.0.1.1", login("user-9")).getStatus());
+        assertEquals(429, post("/api/volunteers/login", "10.0.1.1", "not json").getStatus());
+        assertEquals(200, post("/api/volunteers/login", "10.0.1.2", login("user-9")).getStatus());
+    }
+
+    @Test
+    void registrationsAndHospitalLookupsHaveTheirOwnBuckets() throws Exception {
+        assertEquals(200, post("/api/users/register", "10.0.2.1", login("new-user")).getStatus());
+        assertEquals(200, post("/api/volunteers/register", "10.0.2.1", login("new-user")).getStatus());
+        assertEquals(429, post("/api/users/register", "10.0.2.1", login("new-user-2")).getStatus());
+
+        String location = "{\"latitude\":12.9,\"longitude\":77.6}";
+        assertEquals(200, post("/api/nearby-hospitals", "10.0.2.1", location).getStatus());
+        assertEquals(200, post("/api/nearby-hospitals", "10.0.2.1", location).getStatus());
+        assertEquals(429, post("/api/nearby-hospitals", "10.0.2.1", location).getStatus());
+
+        // A signed-in caller is limited as themselves rather than by the shared address
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+            new AuthenticatedPrincipal("USER", 7L, "user-7", Long.MAX_VALUE), null, List.of()));
+        assertEquals(200, post("/api/nearby-hospitals", "10.0.2.1", location).getStatus());
+    }
+
+    private int usernameCheck(String ip) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/username-available");
+        request.setRemoteAddr(ip);
+        request.setParameter("username", "alice");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+
+    @Test
+    void usernameChecksAreLimitedPerIp() throws Exception {
+        assertEquals(200, usernameCheck("10.0.4.1"));
+        assertEquals(200, usernameCheck("10.0.4.1"));
+        assertEquals(429, usernameCheck("10.0.4.1"));
+        assertEquals(200, usernameCheck("10.0.4.2"));
+        assertEquals(1.0, registry.get("ratelimit.rejected").tag("limit", "username-check").counter().count());
+    }
+
+    @Test
+    void otherRequestsAreNotLimited() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, post("/api/assessments", "10.0.3.1", "{}").getStatus());
+        }
+        MockHttpServletRequest get = new MockHttpServletRequest("GET", "/api/volunteers/approved");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(get, response, new MockFilterChain());
+        assertEquals(200, response.getStatus());
+        assertEquals(0, registry.find("ratelimit.rejected").meters().size());
+    }
+}
@@ -0,0 +1,114 @@
+package MindEase.Backend.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private long now = 0;
+
+    // 3 tokens, one back every second
+    private TokenBucketRateLimiter limiter(int maxKeys) {
+        return new TokenBucketRateLimiter(3, 60, maxKeys, () -> now);
+    }
+
+    @Test
+    void burstUpToCapacityThenRefillsAtTheRate() {
+        TokenBucketRateLimiter limiter = limiter(100);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("ip"));
+        }
+        assertEquals(SECOND, limiter.tryAcquire("ip"));
+        // A rejected call takes nothing, so waiting what it was told is enough
+        now += SECOND / 2;
+        assertEquals(SECOND / 2, limiter.tryAcquire("ip"));
+        now += SECOND / 2;
+        assertEquals(0, limiter.tryAcquire("ip"));
+        assertEquals(SECOND, limiter.tryAcquire("ip"));
+
+        // Keys do not share tokens, and a long pause refills no more than the capacity
+        assertEquals(0, limiter.tryAcquire("other"));
+        now += 60 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("ip"));
+        }
+        assertTrue(limiter.tryAcquire("ip") > 0);
+    }
+
+    @Test
+    void onlyRefilledBucketsAreEvicted() {
+        TokenBucketRateLimiter limiter = limiter(100);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+        limiter.tryAcquire("b");
+        now += SECOND;
+        assertEquals(1, limiter.evictIdle());
+        assertEquals(1, limiter.size());
+
+        // b's remaining debt survived the sweep
+        limiter.tryAcquire("b");
+        limiter.tryAcquire("b");
+        assertTrue(limiter.tryAcquire("b") > 0);
+    }
+
+    @Test
+    void keysBeyondTheBoundShareAnOverflowBucket() {
+        TokenBucketRateLimiter limiter = limiter(2);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("new-" + i));
+        }
+        assertTrue(limiter.tryAcquire("new-3") > 0);
+        assertEquals(2, limiter.size());
+
+        // Once a and b have refilled, a new key evicts them and gets its own bucket again
+        now += SECOND;
+        assertEquals(0, limiter.tryAcquire("c"));
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void concurrentCallersNeverGetMoreThanTheCapacity() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1000, 1, 10_000, () -> 0L);
+        int threads = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 500; i++) {
+                    if (limiter.tryAcquire("shared") == 0) granted.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) future.get(10, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertEquals(1000, granted.get());
+    }
+
+    @Test
+    void rejectsNonPositiveSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(0, 10, 10));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(1, 0, 10));
+    }
+}
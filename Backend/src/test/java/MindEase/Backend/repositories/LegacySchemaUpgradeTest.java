@@ -0,0 +1,68 @@
+package MindEase.Backend.repositories;
+
+import org.flywaydb.core.Flyway;
+import org.h2.Driver;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// A database created by ddl-auto=update is baselined and upgraded to the same schema a new one gets
+class LegacySchemaUpgradeTest {
+
+    private static DataSource database(String name) {
+        return new SimpleDriverDataSource(new Driver(), "jdbc:h2:mem:" + name
+            + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    // Same settings as application.properties
+    private static void migrate(DataSource dataSource) {
+        Flyway.configure()
+            .dataSource(dataSource)
+            .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+            .baselineOnMigrate(true)
+            .baselineVersion("1")
+            .load()
+            .migrate();
+    }
+
+    private static List<String> columns(JdbcTemplate jdbc) {
+        return jdbc.queryForList("SELECT table_name || '.' || column_name || ' ' || data_type "
+            + "FROM information_schema.columns WHERE table_schema = 'public' "
+            + "AND table_name <> 'flyway_schema_history' ORDER BY table_name, column_name", String.class);
+    }
+
+    @Test
+    void ddlAutoDatabasesAreUpgradedToTheCurrentSchema() {
+        DataSource legacy = database("legacy_upgrade");
+        new ResourceDatabasePopulator(new ClassPathResource("db/legacy/ddl-auto-schema.sql")).execute(legacy);
+        DataSource fresh = database("fresh_upgrade");
+
+        migrate(legacy);
+        migrate(fresh);
+
+        JdbcTemplate jdbc = new JdbcTemplate(legacy);
+        assertEquals(columns(new JdbcTemplate(fresh)), columns(jdbc));
+
+        // Existing rows survive, and legacy images are left for VolunteerImageMigration to move
+        assertEquals("legacy-user", jdbc.queryForObject("SELECT username FROM users WHERE id = 7", String.class));
+        assertEquals("data:image/png;base64,iVBORw0K",
+            jdbc.queryForObject("SELECT certificate_image FROM volunteers WHERE id = 12", String.class));
+
+        // Duplicates are reported under the names the services match on, not Hibernate's hashed ones
+        DataIntegrityViolationException duplicate = assertThrows(DataIntegrityViolationException.class, () ->
+            jdbc.update("INSERT INTO volunteers (id, created_at, username, password, email, full_name) "
+                + "VALUES (13, CURRENT_TIMESTAMP, 'other-volunteer', 'x', 'legacy-volunteer@example.com', 'Other')"));
+        assertTrue(duplicate.getMostSpecificCause().getMessage().toLowerCase(Locale.ROOT).contains("uk_volunteers_email"));
+    }
+}
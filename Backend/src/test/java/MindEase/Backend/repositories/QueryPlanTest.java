@@ -0,0 +1,220 @@
+package MindEase.Backend.repositories;
+
+import MindEase.Backend.entity.Assessment;
+import MindEase.Backend.entity.TodoTask;
+import MindEase.Backend.support.JdbcRoundTripCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs every query method declared in this package, EXPLAINs the SQL it sent and
+ * fails on any full table scan. The schema comes from the Flyway migrations, so a
+ * missing index shows up here. H2 in MySQL mode stands in for MySQL, which is not
+ * available as an embedded database.
+ */
+@SpringBootTest
+@Import(JdbcRoundTripCounter.class)
+class QueryPlanTest {
+
+    // Queries that read every row on purpose
+    private static final Map<String, String> FULL_SCANS_ALLOWED = Map.of(
+        "UserRepository.findAllSummaries", "lists every user for the admin page",
+        "UserRepository.streamLocations", "loads every located user into UserGeoIndex at startup",
+        "UserRepository.streamIdentities", "loads every username into UniquenessFilter and DirectorySearchIndex",
+        "VolunteerRepository.streamIdentities", "loads every volunteer into UniquenessFilter and DirectorySearchIndex",
+        "UserRepository.findByUsernameContainingIgnoreCase", "infix LIKE, only used while DirectorySearchIndex warms",
+        "VolunteerRepository.findByUsernameContainingIgnoreCaseOrFullNameContainingIgnoreCaseOrEmailContainingIgnoreCase",
+            "infix LIKE, only used while DirectorySearchIndex warms",
+        "UserRepository.findUsersWithRecentAssessments", "unused reporting query over all assessments",
+        "UserRepository.findUsersWithPendingTasks", "unused reporting query over all tasks"
+    );
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcRoundTripCounter counter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AdminRepository admins;
+
+    @Autowired
+    private AssessmentRepository assessments;
+
+    @Autowired
+    private AssessmentRollupRepository rollups;
+
+    @Autowired
+    private ParsedRecommendationRepository parsedRecommendations;
+
+    @Autowired
+    private TodoTaskRepository tasks;
+
+    @Autowired
+    private UserRepository users;
+
+    @Autowired
+    private VolunteerRepository volunteers;
+
+    private Map<String, Runnable> queries() {
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest page = PageRequest.of(0, 10);
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+
+        queries.put("AdminRepository.findByUsername", () -> admins.findByUsername("admin"));
+        queries.put("AdminRepository.existsByUsername", () -> admins.existsByUsername("admin"));
+
+        queries.put("AssessmentRepository.findByUser_Id", () -> assessments.findByUser_Id(1L));
+        queries.put("AssessmentRepository.findAllByUserIdOrdered", () -> assessments.findAllByUserIdOrdered(1L));
+        queries.put("AssessmentRepository.findListItemsByUserId", () -> assessments.findListItemsByUserId(1L));
+        queries.put("AssessmentRepository.findListItemsByUserIdBefore",
+            () -> assessments.findListItemsByUserIdBefore(1L, 5L, page));
+        queries.put("AssessmentRepository.findAssessedUserIdsAfter", () -> assessments.findAssessedUserIdsAfter(0L, page));
+        queries.put("AssessmentRepository.findRollupRows", () -> assessments.findRollupRows(List.of(1L, 2L)));
+
+        queries.put("AssessmentRollupRepository.findByUserIdOrderByAssessmentType",
+            () -> rollups.findByUserIdOrderByAssessmentType(1L));
+        queries.put("AssessmentRollupRepository.insertIfAbsent", () -> rollups.insertIfAbsent(1L, "PHQ-9"));
+        queries.put("AssessmentRollupRepository.findForUpdate", () -> rollups.findForUpdate(1L, "PHQ-9"));
+        queries.put("AssessmentRollupRepository.deleteByUserIds", () -> rollups.deleteByUserIds(List.of(1L, 2L)));
+
+        queries.put("ParsedRecommendationRepository.deleteCreatedBefore",
+            () -> parsedRecommendations.deleteCreatedBefore(now.minusDays(30)));
+
+        queries.put("TodoTaskRepository.findByUserIdAndScheduledDateBetweenOrderByScheduledDateAsc",
+            () -> tasks.findByUserIdAndScheduledDateBetweenOrderByScheduledDateAsc(1L, now, now.plusDays(1)));
+        queries.put("TodoTaskRepository.findVersionByUserIdAndScheduledDateBetween",
+            () -> tasks.findVersionByUserIdAndScheduledDateBetween(1L, now, now.plusDays(1)));
+        queries.put("TodoTaskRepository.findByUserIdAndCategory",
+            () -> tasks.findByUserIdAndCategory(1L, TodoTask.TaskCategory.DAILY));
+        queries.put("TodoTaskRepository.findByUserIdAndSourceAssessmentId",
+            () -> tasks.findByUserIdAndSourceAssessmentId(1L, 1L));
+        queries.put("TodoTaskRepository.findRecurringTasksByUserId", () -> tasks.findRecurringTasksByUserId(1L));
+        queries.put("TodoTaskRepository.findRecurringTemplatesAfter", () -> tasks.findRecurringTemplatesAfter(0L, page));
+        queries.put("TodoTaskRepository.lockIdsToChange", () -> tasks.lockIdsToChange(List.of(1L, 2L), true, 1L));
+        queries.put("TodoTaskRepository.updateCompleted", () -> tasks.updateCompleted(List.of(1L, 2L), true));
+        queries.put("TodoTaskRepository.findRecurringByIdIn", () -> tasks.findRecurringByIdIn(List.of(1L, 2L)));
+        queries.put("TodoTaskRepository.findOccurrences",
+            () -> tasks.findOccurrences(List.of(1L, 2L), LocalDate.now(), LocalDate.now().plusDays(1)));
+
+        queries.put("UserRepository.findByUsername", () -> users.findByUsername("alice"));
+        queries.put("UserRepository.existsByUsername", () -> users.existsByUsername("alice"));
+        queries.put("UserRepository.streamIdentities", () -> {
+            try (Stream<Object[]> rows = users.streamIdentities()) {
+                rows.count();
+            }
+        });
+        queries.put("UserRepository.streamLocations", () -> {
+            try (Stream<Object[]> rows = users.streamLocations()) {
+                rows.count();
+            }
+        });
+        queries.put("UserRepository.findIdentitiesByUsernameIn",
+            () -> users.findIdentitiesByUsernameIn(List.of("alice", "carol")));
+        queries.put("UserRepository.findUsersWithRecentAssessments", () -> users.findUsersWithRecentAssessments());
+        queries.put("UserRepository.findUsersWithPendingTasks", () -> users.findUsersWithPendingTasks());
+        queries.put("UserRepository.findByUsernameContainingIgnoreCase",
+            () -> users.findByUsernameContainingIgnoreCase("ali", page));
+        queries.put("UserRepository.findAllSummaries", () -> users.findAllSummaries());
+        queries.put("UserRepository.findSummaryById", () -> users.findSummaryById(1L));
+        queries.put("UserRepository.findSummariesByIdIn", () -> users.findSummariesByIdIn(List.of(1L, 2L)));
+        queries.put("UserRepository.findSummariesOrderById", () -> users.findSummariesOrderById(5L, page));
+        queries.put("UserRepository.findSummariesOrderByUsername", () -> users.findSummariesOrderByUsername(5L, page));
+        queries.put("UserRepository.findSummariesOrderByCreatedAt", () -> users.findSummariesOrderByCreatedAt(5L, page));
+
+        queries.put("VolunteerRepository.findByUsername", () -> volunteers.findByUsername("bob"));
+        queries.put("VolunteerRepository.findByEmail", () -> volunteers.findByEmail("bob@example.com"));
+        queries.put("VolunteerRepository.existsByUsername", () -> volunteers.existsByUsername("bob"));
+        queries.put("VolunteerRepository.existsByEmail", () -> volunteers.existsByEmail("bob@example.com"));
+        queries.put("VolunteerRepository.findUsernamesByUsernameIn",
+            () -> volunteers.findUsernamesByUsernameIn(List.of("bob", "dave")));
+        queries.put("VolunteerRepository.findEmailsByEmailIn",
+            () -> volunteers.findEmailsByEmailIn(List.of("bob@example.com", "dave@example.com")));
+        queries.put("VolunteerRepository.streamIdentities", () -> {
+            try (Stream<Object[]> rows = volunteers.streamIdentities()) {
+                rows.count();
+            }
+        });
+        queries.put("VolunteerRepository.findByUsernameContainingIgnoreCaseOrFullNameContainingIgnoreCaseOrEmailContainingIgnoreCase",
+            () -> volunteers.findByUsernameContainingIgnoreCaseOrFullNameContainingIgnoreCaseOrEmailContainingIgnoreCase(
+                "bob", "bob", "bob", page));
+        queries.put("VolunteerRepository.findByApproved", () -> volunteers.findByApproved(true));
+        queries.put("VolunteerRepository.findByApprovedAndActive", () -> volunteers.findByApprovedAndActive(true, true));
+        queries.put("VolunteerRepository.findVersionByApprovedAndActive",
+            () -> volunteers.findVersionByApprovedAndActive(true, true));
+        queries.put("VolunteerRepository.findPendingVolunteers", () -> volunteers.findPendingVolunteers());
+        return queries;
+    }
+
+    @Test
+    void everyRepositoryQueryIsCovered() {
+        TreeSet<String> declared = new TreeSet<>();
+        Repositories repositories = new Repositories(context);
+        for (Class<?> domainType : repositories) {
+            Class<?> repository = repositories.getRequiredRepositoryInformation(domainType).getRepositoryInterface();
+            if (!repository.getPackageName().equals(QueryPlanTest.class.getPackageName())) continue;
+            for (Method method : repository.getDeclaredMethods()) {
+                if (!method.isDefault() && !method.isSynthetic()) {
+                    declared.add(repository.getSimpleName() + "." + method.getName());
+                }
+            }
+        }
+        assertEquals(declared, new TreeSet<>(queries().keySet()),
+            "Add new repository queries to QueryPlanTest so their plans are checked");
+    }
+
+    @Test
+    void noRepositoryQueryScansAWholeTable() {
+        List<String> failures = new ArrayList<>();
+        queries().forEach((name, query) -> {
+            // A second-level or query cache hit would skip the SQL we want to check
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+            counter.reset();
+            transactionTemplate.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                query.run();
+            });
+            for (String sql : counter.statements()) {
+                String lower = sql.toLowerCase(Locale.ROOT).trim();
+                if (!(lower.startsWith("select") || lower.startsWith("update") || lower.startsWith("delete"))) continue;
+                String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+                if (plan.contains(".tableScan") && !FULL_SCANS_ALLOWED.containsKey(name)) {
+                    failures.add(name + ":\n" + plan);
+                }
+            }
+        });
+        assertTrue(failures.isEmpty(), "Full table scans:\n\n" + String.join("\n\n", failures));
+    }
+}
@@ -0,0 +1,48 @@
+package MindEase.Backend.search;
+
+import MindEase.Backend.dto.UserSearchHit;
+import MindEase.Backend.entity.User;
+import MindEase.Backend.services.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class DirectorySearchIndexTest {
+
+    @Autowired
+    private DirectorySearchIndex index;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<String> usernames(String query) {
+        return index.searchUsers(query, 10).stream().map(UserSearchHit::getUsername).toList();
+    }
+
+    @Test
+    void rebuildPicksUpRowsWrittenBehindTheIndexesBack() {
+        assertTrue(index.isWarm());
+        // Written by another instance, or by a JDBC import
+        jdbcTemplate.update("INSERT INTO users (id, created_at, username, password) "
+            + "VALUES (940001, CURRENT_TIMESTAMP, 'rebuild-elsewhere', 'x')");
+        User local = userService.registerUser(User.builder().username("rebuild-local").password("secret123").build());
+        assertEquals(List.of("rebuild-local"), usernames("rebuild-"));
+
+        index.rebuild();
+        assertEquals(List.of("rebuild-elsewhere", "rebuild-local"), usernames("rebuild-").stream().sorted().toList());
+
+        jdbcTemplate.update("DELETE FROM users WHERE id IN (?, ?)", 940001L, local.getId());
+        index.rebuild();
+        assertEquals(List.of(), usernames("rebuild-"));
+    }
+}
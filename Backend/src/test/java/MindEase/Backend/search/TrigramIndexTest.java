@@ -0,0 +1,104 @@
+package MindEase.Backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramIndexTest {
+
+    private static List<Long> ids(List<TrigramIndex.Match> matches) {
+        return matches.stream().map(TrigramIndex.Match::id).toList();
+    }
+
+    @Test
+    void findsTheSameDocumentsAsAFullScan() {
+        Random random = new Random(42);
+        String alphabet = "abcdeé_.0";
+        TrigramIndex index = new TrigramIndex();
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            StringBuilder name = new StringBuilder();
+            int length = 3 + random.nextInt(10);
+            for (int c = 0; c < length; c++) name.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            names.add(name.toString());
+            index.put(i, name.toString());
+        }
+
+        for (String query : List.of("a", "e", "ab", "abc", "ABC", "cab.", "e_0", "dddd", "zzz", "0.a")) {
+            String folded = TrigramIndex.fold(query);
+            Set<Long> expected = new TreeSet<>();
+            for (int i = 0; i < names.size(); i++) {
+                if (TrigramIndex.fold(names.get(i)).contains(folded)) expected.add((long) i);
+            }
+            assertEquals(expected, new TreeSet<>(ids(index.search(query, Integer.MAX_VALUE))), query);
+        }
+    }
+
+    @Test
+    void ranksPrefixesThenWordStartsThenInfixes() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "maryann");
+        index.put(2, "ann.smith");
+        index.put(3, "joanne");
+        index.put(4, "mary_ann");
+        index.put(5, "annabelle");
+        index.put(6, "bob", "Bob Annerson", "bob@example.com");
+
+        assertEquals(List.of(2L, 5L, 6L, 4L, 3L, 1L), ids(index.search("ann", 10)));
+        assertEquals(List.of(2L, 5L), ids(index.search("ANN", 2)));
+        assertEquals(List.of("bob", "Bob Annerson", "bob@example.com"), index.search("anners", 1).get(0).fields());
+    }
+
+    @Test
+    void queriesNeverMatchAcrossFields() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "bob", "Bob Smith");
+        assertEquals(List.of(), index.search("bobbob", 10));
+        assertEquals(List.of(1L), ids(index.search("smith", 10)));
+    }
+
+    @Test
+    void removedAndReplacedDocumentsStopMatching() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "alice");
+        index.put(2, "alina");
+        index.remove(1);
+        assertEquals(List.of(2L), ids(index.search("ali", 10)));
+
+        index.put(2, "bella");
+        assertEquals(List.of(), index.search("ali", 10));
+        assertEquals(List.of(2L), ids(index.search("bel", 10)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void churnCompactsWithoutLosingLiveDocuments() {
+        TrigramIndex index = new TrigramIndex();
+        for (int i = 0; i < 10_000; i++) {
+            index.put(i, "user-" + i);
+            if (i % 4 != 0) index.remove(i);
+        }
+        assertEquals(2_500, index.size());
+        List<Long> found = ids(index.search("user-", Integer.MAX_VALUE));
+        assertEquals(2_500, found.size());
+        assertTrue(found.stream().allMatch(id -> id % 4 == 0));
+        assertEquals(List.of(9_996L), ids(index.search("USER-9996", 10)));
+    }
+
+    @Test
+    void foldsCaseAndAccents() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "José Ñúñez");
+        assertEquals(List.of(1L), ids(index.search("jose nun", 10)));
+        assertEquals(List.of(1L), ids(index.search("JOSÉ", 10)));
+        // Results carry the fields as stored
+        assertEquals(List.of("José Ñúñez"), index.search("nunez", 1).get(0).fields());
+    }
+}
@@ -0,0 +1,77 @@
+package MindEase.Backend.security;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenAuthenticationFilterTest {
+
+    private final TokenService tokenService =
+        new TokenService("test-secret".getBytes(StandardCharsets.UTF_8), 3600, 1000, Clock.systemUTC());
+    private final TokenAuthenticationFilter filter = new TokenAuthenticationFilter(tokenService);
+
+    private MockHttpServletResponse call(String path, String token, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (token != null) request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Test
+    void validTokenAuthenticatesTheRequest() throws Exception {
+        AtomicReference<Object> seen = new AtomicReference<>();
+        String token = tokenService.issue("USER", 7L, "alice");
+
+        MockHttpServletResponse response = call("/api/todos/user/7/daily", token,
+            (req, res) -> seen.set(SecurityContextHolder.getContext().getAuthentication().getPrincipal()));
+
+        assertEquals(200, response.getStatus());
+        assertEquals(new AuthenticatedPrincipal("USER", 7L, "alice",
+            ((AuthenticatedPrincipal) seen.get()).expiresAtEpochSecond()), seen.get());
+    }
+
+    @Test
+    void userCannotReadAnotherUsersData() throws Exception {
+        String token = tokenService.issue("USER", 7L, "alice");
+
+        assertEquals(403, call("/api/todos/user/8/daily", token, new MockFilterChain()).getStatus());
+        assertEquals(403, call("/api/assessments/user/8", token, new MockFilterChain()).getStatus());
+        assertEquals(200, call("/api/users/page", token, new MockFilterChain()).getStatus());
+    }
+
+    @Test
+    void volunteersMayReadAnyUser() throws Exception {
+        String token = tokenService.issue("VOLUNTEER", 3L, "bob");
+        assertEquals(200, call("/api/assessments/user/8", token, new MockFilterChain()).getStatus());
+    }
+
+    @Test
+    void tamperedAndExpiredTokensAreRejected() throws Exception {
+        String token = tokenService.issue("USER", 7L, "alice");
+        String forged = tokenService.issue("ADMIN", 7L, "alice").split("\\.")[0] + "." + token.split("\\.")[1];
+        TokenService expired = new TokenService("test-secret".getBytes(StandardCharsets.UTF_8), -1, 10, Clock.systemUTC());
+
+        assertEquals(401, call("/api/todos/user/7/daily", forged, new MockFilterChain()).getStatus());
+        assertEquals(401, call("/api/todos/user/7/daily", expired.issue("USER", 7L, "alice"), new MockFilterChain()).getStatus());
+        assertTrue(tokenService.verify("not-a-token").isEmpty());
+    }
+
+    @Test
+    void requestsWithoutTokenPassThroughUnauthenticated() throws Exception {
+        AtomicReference<Object> seen = new AtomicReference<>("unset");
+        call("/api/users/login", null, (req, res) -> seen.set(SecurityContextHolder.getContext().getAuthentication()));
+        assertNull(seen.get());
+    }
+}
@@ -0,0 +1,115 @@
+package MindEase.Backend.services;
+
+import MindEase.Backend.dto.AssessmentRequest;
+import MindEase.Backend.entity.AssessmentRollup;
+import MindEase.Backend.entity.User;
+import MindEase.Backend.repositories.AssessmentRollupRepository;
+import MindEase.Backend.repositories.UserRepository;
+import MindEase.Backend.support.JdbcRoundTripCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Import(JdbcRoundTripCounter.class)
+class AssessmentRollupServiceTest {
+
+    @Autowired
+    private AssessmentService assessmentService;
+
+    @Autowired
+    private AssessmentRollupRebuilder rebuilder;
+
+    @Autowired
+    private AssessmentRollupRepository rollupRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcRoundTripCounter counter;
+
+    @Test
+    void rollupsFollowSavedAssessmentsAndRebuildIdentically() {
+        User user = userRepository.save(User.builder().username("rollup-user").password("secret123").build());
+        save(user, "PHQ-9", 12, "MODERATE");
+        save(user, "PHQ-9", 20, "SEVERE");
+        save(user, "PHQ-9", 5, "MILD");
+        save(user, "GAD-7", 8, "MILD");
+
+        counter.reset();
+        List<AssessmentRollup> summary = assessmentService.getAssessmentSummary(user.getId());
+        assertEquals(1, counter.roundTrips());
+        assertTrue(counter.statements().stream().noneMatch(sql -> sql.toLowerCase().contains("from assessments ")));
+
+        assertEquals(2, summary.size());
+        AssessmentRollup phq = summary.get(1);
+        assertEquals("PHQ-9", phq.getAssessmentType());
+        assertEquals(3, phq.getCount());
+        assertEquals(5, phq.getLatestScore());
+        assertEquals(5, phq.getMinScore());
+        assertEquals(20, phq.getMaxScore());
+        assertEquals(37 / 3.0, phq.getAverageScore(), 1e-9);
+        // 12, then 0.3*20 + 0.7*12 = 14.4, then 0.3*5 + 0.7*14.4 = 11.58
+        assertEquals(11.58, phq.getMovingAverage(), 1e-9);
+        assertEquals("MILD", phq.getLastRiskLevel());
+
+        rollupRepository.deleteAll();
+        rebuilder.rebuildAll();
+        List<AssessmentRollup> rebuilt = assessmentService.getAssessmentSummary(user.getId());
+        assertEquals(2, rebuilt.size());
+        assertEquals(phq.getCount(), rebuilt.get(1).getCount());
+        assertEquals(phq.getMovingAverage(), rebuilt.get(1).getMovingAverage(), 1e-9);
+        assertEquals(phq.getLastAssessedAt(), rebuilt.get(1).getLastAssessedAt());
+        assertEquals(8, rebuilt.get(0).getLatestScore());
+    }
+
+    @Test
+    void concurrentFirstAssessmentsOfATypeBothCount() throws Exception {
+        User user = userRepository.save(User.builder().username("rollup-race").password("secret123").build());
+        CyclicBarrier start = new CyclicBarrier(2);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> saves = new ArrayList<>();
+            for (int score : new int[] { 4, 9 }) {
+                saves.add(pool.submit(() -> {
+                    start.await();
+                    save(user, "PSS", score, "LOW");
+                    return null;
+                }));
+            }
+            for (Future<?> save : saves) {
+                save.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        AssessmentRollup rollup = assessmentService.getAssessmentSummary(user.getId()).get(0);
+        assertEquals(2, rollup.getCount());
+        assertEquals(13, rollup.getMinScore() + rollup.getMaxScore());
+    }
+
+    private void save(User user, String type, int score, String riskLevel) {
+        AssessmentRequest request = new AssessmentRequest();
+        request.setUserId(user.getId());
+        request.setAssessmentType(type);
+        request.setScore(score);
+        request.setRiskLevel(riskLevel);
+        request.setFollowUpDate("2025-03-01");
+        request.setSuggestions("{}");
+        assessmentService.saveAssessment(request);
+    }
+}
@@ -0,0 +1,106 @@
+package MindEase.Backend.services;
+
+import MindEase.Backend.entity.User;
+import MindEase.Backend.entity.Volunteer;
+import MindEase.Backend.repositories.UserRepository;
+import MindEase.Backend.repositories.VolunteerRepository;
+import MindEase.Backend.support.JdbcRoundTripCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Import(JdbcRoundTripCounter.class)
+class EntityCacheServiceTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private VolunteerService volunteerService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VolunteerRepository volunteerRepository;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcRoundTripCounter counter;
+
+    // Runs in its own transaction and persistence context, so only the second-level cache can avoid SQL
+    private <T> T inTransaction(Supplier<T> work) {
+        return transactionTemplate.execute(status -> work.get());
+    }
+
+    @Test
+    void userLookupsHitTheCacheAcrossTransactions() {
+        Long id = userService.registerUser(User.builder().username("cached-user").password("secret123").build()).getId();
+        inTransaction(() -> userRepository.findById(id));
+        inTransaction(() -> userRepository.findByUsername("cached-user"));
+        long entityHits = hits("users");
+        long queryHits = hits("users.by-username");
+
+        counter.reset();
+        assertEquals("cached-user", inTransaction(() -> userRepository.findById(id)).orElseThrow().getUsername());
+        assertEquals(entityHits + 1, hits("users"));
+        assertEquals(id, inTransaction(() -> userRepository.findByUsername("cached-user")).orElseThrow().getId());
+        assertEquals(queryHits + 1, hits("users.by-username"));
+
+        assertEquals(0, counter.roundTrips(), counter.statements().toString());
+    }
+
+    @Test
+    void registeringAUserInvalidatesCachedUsernameMisses() {
+        assertTrue(inTransaction(() -> userRepository.findByUsername("late-user")).isEmpty());
+        assertTrue(inTransaction(() -> userRepository.findByUsername("late-user")).isEmpty());
+
+        userService.registerUser(User.builder().username("late-user").password("secret123").build());
+
+        assertTrue(inTransaction(() -> userRepository.findByUsername("late-user")).isPresent());
+    }
+
+    @Test
+    void approveAndRejectAreVisibleThroughTheCache() {
+        Volunteer volunteer = volunteerService.registerVolunteer(Volunteer.builder()
+            .username("cached-volunteer").password("secret123")
+            .email("cached-volunteer@example.com").fullName("Cached Volunteer").build());
+        Long id = volunteer.getId();
+        assertFalse(inTransaction(() -> volunteerRepository.findByUsername("cached-volunteer")).orElseThrow().getApproved());
+        assertFalse(inTransaction(() -> volunteerRepository.findById(id)).orElseThrow().getApproved());
+
+        volunteerService.approveVolunteer(id);
+        assertTrue(inTransaction(() -> volunteerRepository.findByUsername("cached-volunteer")).orElseThrow().getApproved());
+        assertTrue(inTransaction(() -> volunteerRepository.findById(id)).orElseThrow().getActive());
+
+        volunteerService.rejectVolunteer(id, "Incomplete credentials");
+        Volunteer rejected = inTransaction(() -> volunteerRepository.findById(id)).orElseThrow();
+        assertFalse(rejected.getApproved());
+        assertEquals("Incomplete credentials", rejected.getRejectionReason());
+
+        volunteerService.approveVolunteer(id);
+        assertNull(inTransaction(() -> volunteerRepository.findByUsername("cached-volunteer")).orElseThrow().getRejectionReason());
+    }
+
+    @SuppressWarnings("unchecked")
+    private long hits(String region) {
+        Map<String, Object> regions = (Map<String, Object>) entityCacheService.stats().get("regions");
+        return (long) ((Map<String, Object>) regions.get(region)).get("hits");
+    }
+}
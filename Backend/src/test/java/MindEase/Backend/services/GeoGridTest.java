@@ -0,0 +1,95 @@
+package MindEase.Backend.services;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeoGridTest {
+
+    private static final int USERS = 100_000;
+    private static final double[][] points = new double[USERS][];
+    private static final GeoGrid index = new GeoGrid();
+
+    @BeforeAll
+    static void seed() {
+        // Users spread over a region roughly the size of India, like the real data
+        Random random = new Random(42);
+        for (int i = 0; i < USERS; i++) {
+            points[i] = new double[] { 8 + random.nextDouble() * 27, 68 + random.nextDouble() * 29 };
+            index.put(i, points[i][0], points[i][1]);
+        }
+    }
+
+    @Test
+    void radiusMatchesFullScan() {
+        double lat = 20.5, lon = 78.9, radius = 25;
+        List<Long> expected = IntStream.range(0, USERS)
+            .filter(i -> GeoGrid.haversineKm(lat, lon, points[i][0], points[i][1]) <= radius)
+            .mapToObj(i -> (long) i).sorted().collect(Collectors.toList());
+
+        List<Long> actual = index.withinRadius(lat, lon, radius).stream()
+            .map(GeoGrid.Match::userId).sorted().collect(Collectors.toList());
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void nearestMatchesFullScan() {
+        double lat = 12.97, lon = 77.59;
+        List<Long> expected = IntStream.range(0, USERS).boxed()
+            .sorted((a, b) -> Double.compare(
+                GeoGrid.haversineKm(lat, lon, points[a][0], points[a][1]),
+                GeoGrid.haversineKm(lat, lon, points[b][0], points[b][1])))
+            .limit(10).map(i -> (long) i).collect(Collectors.toList());
+
+        List<Long> actual = index.nearest(lat, lon, 10).stream()
+            .map(GeoGrid.Match::userId).collect(Collectors.toList());
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void movedAndRemovedUsersAreNotReturned() {
+        GeoGrid small = new GeoGrid();
+        small.put(1, 10, 10);
+        small.put(1, 50, 50);
+        small.put(2, 10.01, 10.01);
+        small.remove(2);
+
+        assertTrue(small.withinRadius(10, 10, 50).isEmpty());
+        assertEquals(1, small.withinRadius(50, 50, 1).size());
+        assertEquals(1, small.size());
+    }
+
+    @Test
+    void nearestReturnsEveryoneWhenFewerThanKAreIndexed() {
+        GeoGrid small = new GeoGrid();
+        small.put(1, 19.07, 72.87);
+        small.put(2, -33.9, 18.4);
+
+        List<Long> ids = small.nearest(19, 72.8, 50).stream().map(GeoGrid.Match::userId).collect(Collectors.toList());
+
+        assertEquals(List.of(1L, 2L), ids);
+        assertTrue(new GeoGrid().nearest(0, 0, 50).isEmpty());
+    }
+
+    @Test
+    void nearestWorksNextToThePole() {
+        GeoGrid polar = new GeoGrid();
+        // Across the pole from the origin, and closer than the user on the same meridian
+        polar.put(1, 89.9, -175);
+        polar.put(2, 89.5, 5);
+        polar.put(3, 60, 5);
+
+        List<Long> ids = polar.nearest(89.95, 5, 2).stream().map(GeoGrid.Match::userId).collect(Collectors.toList());
+
+        assertEquals(List.of(1L, 2L), ids);
+    }
+}
@@ -0,0 +1,84 @@
+package MindEase.Backend.services;
+
+import MindEase.Backend.config.SecurityConfig;
+import MindEase.Backend.exception.ServiceBusyException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHashingServiceTest {
+
+    @Test
+    void rejectsImmediatelyWhenPoolAndQueueAreFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        PasswordHashingService service = new PasswordHashingService(blocking, 1, 1, 5000, 1);
+
+        Thread running = new Thread(() -> service.encode("first"));
+        running.start();
+        started.await(5, TimeUnit.SECONDS);
+        Thread queued = new Thread(() -> service.encode("second"));
+        queued.start();
+        Thread.sleep(100);
+
+        long start = System.nanoTime();
+        assertThrows(ServiceBusyException.class, () -> service.encode("third"));
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(100));
+
+        release.countDown();
+        running.join();
+        queued.join();
+        service.shutdown();
+    }
+
+    @Test
+    void hashesBelowTheConfiguredCostNeedRehash() {
+        PasswordHashingService service = new PasswordHashingService(new BCryptPasswordEncoder(5), 1, 4, 5000, 2);
+
+        assertTrue(service.needsRehash(new BCryptPasswordEncoder(4).encode("secret")));
+        assertFalse(service.needsRehash(service.encode("secret")));
+        assertTrue(service.matches("secret", service.encode("secret")));
+        service.shutdown();
+    }
+
+    @Test
+    void bulkHashesComeBackInInputOrder() {
+        PasswordHashingService service = new PasswordHashingService(new BCryptPasswordEncoder(4), 1, 1, 5000, 4);
+
+        List<String> passwords = List.of("first1", "second2", "third3", "fourth4", "fifth5", "sixth6");
+        List<String> hashes = service.encodeAll(passwords);
+
+        assertEquals(passwords.size(), hashes.size());
+        for (int i = 0; i < passwords.size(); i++) {
+            assertTrue(service.matches(passwords.get(i), hashes.get(i)));
+        }
+        service.shutdown();
+    }
+
+    @Test
+    void calibrationStaysWithinBounds() {
+        assertEquals(4, SecurityConfig.calibrateStrength(0, 4, 12));
+        assertEquals(6, SecurityConfig.calibrateStrength(Long.MAX_VALUE, 4, 6));
+    }
+}
@@ -0,0 +1,122 @@
+package MindEase.Backend.services;
+
+import MindEase.Backend.entity.TodoTask;
+import MindEase.Backend.repositories.ParsedRecommendationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class RecommendationCacheTest {
+
+    private static final String TEXT = """
+        ### **Daily Tasks**
+        - Drink water
+        1. Stretch
+        ### **Social Connections**
+        - Call a friend
+        """;
+
+    @Autowired
+    private ParsedRecommendationRepository repository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RecommendationParserService parserService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicInteger parses = new AtomicInteger();
+
+    private RecommendationCache cache(int maxEntries) {
+        return new RecommendationCache(repository, transactionTemplate, maxEntries, 30);
+    }
+
+    // The table is shared by the whole suite, so each test parses text of its own
+    private static String text(String test) {
+        return TEXT + "- " + test + "\n";
+    }
+
+    private Function<CharSequence, Map<TodoTask.TaskCategory, List<String>>> countingParser() {
+        return text -> {
+            parses.incrementAndGet();
+            return parserService.parseSections(text);
+        };
+    }
+
+    @Test
+    void repeatedTextIsParsedOnceAndSurvivesRestart() {
+        String text = text("restart");
+        RecommendationCache cache = cache(16);
+        Map<TodoTask.TaskCategory, List<String>> first = cache.get(text, countingParser());
+        Map<TodoTask.TaskCategory, List<String>> second = cache.get(new StringBuilder(text), countingParser());
+
+        assertEquals(1, parses.get());
+        assertEquals(first, second);
+        assertEquals(List.of("Drink water", "Stretch"), first.get(TodoTask.TaskCategory.DAILY));
+
+        // A fresh cache, as after a restart, reads the persisted form instead of parsing
+        RecommendationCache restarted = cache(16);
+        assertEquals(first, restarted.get(text, countingParser()));
+        assertEquals(1, parses.get());
+        assertEquals(1L, restarted.stats().get("persistedHits"));
+    }
+
+    @Test
+    void editedTextIsParsedAgain() {
+        RecommendationCache cache = cache(16);
+        cache.get(text("edited"), countingParser());
+        Map<TodoTask.TaskCategory, List<String>> edited = cache.get(text("edited") + "- Send a message\n", countingParser());
+
+        assertEquals(2, parses.get());
+        assertEquals(List.of("Call a friend", "edited", "Send a message"), edited.get(TodoTask.TaskCategory.SOCIAL));
+        assertEquals(0.0, cache.stats().get("hitRatio"));
+    }
+
+    @Test
+    void leastRecentlyUsedTextIsEvicted() {
+        RecommendationCache cache = cache(1);
+        cache.get(text("evicted"), countingParser());
+        cache.get(text("evicting"), countingParser());
+        cache.get(text("evicted"), countingParser());
+
+        // The evicted text comes back from the table rather than being parsed again
+        assertEquals(2, parses.get());
+        assertEquals(1L, cache.stats().get("persistedHits"));
+        assertEquals(2L, cache.stats().get("evictions"));
+        assertTrue((double) cache.stats().get("parseTimeMaxMicros") > 0);
+    }
+
+    @Test
+    void rowsPastTheirRetentionArePurgedAndParsedAgain() {
+        String text = text("purged");
+        cache(16).get(text, countingParser());
+        jdbcTemplate.update("UPDATE parsed_recommendations SET created_at = ? WHERE payload LIKE '%purged%'",
+            LocalDateTime.now().minusDays(31));
+
+        assertTrue(cache(16).purgeExpired() >= 1);
+        cache(16).get(text, countingParser());
+        assertEquals(2, parses.get());
+    }
+
+    @Test
+    void compactFormRoundTrips() {
+        Map<TodoTask.TaskCategory, List<String>> sections = parserService.parseSections(TEXT + "- Tab\tinside\n");
+        assertEquals(sections, RecommendationCache.decode(RecommendationCache.encode(sections)));
+        assertEquals(Map.of(), RecommendationCache.decode(""));
+    }
+}
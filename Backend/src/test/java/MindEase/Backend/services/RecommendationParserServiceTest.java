@@ -0,0 +1,77 @@
+package MindEase.Backend.services;
+
+import MindEase.Backend.entity.TodoTask;
+import MindEase.Backend.repositories.ParsedRecommendationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class RecommendationParserServiceTest {
+
+    private static final String RECOMMENDATIONS = """
+        ## Your personalised plan
+        Some intro text.
+        - not under a section
+
+        ### **Daily Tasks**
+        1. Drink water
+        2.   Walk for 20 minutes  \r
+        - 3. Journal before bed
+        - 
+
+        ### **Weekly Goals**
+        - Call a friend
+        ### Notes
+        - Still weekly
+
+        ### **Unknown Section**
+        - Dropped
+
+        ### **Self-Care Activities:**
+          - Take a bath
+        ### **Professional Support**
+        10. Book a therapist
+        """;
+
+    // Nothing is persisted: the mocked repository finds no rows and saves nowhere
+    private final RecommendationParserService parser = new RecommendationParserService(null, new RecommendationCache(
+        mock(ParsedRecommendationRepository.class), new TransactionTemplate(mock(PlatformTransactionManager.class)), 16, 30));
+
+    @Test
+    void parsesEverySectionInOnePass() {
+        Map<TodoTask.TaskCategory, List<String>> sections = parser.parseSections(RECOMMENDATIONS);
+
+        assertEquals(List.of("Drink water", "Walk for 20 minutes", "Journal before bed"),
+            sections.get(TodoTask.TaskCategory.DAILY));
+        assertEquals(List.of("Call a friend", "Still weekly"), sections.get(TodoTask.TaskCategory.WEEKLY));
+        assertEquals(List.of("Take a bath"), sections.get(TodoTask.TaskCategory.SELF_CARE));
+        assertEquals(List.of("Book a therapist"), sections.get(TodoTask.TaskCategory.PROFESSIONAL));
+        assertEquals(4, sections.size());
+    }
+
+    @Test
+    void buildsRecurringTasksAtNineAm() {
+        LocalDate date = LocalDate.of(2024, 3, 1);
+        List<TodoTask> tasks = parser.extractTasks(RECOMMENDATIONS, date);
+
+        assertEquals(7, tasks.size());
+        assertTrue(tasks.stream().allMatch(t -> t.isRecurring() && !t.isCompleted()
+            && t.getScheduledDate().equals(date.atTime(9, 0))));
+        assertEquals(TodoTask.TaskCategory.PROFESSIONAL, tasks.get(6).getCategory());
+    }
+
+    @Test
+    void emptyOrMissingTextYieldsNothing() {
+        assertTrue(parser.parseSections(null).isEmpty());
+        assertTrue(parser.parseSections("").isEmpty());
+        assertTrue(parser.extractTasks("### **Daily Tasks**", LocalDate.now()).isEmpty());
+    }
+}
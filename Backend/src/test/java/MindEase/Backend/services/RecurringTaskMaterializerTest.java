@@ -0,0 +1,85 @@
+package MindEase.Backend.services;
+
+import MindEase.Backend.entity.TodoTask;
+import MindEase.Backend.repositories.TodoTaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static MindEase.Backend.services.RecurringTaskMaterializer.occurrencesBetween;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RecurringTaskMaterializerTest {
+
+    private static final LocalDate ANCHOR = LocalDate.of(2025, 1, 31);
+
+    @Test
+    void dailyTemplatesProduceEveryDayAfterTheAnchor() {
+        assertEquals(
+            List.of(LocalDate.of(2025, 2, 10), LocalDate.of(2025, 2, 11)),
+            occurrencesBetween(ANCHOR, "DAILY", LocalDate.of(2025, 2, 10), LocalDate.of(2025, 2, 11)));
+        // The template itself already covers its own day
+        assertEquals(List.of(), occurrencesBetween(ANCHOR, "DAILY", ANCHOR, ANCHOR));
+    }
+
+    @Test
+    void weeklyTemplatesFollowTheAnchorWeekday() {
+        assertEquals(
+            List.of(LocalDate.of(2025, 2, 14)),
+            occurrencesBetween(ANCHOR, "WEEKLY", LocalDate.of(2025, 2, 10), LocalDate.of(2025, 2, 16)));
+        assertEquals(List.of(), occurrencesBetween(ANCHOR, "WEEKLY", LocalDate.of(2025, 2, 15), LocalDate.of(2025, 2, 16)));
+    }
+
+    @Test
+    void monthlyTemplatesClampToMonthEnd() {
+        assertEquals(
+            List.of(LocalDate.of(2025, 2, 28), LocalDate.of(2025, 3, 31)),
+            occurrencesBetween(ANCHOR, "MONTHLY", LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 31)));
+    }
+
+    @Test
+    void unknownPatternsProduceNothing() {
+        assertEquals(List.of(), occurrencesBetween(ANCHOR, "YEARLY", ANCHOR, ANCHOR.plusYears(2)));
+    }
+
+    @Test
+    void aFailedChunkFallsBackToRowByRowInserts() {
+        TodoTaskRepository repository = mock(TodoTaskRepository.class);
+        RecurringTaskMaterializer materializer = new RecurringTaskMaterializer(
+            repository, new TransactionTemplate(mock(PlatformTransactionManager.class)), 500, 1);
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        List<TodoTask> templates = List.of(template(1L, yesterday), template(2L, yesterday));
+        when(repository.findRecurringTemplatesAfter(any(Long.class), any())).thenReturn(templates);
+        when(repository.findOccurrences(anyCollection(), any(), any())).thenReturn(List.of());
+        when(repository.saveAll(any())).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(repository.save(argThat(task -> task.getTemplateId() == 1L)))
+            .thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        materializer.materialize();
+
+        // Today and tomorrow for each template, and template 2's instances still go in
+        verify(repository, times(4)).save(any());
+        verify(repository, times(2)).save(argThat(task -> task.getTemplateId() == 2L));
+    }
+
+    private static TodoTask template(long id, LocalDate anchor) {
+        return TodoTask.builder()
+            .id(id)
+            .task("Template " + id)
+            .scheduledDate(anchor.atTime(9, 0))
+            .recurring(true)
+            .recurrencePattern("DAILY")
+            .build();
+    }
+}
@@ -0,0 +1,50 @@
+package MindEase.Backend.services;
+
+import MindEase.Backend.entity.User;
+import MindEase.Backend.repositories.UserRepository;
+import MindEase.Backend.support.JdbcRoundTripCounter;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Import(JdbcRoundTripCounter.class)
+class TaskBatchInsertTest {
+
+    @Autowired
+    private TodoTaskService todoTaskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcRoundTripCounter counter;
+
+    @ParameterizedTest
+    @ValueSource(ints = { 10, 100, 1000 })
+    void bulkTaskCreationIsBatched(int count) {
+        User user = userRepository.save(User.builder()
+            .username("batch-" + count)
+            .password("secret123")
+            .build());
+        List<String> texts = IntStream.range(0, count).mapToObj(i -> "Task " + i).collect(Collectors.toList());
+
+        counter.reset();
+        int created = todoTaskService.createTasksFromAssessment(user.getId(), 1L, Map.of("DAILY", texts)).size();
+        int roundTrips = counter.roundTrips();
+
+        assertEquals(count, created);
+        // One insert batch and one sequence allocation per 50 rows, plus the user lookup
+        assertTrue(roundTrips <= 2 * ((count + 49) / 50) + 2, () -> "Too many round trips: " + counter.statements());
+    }
+}
@@ -0,0 +1,132 @@
+package MindEase.Backend.services;
+
+import MindEase.Backend.dto.TaskBatchResult;
+import MindEase.Backend.dto.TaskCompletionUpdate;
+import MindEase.Backend.entity.TodoTask;
+import MindEase.Backend.entity.User;
+import MindEase.Backend.repositories.TodoTaskRepository;
+import MindEase.Backend.repositories.UserRepository;
+import MindEase.Backend.support.JdbcRoundTripCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Import(JdbcRoundTripCounter.class)
+class TodoTaskBatchUpdateTest {
+
+    @Autowired
+    private TodoTaskService todoTaskService;
+
+    @Autowired
+    private RecurringTaskMaterializer materializer;
+
+    @Autowired
+    private TodoTaskRepository todoTaskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcRoundTripCounter counter;
+
+    private User user(String name) {
+        return userRepository.save(User.builder().username(name).password("secret123").build());
+    }
+
+    private List<TodoTask> tasks(User user, int count, boolean recurring) {
+        List<TodoTask> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(TodoTask.builder().task("Task " + i).category(TodoTask.TaskCategory.DAILY)
+                .scheduledDate(LocalDateTime.now()).user(user)
+                .recurring(recurring).recurrencePattern(recurring ? "DAILY" : null).build());
+        }
+        return todoTaskRepository.saveAll(tasks);
+    }
+
+    private static List<TaskCompletionUpdate> complete(List<TodoTask> tasks, boolean completed) {
+        return tasks.stream().map(t -> new TaskCompletionUpdate(t.getId(), completed)).collect(Collectors.toList());
+    }
+
+    @Test
+    void batchReturnsOnlyChangedIdsInAConstantNumberOfStatements() {
+        User owner = user("batch-owner");
+        List<TodoTask> mine = tasks(owner, 100, false);
+        List<TodoTask> theirs = tasks(user("batch-other"), 1, false);
+        todoTaskService.updateTask(mine.get(0).getId(), true, null);
+
+        List<TaskCompletionUpdate> updates = complete(mine, true);
+        updates.add(new TaskCompletionUpdate(theirs.get(0).getId(), true));
+        updates.add(new TaskCompletionUpdate(-1L, true));
+
+        counter.reset();
+        TaskBatchResult result = todoTaskService.updateTasks(updates, owner.getId());
+        int roundTrips = counter.roundTrips();
+
+        List<Long> expected = mine.subList(1, mine.size()).stream().map(TodoTask::getId).collect(Collectors.toList());
+        assertEquals(expected, result.getUpdated());
+        assertEquals(List.of(), result.getCreated());
+        // Lock probe, bulk update, recurring lookup; the same for 10 or 10,000 tasks
+        assertTrue(roundTrips <= 3, () -> "Too many round trips: " + counter.statements());
+        assertTrue(todoTaskRepository.findAllById(expected).stream().allMatch(TodoTask::isCompleted));
+        assertTrue(todoTaskRepository.findAllById(expected).stream().allMatch(t -> t.getVersion() == 1L));
+        assertEquals(false, todoTaskRepository.findById(theirs.get(0).getId()).orElseThrow().isCompleted());
+
+        // Unticking goes through the same path, re-sending the current state changes nothing
+        TaskBatchResult undo = todoTaskService.updateTasks(
+            List.of(new TaskCompletionUpdate(mine.get(0).getId(), false), new TaskCompletionUpdate(mine.get(1).getId(), true)),
+            owner.getId());
+        assertEquals(List.of(mine.get(0).getId()), undo.getUpdated());
+    }
+
+    @Test
+    void completingRecurringTasksCreatesEachNextInstanceOnce() {
+        List<TodoTask> recurring = tasks(user("batch-recurring"), 60, true);
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+
+        counter.reset();
+        TaskBatchResult result = todoTaskService.updateTasks(complete(recurring, true), null);
+
+        assertEquals(60, result.getCreated().size());
+        List<TodoTask> created = todoTaskRepository.findAllById(result.getCreated());
+        assertTrue(created.stream().allMatch(t -> tomorrow.equals(t.getOccurrenceDate()) && !t.isCompleted()));
+        // Probe, update, recurring lookup, occurrence check, then pooled ids and two insert batches
+        assertTrue(counter.roundTrips() <= 8, () -> "Too many round trips: " + counter.statements());
+
+        // Neither re-completing nor the scheduled run duplicates an existing occurrence
+        todoTaskService.updateTasks(complete(recurring, false), null);
+        assertEquals(List.of(), todoTaskService.updateTasks(complete(recurring, true), null).getCreated());
+        materializer.materialize();
+        List<Long> ids = recurring.stream().map(TodoTask::getId).collect(Collectors.toList());
+        assertEquals(60, todoTaskRepository.findOccurrences(ids, tomorrow, tomorrow).size());
+    }
+
+    @Test
+    void singleUpdateKeepsTheNextRecurringInstance() {
+        TodoTask task = tasks(user("single-recurring"), 1, true).get(0);
+        todoTaskService.updateTask(task.getId(), true, null);
+        assertEquals(1, todoTaskRepository.findOccurrences(List.of(task.getId()),
+            LocalDate.now().plusDays(1), LocalDate.now().plusDays(1)).size());
+    }
+
+    @Test
+    void invalidBatchesAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+            () -> todoTaskService.updateTasks(List.of(new TaskCompletionUpdate(1L, null)), null));
+        List<TaskCompletionUpdate> tooMany = IntStream.range(0, 501)
+            .mapToObj(i -> new TaskCompletionUpdate((long) i, true)).collect(Collectors.toList());
+        assertThrows(IllegalArgumentException.class, () -> todoTaskService.updateTasks(tooMany, null));
+    }
+}
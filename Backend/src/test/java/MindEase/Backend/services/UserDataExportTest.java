@@ -0,0 +1,135 @@
+package MindEase.Backend.services;
+
+import MindEase.Backend.entity.User;
+import MindEase.Backend.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties =
+    // A database of its own, so the million rows never show up in another test's queries
+    "spring.datasource.url=jdbc:h2:mem:export_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE")
+class UserDataExportTest {
+
+    private static final int TASKS = 1_000_000;
+    private static final int SEED_CHUNK = 100_000;
+    private static final int SAMPLE_EVERY_LINES = 200_000;
+    // Keeping every exported task in the persistence context would take several hundred MB
+    private static final long MAX_HEAP_GROWTH_BYTES = 48L * 1024 * 1024;
+
+    @Autowired
+    private UserDataExportService exportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // The context stays cached for the rest of the run, so the rows would otherwise keep their heap
+    @AfterEach
+    void dropRows() {
+        jdbcTemplate.execute("TRUNCATE TABLE todo_tasks");
+        jdbcTemplate.execute("DELETE FROM assessments");
+    }
+
+    private long seedUser(String username) {
+        return userRepository.save(User.builder().username(username).password("secret123").build()).getId();
+    }
+
+    @Test
+    void exportsAMillionTasksInBoundedHeap() throws Exception {
+        long userId = seedUser("export-big");
+        // Seeded in chunks; one statement for every row keeps them all in H2's undo log and is several times slower
+        for (int from = 1; from <= TASKS; from += SEED_CHUNK) {
+            jdbcTemplate.update("INSERT INTO todo_tasks (id, user_id, task, category, scheduled_date, completed, recurring, "
+                + "created_at, version) SELECT \"X\" + 1000000, ?, CONCAT('Task number ', \"X\"), 'DAILY', "
+                + "DATEADD('MINUTE', \"X\", TIMESTAMP '2020-01-01 00:00:00'), MOD(\"X\", 2) = 0, FALSE, CURRENT_TIMESTAMP, 0 "
+                + "FROM SYSTEM_RANGE(?, ?)", userId, from, Math.min(TASKS, from + SEED_CHUNK - 1));
+        }
+
+        HeapSamplingStream out = new HeapSamplingStream();
+        exportService.export(userId, UserDataExportService.Format.NDJSON, out);
+
+        assertEquals(TASKS, out.lines);
+        List<Long> used = out.samples;
+        assertEquals(TASKS / SAMPLE_EVERY_LINES, used.size());
+        long growth = used.stream().mapToLong(Long::longValue).max().orElseThrow() - used.get(0);
+        assertTrue(growth < MAX_HEAP_GROWTH_BYTES,
+            "Heap grew by " + growth / (1024 * 1024) + " MB while streaming, samples " + used);
+    }
+
+    @Test
+    void writesNdjsonAndCsvRows() throws Exception {
+        long userId = seedUser("export-small");
+        jdbcTemplate.update("INSERT INTO assessments (id, user_id, assessment_type, score, risk_level, follow_up_date, "
+            + "suggestions, created_at) VALUES (900, ?, 'PHQ-9', 12, 'MODERATE', DATE '2024-02-01', "
+            + "'{\"tips\":[\"walk\"]}' FORMAT JSON, TIMESTAMP '2024-01-01 09:00:00')", userId);
+        jdbcTemplate.update("INSERT INTO todo_tasks (id, user_id, task, category, scheduled_date, completed, recurring, "
+            + "created_at, version) VALUES (901, ?, '=1+1, \"quoted\"', 'WEEKLY', TIMESTAMP '2024-01-02 10:00:00', "
+            + "TRUE, FALSE, TIMESTAMP '2024-01-01 09:00:00', 0)", userId);
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        exportService.export(userId, UserDataExportService.Format.NDJSON, ndjson);
+        assertEquals("""
+            {"type":"assessment","id":900,"assessmentType":"PHQ-9","score":12,"riskLevel":"MODERATE",\
+            "followUpDate":"2024-02-01","suggestions":"{\\"tips\\":[\\"walk\\"]}","createdAt":"2024-01-01T09:00"}
+            {"type":"task","id":901,"task":"=1+1, \\"quoted\\"","category":"WEEKLY","completed":true,\
+            "scheduledDate":"2024-01-02T10:00","recurring":false,"recurrencePattern":null,"templateId":null,\
+            "occurrenceDate":null,"sourceAssessmentId":null,"createdAt":"2024-01-01T09:00"}
+            """, ndjson.toString(StandardCharsets.UTF_8));
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        exportService.export(userId, UserDataExportService.Format.CSV, csv);
+        String[] lines = csv.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("record,id,created_at,assessment_type,score"));
+        assertEquals("assessment,900,2024-01-01T09:00,PHQ-9,12,MODERATE,2024-02-01,\"{\"\"tips\"\":[\"\"walk\"\"]}\","
+            + ",,,,,,,,", lines[1]);
+        // Formula-looking text is neutralised, and quotes and commas are escaped
+        assertEquals("task,901,2024-01-01T09:00,,,,,,\"'=1+1, \"\"quoted\"\"\",WEEKLY,true,2024-01-02T10:00,false,,,,",
+            lines[2]);
+    }
+
+    @Test
+    void unknownUsersFailBeforeAnythingIsWritten() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThrows(IllegalArgumentException.class,
+            () -> exportService.export(-1L, UserDataExportService.Format.CSV, out));
+        assertEquals(0, out.size());
+    }
+
+    // Discards the export, counting lines and recording the live heap after a GC every SAMPLE_EVERY_LINES lines
+    private static final class HeapSamplingStream extends OutputStream {
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        final List<Long> samples = new ArrayList<>();
+        long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n' && ++lines % SAMPLE_EVERY_LINES == 0) {
+                System.gc();
+                samples.add(memory.getHeapMemoryUsage().getUsed());
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) write(b[i]);
+        }
+    }
+}
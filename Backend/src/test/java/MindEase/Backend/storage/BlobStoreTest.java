@@ -0,0 +1,89 @@
+package MindEase.Backend.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BlobStoreTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void identicalContentIsStoredOnce() throws Exception {
+        BlobStore store = new BlobStore(root.toString());
+        byte[] data = "certificate".getBytes();
+
+        String first = store.put(data);
+        String second = store.put(data.clone());
+
+        assertEquals(first, second);
+        assertArrayEquals(data, Files.readAllBytes(store.resolve(first)));
+        try (var files = Files.walk(root)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void dataUrlIsDecodedToRawBytes() throws Exception {
+        BlobStore store = new BlobStore(root.toString());
+        byte[] png = { (byte) 0x89, 'P', 'N', 'G' };
+
+        BlobStore.StoredBlob blob = store.putBase64("data:image/png;base64," + Base64.getEncoder().encodeToString(png));
+
+        assertEquals("image/png", blob.contentType());
+        assertArrayEquals(png, Files.readAllBytes(store.resolve(blob.hash())));
+        assertNull(store.putBase64(null));
+    }
+
+    @Test
+    void typesABrowserCouldRunAreStoredAsPlainBytes() {
+        BlobStore store = new BlobStore(root.toString());
+        String html = Base64.getEncoder().encodeToString("<script>alert(1)</script>".getBytes());
+
+        assertEquals("application/octet-stream", store.putBase64("data:text/html;base64," + html).contentType());
+        assertEquals("application/octet-stream", store.putBase64("data:image/svg+xml;base64," + html).contentType());
+        assertEquals("application/pdf", store.putBase64("data:Application/PDF;base64," + html).contentType());
+    }
+
+    @Test
+    void servedBlobsCannotActAsPages() throws Exception {
+        BlobStore store = new BlobStore(root.toString());
+        String hash = store.put("<svg onload=alert(1)>".getBytes());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // A type stored before the allowlist existed is not served back as-is
+        new BlobResponseWriter(store).write(hash, "image/svg+xml", new MockHttpServletRequest("GET", "/"), response);
+
+        assertEquals("application/octet-stream", response.getContentType());
+        assertEquals("nosniff", response.getHeader("X-Content-Type-Options"));
+        assertEquals("sandbox", response.getHeader("Content-Security-Policy"));
+        assertEquals("inline; filename=\"" + hash + ".bin\"", response.getHeader("Content-Disposition"));
+    }
+
+    @Test
+    void referencesMustBeHashes() {
+        BlobStore store = new BlobStore(root.toString());
+        assertThrows(IllegalArgumentException.class, () -> store.resolve("../../etc/passwd"));
+    }
+
+    @Test
+    void rangeHeadersAreParsed() {
+        assertArrayEquals(new long[] { 0, 99 }, BlobResponseWriter.parseRange("bytes=0-99", 1000));
+        assertArrayEquals(new long[] { 900, 999 }, BlobResponseWriter.parseRange("bytes=900-", 1000));
+        assertArrayEquals(new long[] { 950, 999 }, BlobResponseWriter.parseRange("bytes=-50", 1000));
+        assertArrayEquals(new long[] { 500, 999 }, BlobResponseWriter.parseRange("bytes=500-5000", 1000));
+        assertNull(BlobResponseWriter.parseRange("bytes=1000-", 1000));
+        assertNull(BlobResponseWriter.parseRange("bytes=0-1,5-6", 1000));
+    }
+}
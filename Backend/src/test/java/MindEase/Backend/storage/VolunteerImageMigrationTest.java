@@ -0,0 +1,82 @@
+package MindEase.Backend.storage;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Base64;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+class VolunteerImageMigrationTest {
+
+    private static final String PNG = "data:image/png;base64,"
+        + Base64.getEncoder().encodeToString(new byte[] { (byte) 0x89, 'P', 'N', 'G', 4, 5, 6 });
+    private static final String BROKEN = "data:image/png;base64";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @AfterEach
+    void deleteLegacyRows() {
+        jdbcTemplate.update("DELETE FROM volunteers WHERE id BETWEEN 930001 AND 930003");
+    }
+
+    private void insert(long id, String certificate, String idProof) {
+        jdbcTemplate.update("INSERT INTO volunteers (id, created_at, username, password, email, full_name, "
+            + "certificate_image, id_proof_image) VALUES (?, CURRENT_TIMESTAMP, ?, 'x', ?, 'Legacy', ?, ?)",
+            id, "legacy-" + id, "legacy-" + id + "@example.com", certificate, idProof);
+    }
+
+    private Map<String, Object> row(long id) {
+        return jdbcTemplate.queryForMap("SELECT certificate_image, certificate_image_ref, id_proof_image, "
+            + "id_proof_image_ref FROM volunteers WHERE id = ?", id);
+    }
+
+    @Test
+    void imagesThatCannotBeStoredStayInTheLegacyColumns() {
+        insert(930001, PNG, BROKEN);
+        insert(930002, BROKEN, null);
+        insert(930003, PNG, PNG);
+        // Batches of two, so the rows that stay behind are passed over rather than selected again
+        VolunteerImageMigration migration =
+            new VolunteerImageMigration(jdbcTemplate, transactionTemplate, entityManagerFactory, blobStore, true, 2);
+
+        migration.migrate();
+
+        Map<String, Object> partly = row(930001);
+        assertNull(partly.get("certificate_image"));
+        assertNotNull(partly.get("certificate_image_ref"));
+        assertEquals(BROKEN, partly.get("id_proof_image"));
+        assertNull(partly.get("id_proof_image_ref"));
+
+        assertEquals(BROKEN, row(930002).get("certificate_image"));
+
+        Map<String, Object> moved = row(930003);
+        assertNull(moved.get("certificate_image"));
+        assertNull(moved.get("id_proof_image"));
+        assertEquals(moved.get("certificate_image_ref"), moved.get("id_proof_image_ref"));
+
+        // A later run retries what is left without losing it
+        migration.migrate();
+        assertEquals(BROKEN, row(930001).get("id_proof_image"));
+        assertEquals(BROKEN, row(930002).get("certificate_image"));
+    }
+}
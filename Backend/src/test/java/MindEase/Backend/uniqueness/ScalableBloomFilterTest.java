@@ -0,0 +1,86 @@
+package MindEase.Backend.uniqueness;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScalableBloomFilterTest {
+
+    @Test
+    void growsPastItsCapacityWithoutFalseNegatives() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1000, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            filter.add("user-" + i);
+        }
+        assertTrue(filter.layerCount() > 1);
+        for (int i = 0; i < 20_000; i++) {
+            assertTrue(filter.mightContain("user-" + i), "user-" + i);
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheConfiguredOneAfterGrowing() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1000, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            filter.add("user-" + i);
+        }
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("other-" + i)) falsePositives++;
+        }
+        // The layers' rates sum to less than twice the first one
+        assertTrue(falsePositives < probes * 0.02, falsePositives + " false positives");
+    }
+
+    @Test
+    void addingAKnownKeyAgainDoesNotGrowTheFilter() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(10, 0.01);
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 9; i++) {
+                filter.add("user-" + i);
+            }
+        }
+        assertEquals(1, filter.layerCount());
+        assertEquals(9, filter.approximateSize());
+        assertFalse(filter.mightContain("user-9"));
+    }
+
+    @Test
+    void concurrentAddsAreAllVisible() throws Exception {
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01);
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 2_000; i++) filter.add(thread + "-" + i);
+            }));
+        }
+        for (Future<?> future : futures) future.get(10, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < 2_000; i++) {
+                assertTrue(filter.mightContain(t + "-" + i));
+            }
+        }
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(10, 1));
+    }
+}
@@ -0,0 +1,98 @@
+package MindEase.Backend.uniqueness;
+
+import MindEase.Backend.entity.User;
+import MindEase.Backend.entity.Volunteer;
+import MindEase.Backend.services.UserService;
+import MindEase.Backend.services.VolunteerService;
+import MindEase.Backend.support.JdbcRoundTripCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Import(JdbcRoundTripCounter.class)
+class UniquenessFilterTest {
+
+    @Autowired
+    private UniquenessFilter uniquenessFilter;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private VolunteerService volunteerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JdbcRoundTripCounter counter;
+
+    private long existsQueries() {
+        return counter.statements().stream()
+            .map(sql -> sql.toLowerCase(Locale.ROOT))
+            .filter(sql -> sql.startsWith("select") && !sql.contains("_seq"))
+            .count();
+    }
+
+    @Test
+    void newNamesAreRegisteredWithoutAnExistsQuery() {
+        assertTrue(uniquenessFilter.isLoaded());
+
+        counter.reset();
+        userService.registerUser(User.builder().username("filter-user").password("secret123").build());
+        assertEquals(0, existsQueries(), String.join("\n", counter.statements()));
+
+        counter.reset();
+        assertTrue(userService.isUsernameAvailable("filter-user-free"));
+        assertEquals(0, counter.roundTrips());
+
+        // Known names, and names the database's collation would treat as equal, fall through
+        assertFalse(userService.isUsernameAvailable("filter-user"));
+        assertTrue(uniquenessFilter.mightHaveUserUsername("Filter-User"));
+        assertTrue(uniquenessFilter.mightHaveUserUsername(" filter-usér "));
+        assertThrows(IllegalArgumentException.class, () ->
+            userService.registerUser(User.builder().username("filter-user").password("secret123").build()));
+    }
+
+    @Test
+    void theUniqueConstraintsCatchNamesTheFilterHasNotSeen() {
+        // Written behind the filter's back, as another instance would
+        jdbcTemplate.update("INSERT INTO users (id, created_at, username, password) VALUES (900001, CURRENT_TIMESTAMP, 'elsewhere-user', 'x')");
+        jdbcTemplate.update("INSERT INTO volunteers (id, created_at, username, password, email, full_name, approved, active) "
+            + "VALUES (900002, CURRENT_TIMESTAMP, 'elsewhere-volunteer', 'x', 'elsewhere@example.com', 'Elsewhere', false, false)");
+        assertFalse(uniquenessFilter.mightHaveUserUsername("elsewhere-user"));
+
+        IllegalArgumentException user = assertThrows(IllegalArgumentException.class, () ->
+            userService.registerUser(User.builder().username("elsewhere-user").password("secret123").build()));
+        assertEquals("Username already exists", user.getMessage());
+
+        IllegalArgumentException email = assertThrows(IllegalArgumentException.class, () ->
+            volunteerService.registerVolunteer(volunteer("filter-volunteer", "elsewhere@example.com")));
+        assertEquals("Email already exists", email.getMessage());
+
+        // A reload picks both rows up
+        uniquenessFilter.load();
+        assertTrue(uniquenessFilter.mightHaveUserUsername("elsewhere-user"));
+        assertTrue(uniquenessFilter.mightHaveVolunteerUsername("elsewhere-volunteer"));
+        assertTrue(uniquenessFilter.mightHaveVolunteerEmail("Elsewhere@Example.com"));
+    }
+
+    private static Volunteer volunteer(String username, String email) {
+        Volunteer volunteer = new Volunteer();
+        volunteer.setUsername(username);
+        volunteer.setPassword("secret123");
+        volunteer.setEmail(email);
+        volunteer.setFullName("Filter Volunteer");
+        return volunteer;
+    }
+}
@@ -0,0 +1,18 @@
+-- Schema as ddl-auto=update left it before Flyway, with Hibernate's hashed constraint names
+create table admins (id bigint not null auto_increment, created_at datetime(6) not null, updated_at datetime(6), version bigint, email varchar(255), full_name varchar(255), password varchar(255) not null, username varchar(50) not null, primary key (id)) engine=InnoDB;
+create table assessments (id bigint not null auto_increment, assessment_type varchar(255) not null, created_at datetime(6) not null, follow_up_date date, risk_level varchar(255), score integer not null, suggestions JSON, user_id bigint not null, primary key (id)) engine=InnoDB;
+create table todo_tasks (id bigint not null auto_increment, category enum ('DAILY','WEEKLY','MONTHLY','SOCIAL','SELF_CARE','PROFESSIONAL') not null, completed bit not null, created_at datetime(6) not null, recurrence_pattern varchar(255), recurring bit not null, scheduled_date datetime(6) not null, source_assessment_id bigint, task TEXT not null, user_id bigint not null, primary key (id)) engine=InnoDB;
+create table users (id bigint not null auto_increment, created_at datetime(6) not null, updated_at datetime(6), version bigint, latitude float(53), longitude float(53), password varchar(255) not null, recommendations TEXT, username varchar(50) not null, primary key (id)) engine=InnoDB;
+create table volunteers (id bigint not null auto_increment, created_at datetime(6) not null, updated_at datetime(6), version bigint, active bit, approved bit, certificate_image LONGTEXT, credentials varchar(255), email varchar(255) not null, experience integer, full_name varchar(255) not null, id_proof_image LONGTEXT, password varchar(255) not null, rejection_reason varchar(255), specialization varchar(255), username varchar(50) not null, primary key (id)) engine=InnoDB;
+alter table admins add constraint UKmi8vkhus4xbdbqcac2jm4hkp unique (username);
+alter table users add constraint UKr43af9ap4edm43mmtq01oddj6 unique (username);
+alter table volunteers add constraint UK8bm3iuvpt0tj1y8whcgpsbanc unique (email);
+alter table volunteers add constraint UKfnqd5bf0u0h4jxh8p2pw0hasb unique (username);
+alter table assessments add constraint FKsr14iqobldmb7tc3d6mdm8g1o foreign key (user_id) references users (id);
+alter table todo_tasks add constraint FK2skxw8nb8e1gx4ka9c83ay6bq foreign key (user_id) references users (id);
+
+insert into users (id, created_at, username, password) values (7, current_timestamp, 'legacy-user', 'x');
+insert into volunteers (id, created_at, username, password, email, full_name, certificate_image)
+    values (12, current_timestamp, 'legacy-volunteer', 'x', 'legacy-volunteer@example.com', 'Legacy', 'data:image/png;base64,iVBORw0K');
+insert into todo_tasks (id, category, completed, created_at, recurring, recurrence_pattern, scheduled_date, task, user_id)
+    values (30, 'DAILY', false, current_timestamp, true, 'DAILY', current_timestamp, 'Walk', 7);
@@ -732,15 +732,15 @@ const AdminDashboard = () => {
                     <div className="grid grid-cols-1 md:grid-cols-2 gap-6">
                       <div className="bg-gray-50 p-4 rounded-lg">
                         <p className="text-sm text-gray-500 mb-2">Certificate</p>
-                        {selectedVolunteer.certificateImage ? (
+                        {selectedVolunteer.certificateImageUrl ? (
                           <div className="relative">
                             <img
-                              src={selectedVolunteer.certificateImage}
+                              src={`http://localhost:8080${selectedVolunteer.certificateImageUrl}?access_token=${sessionStorage.getItem('token')}`}
                               alt="Certificate"
                               className="w-full h-auto border rounded-lg shadow-sm"
                             />
                             <a 
-                              href={selectedVolunteer.certificateImage} 
+                              href={`http://localhost:8080${selectedVolunteer.certificateImageUrl}?access_token=${sessionStorage.getItem('token')}`} 
                               target="_blank" 
                               rel="noopener noreferrer"
                               className="absolute bottom-2 right-2 bg-white p-2 rounded-full shadow-md hover:bg-gray-100 transition-colors"
@@ -758,15 +758,15 @@ const AdminDashboard = () => {
                       </div>
                       <div className="bg-gray-50 p-4 rounded-lg">
                         <p className="text-sm text-gray-500 mb-2">ID Proof</p>
-                        {selectedVolunteer.idProofImage ? (
+                        {selectedVolunteer.idProofImageUrl ? (
                           <div className="relative">
                             <img
-                              src={selectedVolunteer.idProofImage}
+                              src={`http://localhost:8080${selectedVolunteer.idProofImageUrl}?access_token=${sessionStorage.getItem('token')}`}
                               alt="ID Proof"
                               className="w-full h-auto border rounded-lg shadow-sm"
                             />
                             <a 
-                              href={selectedVolunteer.idProofImage} 
+                              href={`http://localhost:8080${selectedVolunteer.idProofImageUrl}?access_token=${sessionStorage.getItem('token')}`} 
                               target="_blank" 
                               rel="noopener noreferrer"
                               className="absolute bottom-2 right-2 bg-white p-2 rounded-full shadow-md hover:bg-gray-100 transition-colors"
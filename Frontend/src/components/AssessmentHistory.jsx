@@ -2,6 +2,7 @@
 import React, { useState, useEffect } from 'react';
 import { useNavigate } from 'react-router-dom';
 import axios from 'axios';
+import { withSuggestions } from '../utils/assessments';
 import {
   FaCheckCircle,
   FaRegCircle,
@@ -50,19 +51,6 @@ const AssessmentHistory = () => {
       );
       setAssessments(sorted);
 
-      // Initialize task statuses for all assessments
-      const initialStatuses = {};
-      sorted.forEach(assessment => {
-        if (assessment.suggestions) {
-          const suggestions = JSON.parse(assessment.suggestions);
-          initialStatuses[assessment.id] = {};
-          Object.entries(suggestions.categories).forEach(([category, data]) => {
-            initialStatuses[assessment.id][category] = data.tasks.map(() => false);
-          });
-        }
-      });
-      setTaskStatuses(initialStatuses);
-
     } catch (err) {
       console.error('Failed to fetch assessments:', err);
       setError('Failed to load assessment history');
@@ -87,7 +75,29 @@ const AssessmentHistory = () => {
     return new Date(dateStr).toLocaleDateString();
   };
 
+  // Suggestions are not part of the list response, load them the first time an assessment is expanded
+  const loadSuggestions = async (assessmentId) => {
+    const assessment = assessments.find(a => a.id === assessmentId);
+    if (!assessment || assessment.suggestions) return;
+    try {
+      const full = await withSuggestions(assessment);
+      setAssessments(prev => prev.map(a => (a.id === assessmentId ? full : a)));
+      if (full.suggestions) {
+        const statuses = {};
+        Object.entries(JSON.parse(full.suggestions).categories).forEach(([category, data]) => {
+          statuses[category] = data.tasks.map(() => false);
+        });
+        setTaskStatuses(prev => ({ ...prev, [assessmentId]: statuses }));
+      }
+    } catch (err) {
+      console.error('Failed to load assessment suggestions:', err);
+    }
+  };
+
   const toggleAssessmentExpansion = (assessmentId) => {
+    if (!expandedAssessments[assessmentId]) {
+      loadSuggestions(assessmentId);
+    }
     setExpandedAssessments(prev => ({
       ...prev,
       [assessmentId]: !prev[assessmentId]
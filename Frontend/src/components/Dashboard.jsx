@@ -1,6 +1,7 @@
 import React, { useEffect, useState, useRef } from 'react';
 import { useNavigate } from 'react-router-dom';
 import axios from 'axios';
+import { withSuggestions } from '../utils/assessments';
 import { motion, AnimatePresence } from 'framer-motion';
 import { LineChart, Line, XAxis, YAxis, CartesianGrid, Tooltip, Legend, ResponsiveContainer, AreaChart, Area } from 'recharts';
 import {
@@ -101,6 +102,10 @@ const Dashboard = () => {
         const sorted = response.data.sort((a, b) => 
           new Date(a.createdAt) - new Date(b.createdAt)
         );
+        // Only the latest assessment's suggestions are shown up front
+        if (sorted.length > 0) {
+          sorted[sorted.length - 1] = await withSuggestions(sorted[sorted.length - 1]);
+        }
         setAssessments(sorted);
 
         // Initialize task status for the latest assessment
@@ -366,6 +371,20 @@ const Dashboard = () => {
     return "Continue following your wellness plan and monitor your progress regularly.";
   };
 
+  const viewResults = async (assessment) => {
+    const full = await withSuggestions(assessment);
+    navigate('/results', { 
+      state: {
+        score: full.score,
+        riskLevel: full.riskLevel,
+        assessmentType: full.assessmentType,
+        followUpDate: full.followUpDate,
+        suggestions: JSON.parse(full.suggestions),
+        id: full.id
+      }
+    });
+  };
+
   const openInsightModal = (assessment) => {
     setSelectedAssessment(assessment);
     setShowInsightModal(true);
@@ -532,16 +551,7 @@ const Dashboard = () => {
                 <button
                   onClick={() => {
                     setShowInsightModal(false);
-                    navigate('/results', { 
-                      state: {
-                        score: selectedAssessment.score,
-                        riskLevel: selectedAssessment.riskLevel,
-                        assessmentType: selectedAssessment.assessmentType,
-                        followUpDate: selectedAssessment.followUpDate,
-                        suggestions: JSON.parse(selectedAssessment.suggestions),
-                        id: selectedAssessment.id
-                      }
-                    });
+                    viewResults(selectedAssessment);
                   }}
                   className="px-4 py-2 bg-teal-600 text-white rounded-lg hover:bg-teal-700 transition-colors"
                 >
@@ -964,18 +974,7 @@ const Dashboard = () => {
                                       Details
                                     </button>
                                     <button
-                                      onClick={() => {
-                                        navigate('/results', { 
-                                          state: {
-                                            score: assessment.score,
-                                            riskLevel: assessment.riskLevel,
-                                            assessmentType: assessment.assessmentType,
-                                            followUpDate: assessment.followUpDate,
-                                            suggestions: JSON.parse(assessment.suggestions),
-                                            id: assessment.id
-                                          }
-                                        });
-                                      }}
+                                      onClick={() => viewResults(assessment)}
                                       className="text-teal-600 hover:text-teal-900"
                                     >
                                       View Results
@@ -95,6 +95,7 @@ const Header = () => {
 
   const handleLogout = () => {
     sessionStorage.removeItem('user');
+    sessionStorage.removeItem('token');
     localStorage.removeItem('userId');
     navigate('/login');
   };
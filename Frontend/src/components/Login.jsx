@@ -157,6 +157,7 @@ const Login = () => {
   
       // Save user info in sessionStorage
       sessionStorage.setItem('user', JSON.stringify(userData));
+      sessionStorage.setItem('token', response.data.token);
       localStorage.setItem('userId', userData.id);
       localStorage.setItem('userType', userType);
       
@@ -177,7 +177,8 @@ const Results = () => {
   const fetchSuggestions = async () => {
     try {
       const response = await fetch(
-        `http://localhost:8080/api/assessments/${assessmentId}`
+        `http://localhost:8080/api/assessments/${assessmentId}`,
+        { headers: { Authorization: `Bearer ${sessionStorage.getItem('token')}` } }
       );
       if (!response.ok) throw new Error("Failed to fetch assessment data");
 
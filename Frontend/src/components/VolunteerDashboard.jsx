@@ -106,35 +106,16 @@ const VolunteerDashboard = () => {
     try {
       const response = await axios.get(`http://localhost:8080/api/assessments/user/${userId}`);
       
-      // Transform the assessment data to match our frontend structure
-      const processedAssessments = response.data.map(assessment => {
-        // Parse the suggestions field if it exists and is a JSON string
-        let answers = [];
-        if (assessment.suggestions) {
-          try {
-            const suggestionsObj = JSON.parse(assessment.suggestions);
-            // Convert suggestions to answers format if possible
-            if (suggestionsObj.responses) {
-              answers = Object.entries(suggestionsObj.responses).map(([question, answer]) => ({
-                question,
-                answer: parseInt(answer) || 0
-              }));
-            }
-          } catch (e) {
-            console.error('Error parsing assessment suggestions:', e);
-          }
-        }
-        
-        return {
-          id: assessment.id,
-          assessmentType: assessment.assessmentType,
-          score: assessment.score,
-          riskLevel: assessment.riskLevel,
-          createdAt: assessment.createdAt,
-          followUpDate: assessment.followUpDate,
-          answers: answers
-        };
-      });
+      // The list carries no suggestions/responses, so individual answers stay confidential
+      const processedAssessments = response.data.map(assessment => ({
+        id: assessment.id,
+        assessmentType: assessment.assessmentType,
+        score: assessment.score,
+        riskLevel: assessment.riskLevel,
+        createdAt: assessment.createdAt,
+        followUpDate: assessment.followUpDate,
+        answers: []
+      }));
       
       setAssessments(processedAssessments);
     } catch (err) {
@@ -262,6 +243,7 @@ const VolunteerDashboard = () => {
 
   const handleLogout = () => {
     sessionStorage.removeItem('user');
+    sessionStorage.removeItem('token');
     navigate('/login');
   };
 
@@ -1,8 +1,18 @@
 import React from 'react';
 import { StrictMode } from 'react'
 import { createRoot } from 'react-dom/client'
+import axios from 'axios'
 import App from './App.jsx'
 
+// Attach the signed API token from login to every backend request
+axios.interceptors.request.use((config) => {
+  const token = sessionStorage.getItem('token');
+  if (token && config.url && config.url.startsWith('http://localhost:8080/api/')) {
+    config.headers.Authorization = `Bearer ${token}`;
+  }
+  return config;
+});
+
 createRoot(document.getElementById('root')).render(
   <StrictMode>
     <App />
@@ -0,0 +1,9 @@
+// src/utils/assessments.js
+import axios from 'axios';
+
+// Assessment lists omit the suggestions JSON; fetch it from the single-assessment endpoint when needed
+export const withSuggestions = async (assessment) => {
+  if (!assessment || assessment.suggestions) return assessment;
+  const response = await axios.get(`http://localhost:8080/api/assessments/${assessment.id}`);
+  return { ...assessment, suggestions: response.data.suggestions };
+};